@@ -0,0 +1,17 @@
+package benchmarks.com.chess;
+
+public final class BenchmarkPositions {
+
+    public static final String START = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1";
+    public static final String KIWIPETE = "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1";
+    public static final String ENDGAME = "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1";
+    public static final String PROMOTIONS = "r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1";
+
+    private BenchmarkPositions(){
+        throw new RuntimeException("Not instantiable!");
+    }
+}
+/*
+Die Stellungen sind die bekannten Perft-Testpositionen: die Grundstellung, Kiwipete mit vielen Rochaden, Fesselungen und
+En-passant-Schlägen, ein Turmendspiel mit wenig Material und eine Stellung voller Umwandlungen.
+*/
@@ -0,0 +1,35 @@
+package benchmarks.com.chess;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+public class BenchmarkRunner {
+
+    public static void main(final String[] args) throws RunnerException {
+        String include = "benchmarks\\.com\\.chess\\..*";
+        String output = "jmh-result.json";
+        for(int i = 0; i + 1 < args.length; i += 2){
+            switch(args[i]){
+                case "-include": include = args[i + 1]; break;
+                case "-output": output = args[i + 1]; break;
+                default: throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+        final ChainedOptionsBuilder options = new OptionsBuilder()
+                .include(include)
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(output);
+        new Runner(options.build()).run();
+    }
+}
+/*
+Startet alle Benchmarks mit dem GC-Profiler und schreibt die Ergebnisse als JSON. Neben der Zeit steht dort für jeden
+Benchmark gc.alloc.rate.norm, die pro Aufruf allokierten Bytes. Zwei Läufe lassen sich so direkt vergleichen, zum
+Beispiel vor und nach einer Änderung mit -output before.json und -output after.json. Mit -include wählt man einzelne
+Benchmarks über einen regulären Ausdruck aus, etwa -include PerftBenchmark.
+*/
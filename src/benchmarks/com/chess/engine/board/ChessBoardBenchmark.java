@@ -0,0 +1,105 @@
+package benchmarks.com.chess.engine.board;
+
+import benchmarks.com.chess.BenchmarkPositions;
+import com.chess.engine.Alliance;
+import com.chess.engine.board.ChessBoard;
+import com.chess.engine.board.Move;
+import com.chess.engine.pgn.FenUtilities;
+import com.chess.engine.pieces.ChessPiece;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChessBoardBenchmark {
+
+    @Param({BenchmarkPositions.START, BenchmarkPositions.KIWIPETE, BenchmarkPositions.ENDGAME,
+            BenchmarkPositions.PROMOTIONS})
+    public String fen;
+
+    private ChessBoard board;
+    private List<ChessPiece> pieces;
+    private Alliance moveMaker;
+    private Move[] moves;
+    private int[] fromSquares;
+    private int[] toSquares;
+    private int next;
+
+    @Setup
+    public void setUp(){
+        this.board = FenUtilities.createGameFromFEN(this.fen);
+        this.pieces = new ArrayList<>(this.board.getWhitePieces());
+        this.pieces.addAll(this.board.getBlackPieces());
+        this.moveMaker = this.board.currentPlayer().getAlliance();
+        final List<Move> legalMoves = new ArrayList<>();
+        for(final Move move : this.board.currentPlayer().getLegalMoves()){
+            if(this.board.currentPlayer().makeMove(move).getMoveStatus().isDone()){
+                legalMoves.add(move);
+            }
+        }
+        this.moves = legalMoves.toArray(new Move[0]);
+        this.fromSquares = new int[this.moves.length];
+        this.toSquares = new int[this.moves.length];
+        for(int i = 0; i < this.moves.length; i++){
+            this.fromSquares[i] = this.moves[i].getCurrentCoordinate();
+            this.toSquares[i] = this.moves[i].getDestinationCoordinate();
+        }
+    }
+/*
+Alle Züge werden einmal im Setup erzeugt. Die Benchmarks gehen sie reihum durch, damit nicht immer derselbe Zug und
+derselbe Zweig gemessen wird.
+*/
+
+    @Benchmark
+    public ChessBoard createStandardBoard(){
+        return ChessBoard.createStandardBoard();
+    }
+
+    @Benchmark
+    public ChessBoard builderBuild(){
+        final ChessBoard.Builder builder = new ChessBoard.Builder();
+        for(final ChessPiece piece : this.pieces){
+            builder.setPiece(piece);
+        }
+        builder.setMoveMaker(this.moveMaker);
+        return builder.build();
+    }
+
+    @Benchmark
+    public ChessBoard executeMove(){
+        return this.moves[nextIndex()].execute();
+    }
+
+    @Benchmark
+    public Move createMove(){
+        final int index = nextIndex();
+        return Move.MoveFactory.createMove(this.board, this.fromSquares[index], this.toSquares[index]);
+    }
+
+    private int nextIndex(){
+        final int index = this.next;
+        this.next = index + 1 == this.moves.length ? 0 : index + 1;
+        return index;
+    }
+}
+/*
+builderBuild misst den Konstruktor des Boards mit allen abgeleiteten Daten wie den Zuglisten beider Spieler,
+createStandardBoard zusätzlich das Anlegen der Figuren. executeMove ist der Weg, den jeder Zug in der Suche nimmt.
+*/
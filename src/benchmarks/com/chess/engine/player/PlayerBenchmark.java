@@ -0,0 +1,68 @@
+package benchmarks.com.chess.engine.player;
+
+import benchmarks.com.chess.BenchmarkPositions;
+import com.chess.engine.board.ChessBoard;
+import com.chess.engine.board.Move;
+import com.chess.engine.pgn.FenUtilities;
+import com.chess.engine.player.MoveTransition;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlayerBenchmark {
+
+    @Param({BenchmarkPositions.START, BenchmarkPositions.KIWIPETE, BenchmarkPositions.ENDGAME,
+            BenchmarkPositions.PROMOTIONS})
+    public String fen;
+
+    private ChessBoard board;
+    private Move[] moves;
+    private int next;
+
+    @Setup
+    public void setUp(){
+        this.board = FenUtilities.createGameFromFEN(this.fen);
+        this.moves = this.board.currentPlayer().getLegalMoves().toArray(new Move[0]);
+    }
+
+    @Benchmark
+    public Collection<Move> getLegalMoves(){
+        return this.board.currentPlayer().getLegalMoves();
+    }
+
+    @Benchmark
+    public void iterateLegalMoves(final Blackhole blackhole){
+        for(final Move move : this.board.currentPlayer().getLegalMoves()){
+            blackhole.consume(move);
+        }
+    }
+
+    @Benchmark
+    public MoveTransition makeMove(){
+        final int index = this.next;
+        this.next = index + 1 == this.moves.length ? 0 : index + 1;
+        return this.board.currentPlayer().makeMove(this.moves[index]);
+    }
+}
+/*
+getLegalMoves gibt die beim Bauen des Boards berechneten Züge zurück, iterateLegalMoves misst zusätzlich das Durchlaufen
+wie in der Suche. makeMove geht alle Pseudo-Züge der Stellung durch, auch die, die den eigenen König im Schach lassen.
+*/
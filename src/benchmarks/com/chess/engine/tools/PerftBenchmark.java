@@ -0,0 +1,50 @@
+package benchmarks.com.chess.engine.tools;
+
+import benchmarks.com.chess.BenchmarkPositions;
+import com.chess.engine.board.ChessBoard;
+import com.chess.engine.pgn.FenUtilities;
+import com.chess.engine.tools.Perft;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PerftBenchmark {
+
+    @Param({BenchmarkPositions.START, BenchmarkPositions.KIWIPETE})
+    public String fen;
+
+    @Param({"1", "2", "3"})
+    public int depth;
+
+    private ChessBoard board;
+
+    @Setup
+    public void setUp(){
+        this.board = FenUtilities.createGameFromFEN(this.fen);
+    }
+
+    @Benchmark
+    public long perft(){
+        return Perft.perft(this.board, this.depth);
+    }
+}
+/*
+Perft verbindet Zugerzeugung, makeMove und das Bauen der neuen Boards so, wie die Suche sie benutzt. Die Knotenzahl
+steht fest, eine Änderung der Zeit pro Aufruf ist also direkt eine Änderung der Zeit pro Knoten.
+*/
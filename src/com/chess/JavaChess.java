@@ -1,10 +1,15 @@
 package com.chess;
 
+import com.chess.engine.EngineLauncher;
 import com.chess.engine.board.ChessBoard;
 import com.chess.gui.Table;
 
 public class JavaChess {
-    public static void main(String[] args){
+    public static void main(String[] args) throws Exception {
+        if(args.length > 0){
+            EngineLauncher.main(args);
+            return;
+        }
         ChessBoard board = ChessBoard.createStandardBoard();
 
         System.out.println(board);
@@ -12,4 +17,7 @@ public class JavaChess {
         Table table = new Table();
     }
 }
-
+/*
+Mit Argumenten wird der EngineLauncher ohne Oberfläche gestartet, zum Beispiel "uci" oder "perft 4". Table wird erst
+geladen, wenn wirklich das GUI gestartet wird.
+*/
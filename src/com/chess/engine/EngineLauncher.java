@@ -0,0 +1,136 @@
+package com.chess.engine;
+
+import com.chess.engine.board.ChessBoard;
+import com.chess.engine.board.Move;
+import com.chess.engine.pgn.CoordinateUtilities;
+import com.chess.engine.pgn.FenUtilities;
+import com.chess.engine.pgn.OpeningIndex;
+import com.chess.engine.pgn.PGNIngestionPipeline;
+import com.chess.engine.player.ai.AlphaBetaSearch;
+import com.chess.engine.player.ai.SearchInfo;
+import com.chess.engine.player.ai.SearchLimits;
+import com.chess.engine.player.ai.StandardBoardEvaluator;
+import com.chess.engine.tools.EPDSuiteRunner;
+import com.chess.engine.tools.MatchRunner;
+import com.chess.engine.tools.Perft;
+import com.chess.engine.tools.SelfPlayGenerator;
+import com.chess.engine.uci.UCIEngine;
+
+import java.util.Arrays;
+import java.util.Map;
+
+public final class EngineLauncher {
+
+    private static final String USAGE = String.join(System.lineSeparator(),
+            "usage: EngineLauncher <command> [arguments]",
+            "  perft <depth> [-fen fen] [-divide]",
+            "  analyze [-fen fen] [-depth n] [-nodes n] [-movetime ms] [-hash entries]",
+            "  uci",
+            "  epd <file.epd> [options]        see EPDSuiteRunner",
+            "  match <openings> [options]      see MatchRunner",
+            "  selfplay <directory> [options]  see SelfPlayGenerator",
+            "  ingest <files...>               see PGNIngestionPipeline",
+            "  index <files...>                see OpeningIndex");
+
+    private EngineLauncher(){
+        throw new RuntimeException("Not instantiable!");
+    }
+
+    public static void main(final String[] args) throws Exception {
+        if(args.length < 1){
+            System.err.println(USAGE);
+            System.exit(1);
+        }
+        final String[] arguments = Arrays.copyOfRange(args, 1, args.length);
+        switch(args[0]){
+            case "perft": perft(arguments); break;
+            case "analyze": analyze(arguments); break;
+            case "uci": UCIEngine.main(arguments); break;
+            case "epd": EPDSuiteRunner.main(arguments); break;
+            case "match": MatchRunner.main(arguments); break;
+            case "selfplay": SelfPlayGenerator.main(arguments); break;
+            case "ingest": PGNIngestionPipeline.main(arguments); break;
+            case "index": OpeningIndex.main(arguments); break;
+            default:
+                System.err.println("Unknown command " + args[0]);
+                System.err.println(USAGE);
+                System.exit(1);
+        }
+    }
+/*
+Der EngineLauncher ist der Einstieg für alles, was ohne Oberfläche läuft. Er benutzt nur Klassen aus com.chess.engine,
+so wird weder AWT noch Swing geladen und die JVM startet schnell, auch in Containern ohne Display.
+*/
+
+    private static void perft(final String[] args){
+        if(args.length < 1){
+            System.err.println(USAGE);
+            System.exit(1);
+        }
+        final int depth = parseDepth(args[0]);
+        String fen = FenUtilities.STANDARD_BOARD_FEN;
+        boolean divide = false;
+        for(int i = 1; i < args.length; i++){
+            switch(args[i]){
+                case "-fen": fen = args[++i]; break;
+                case "-divide": divide = true; break;
+                default: throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+        final ChessBoard board = FenUtilities.createGameFromFEN(fen);
+        final long start = System.nanoTime();
+        final long nodes;
+        if(divide){
+            long total = 0;
+            for(final Map.Entry<Move, Long> entry : Perft.divide(board, depth).entrySet()){
+                System.out.println(CoordinateUtilities.toCoordinateNotation(entry.getKey()) + ": " + entry.getValue());
+                total += entry.getValue();
+            }
+            nodes = total;
+        }else{
+            nodes = Perft.perft(board, depth);
+        }
+        final double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        System.out.printf("perft %d: %d nodes, %.2f s, %.0f nodes/s%n", depth, nodes, seconds, nodes / seconds);
+    }
+
+    private static int parseDepth(final String text){
+        try {
+            final int depth = Integer.parseInt(text);
+            if(depth >= 1){
+                return depth;
+            }
+        } catch (final NumberFormatException e) {
+            // wie eine zu kleine Tiefe behandeln
+        }
+        System.err.println("perft depth must be a number >= 1: " + text);
+        System.err.println(USAGE);
+        System.exit(1);
+        return -1;
+    }
+/*
+Perft zählt nur bis zur Tiefe 0 herunter. Eine negative Tiefe, und bei -divide schon die Tiefe 0, würde deshalb bis zum
+StackOverflowError rekursieren.
+*/
+
+    private static void analyze(final String[] args){
+        String fen = FenUtilities.STANDARD_BOARD_FEN;
+        SearchLimits limits = SearchLimits.moveTime(5000);
+        int hashSize = AlphaBetaSearch.DEFAULT_HASH_SIZE;
+        for(int i = 0; i + 1 < args.length; i += 2){
+            final String value = args[i + 1];
+            switch(args[i]){
+                case "-fen": fen = value; break;
+                case "-depth": limits = SearchLimits.depth(Integer.parseInt(value)); break;
+                case "-nodes": limits = SearchLimits.nodes(Long.parseLong(value)); break;
+                case "-movetime": limits = SearchLimits.moveTime(Long.parseLong(value)); break;
+                case "-hash": hashSize = Integer.parseInt(value); break;
+                default: throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+        final AlphaBetaSearch search = new AlphaBetaSearch(StandardBoardEvaluator.get(), limits, hashSize);
+        final SearchInfo result = search.search(FenUtilities.createGameFromFEN(fen), limits, System.out::println);
+        System.out.println(result);
+        System.out.println("bestmove " + CoordinateUtilities.toCoordinateNotation(result.getBestMove()));
+    }
+}
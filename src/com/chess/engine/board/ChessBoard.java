@@ -19,7 +19,10 @@ public class ChessBoard {
     private final BlackPlayer blackPlayer;
     private final Player currentPlayer;
     private final Pawn enPassantPawn;
-
+    private final int halfMoveClock;
+    private final int fullMoveNumber;
+    private final long zobristKey;
+    private final long[] positionHistory;
 
     private ChessBoard(final Builder builder){
         this.gameBoard = createGameBoard(builder);
@@ -31,6 +34,10 @@ public class ChessBoard {
         this.whitePlayer = new WhitePlayer(this, whiteStandardLegalMoves, blackStandardLegalMoves);
         this.blackPlayer = new BlackPlayer(this, whiteStandardLegalMoves, blackStandardLegalMoves);
         this.currentPlayer = builder.nextMoveMaker.choosePlayer(this.whitePlayer, this.blackPlayer);
+        this.halfMoveClock = builder.halfMoveClock;
+        this.fullMoveNumber = builder.fullMoveNumber;
+        this.zobristKey = Zobrist.calculateKey(this);
+        this.positionHistory = extendPositionHistory(builder.positionHistory, this.halfMoveClock, this.zobristKey);
     }
 /**
  * Das ist der Constructor. Er nimmt einen Builder als Eingabe und erstellt mit der createGameBoard Methode ein GameBoard.
@@ -74,6 +81,56 @@ public class ChessBoard {
     public Pawn getEnPassantPawn(){
         return this.enPassantPawn;
     }
+    public int getHalfMoveClock(){
+        return this.halfMoveClock;
+    }
+    public int getFullMoveNumber(){
+        return this.fullMoveNumber;
+    }
+    public long getZobristKey(){
+        return this.zobristKey;
+    }
+    long[] getPositionHistory(){
+        return this.positionHistory;
+    }
+
+    public int getRepetitionCount(){
+        int repetitions = 0;
+        for(int i = this.positionHistory.length - 3; i >= 0; i -= 2){
+            if(this.positionHistory[i] == this.zobristKey){
+                repetitions++;
+            }
+        }
+        return repetitions;
+    }
+
+    public boolean isRepetition(){
+        return getRepetitionCount() > 0;
+    }
+
+    public boolean isThreefoldRepetition(){
+        return getRepetitionCount() >= 2;
+    }
+
+    public boolean isFiftyMoveRule(){
+        return this.halfMoveClock >= 100;
+    }
+/**
+ * Die positionHistory enthält nur die Schlüssel seit dem letzten Bauernzug oder Schlagzug, denn davor kann keine Stellung
+ * wiederholt worden sein. Deshalb ist sie nie länger als der halfMoveClock und man muss beim Suchen nur jede zweite Stellung
+ * anschauen, da nur dort der gleiche Spieler am Zug war. isRepetition reicht der Suche schon für einen Abbruch, für das
+ * Remis nach den Regeln braucht man isThreefoldRepetition.
+ */
+
+    private static long[] extendPositionHistory(final long[] previousHistory, final int halfMoveClock, final long key){
+        final int keptEntries = previousHistory == null ? 0 : Math.min(previousHistory.length, halfMoveClock);
+        final long[] history = new long[keptEntries + 1];
+        if(keptEntries > 0){
+            System.arraycopy(previousHistory, previousHistory.length - keptEntries, history, 0, keptEntries);
+        }
+        history[keptEntries] = key;
+        return history;
+    }
 
     private Collection<Move> calculateLegalMoves(final Collection<ChessPiece> pieces){
         final List<Move> legalMoves = new ArrayList<>();
@@ -170,9 +227,13 @@ public static class Builder{
         Map<Integer, ChessPiece> boardConfig;
         Alliance nextMoveMaker;
         Pawn enPassantPawn;
+        int halfMoveClock;
+        int fullMoveNumber;
+        long[] positionHistory;
 
         public Builder(){
             this.boardConfig = new HashMap<>();
+            this.fullMoveNumber = 1;
         }
 
         public Builder setPiece(final ChessPiece piece){
@@ -192,10 +253,26 @@ public static class Builder{
         public void setEnPassantPawn(Pawn enPassantPawn) {
             this.enPassantPawn = enPassantPawn;
         }
+
+        public Builder setHalfMoveClock(final int halfMoveClock){
+            this.halfMoveClock = halfMoveClock;
+            return this;
+        }
+
+        public Builder setFullMoveNumber(final int fullMoveNumber){
+            this.fullMoveNumber = fullMoveNumber;
+            return this;
+        }
+
+        Builder setPositionHistory(final long[] positionHistory){
+            this.positionHistory = positionHistory;
+            return this;
+        }
     }
 /**
 *Dies ist die Klassendefinition des Builders. Der hat jeweils eine HashMap als boardConfig und einige Methoden.
 *Mit setPiece gibt man dem initialisierten Builder Figuren, mit deren Position.
 *Der MoveMaker legt fest, welche Seite als erstes anfängt. und die build Methode erzeugt einfach ein ChessBoard mit den Spezifikationen.
+*Der halfMoveClock, die fullMoveNumber und die positionHistory werden von Move.execute() vom alten Board übernommen.
 */
 }
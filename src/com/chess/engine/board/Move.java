@@ -95,10 +95,27 @@ public abstract class Move {
         }
         builder.setPiece(this.movedPiece.movePiece(this));
         builder.setMoveMaker(this.board.currentPlayer().getOpponent().getAlliance());
+        carryOverCounters(builder);
         return builder.build();
 
     }
 
+    public boolean resetsHalfMoveClock(){
+        return this.movedPiece.getPieceType() == ChessPiece.PieceType.PAWN || isAttack();
+    }
+
+    void carryOverCounters(final Builder builder){
+        builder.setHalfMoveClock(resetsHalfMoveClock() ? 0 : this.board.getHalfMoveClock() + 1);
+        builder.setFullMoveNumber(this.movedPiece.getPieceAlliance().isBlack() ?
+                this.board.getFullMoveNumber() + 1 : this.board.getFullMoveNumber());
+        builder.setPositionHistory(this.board.getPositionHistory());
+    }
+/*
+Bauernzüge und Schlagzüge kann man nicht rückgängig machen, deshalb fängt der halfMoveClock dort wieder bei 0 an.
+Alle anderen Züge zählen ihn hoch und geben die alte positionHistory an das neue Board weiter. Die fullMoveNumber
+wird wie in der FEN Notation nach jedem Zug von Schwarz erhöht.
+*/
+
     public static final class MajorMove extends Move{
         public MajorMove(final ChessBoard board,
                          final ChessPiece movedPiece,
@@ -246,6 +263,7 @@ public abstract class Move {
             }
             builder.setPiece(this.movedPiece.movePiece(this));
             builder.setMoveMaker(this.board.currentPlayer().getOpponent().getAlliance());
+            carryOverCounters(builder);
             return builder.build();
         }
 
@@ -279,6 +297,7 @@ public abstract class Move {
             builder.setPiece(movedPawn);
             builder.setEnPassantPawn(movedPawn);
             builder.setMoveMaker(this.board.currentPlayer().getOpponent().getAlliance());
+            carryOverCounters(builder);
             return builder.build();
         }
     }
@@ -317,6 +336,8 @@ public abstract class Move {
             }
             builder.setPiece(this.promotedPawn.getPromotionPiece().movePiece(this));
             builder.setMoveMaker(pawnMovedBoard.currentPlayer().getAlliance());
+            builder.setHalfMoveClock(0);
+            builder.setFullMoveNumber(pawnMovedBoard.getFullMoveNumber());
             return builder.build();
         }
 
@@ -332,7 +353,7 @@ public abstract class Move {
 
         @Override
         public String toString(){
-            return "";
+            return this.decoratedMove.toString() + "=" + ChessPiece.PieceType.QUEEN;
         }
     }
 
@@ -374,8 +395,9 @@ public abstract class Move {
                 builder.setPiece(piece);
             }
             builder.setPiece(this.movedPiece.movePiece(this));
-            builder.setPiece(new Rook(this.castleRook.getPieceAlliance(), this.castleRookDestination));
+            builder.setPiece(new Rook(this.castleRook.getPieceAlliance(), this.castleRookDestination, false));
             builder.setMoveMaker(this.board.currentPlayer().getOpponent().getAlliance());
+            carryOverCounters(builder);
 
 
             return builder.build();
@@ -0,0 +1,93 @@
+package com.chess.engine.board;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.pieces.ChessPiece;
+import com.chess.engine.pieces.Pawn;
+
+import java.util.SplittableRandom;
+
+final class Zobrist {
+
+    private static final long SEED = 0x4A61766143686573L;
+    private static final long[][] PIECE_KEYS = new long[2 * ChessPiece.PieceType.values().length][BoardUtils.NUM_TILES];
+    private static final long[] CASTLING_KEYS = new long[4];
+    private static final long[] EN_PASSANT_KEYS = new long[BoardUtils.NUM_TILES_PER_ROW];
+    private static final long BLACK_TO_MOVE_KEY;
+
+    static {
+        final SplittableRandom random = new SplittableRandom(SEED);
+        for (final long[] pieceKeys : PIECE_KEYS) {
+            for (int i = 0; i < pieceKeys.length; i++) {
+                pieceKeys[i] = random.nextLong();
+            }
+        }
+        for (int i = 0; i < CASTLING_KEYS.length; i++) {
+            CASTLING_KEYS[i] = random.nextLong();
+        }
+        for (int i = 0; i < EN_PASSANT_KEYS.length; i++) {
+            EN_PASSANT_KEYS[i] = random.nextLong();
+        }
+        BLACK_TO_MOVE_KEY = random.nextLong();
+    }
+/*
+Die Schlüssel werden mit einem festen Seed erzeugt, damit der gleiche Spielstand bei jedem Programmstart den gleichen
+Schlüssel bekommt. Nur so kann man Schlüssel auch in Dateien speichern und später wieder vergleichen.
+*/
+    private Zobrist(){
+        throw new RuntimeException("Not instantiable!");
+    }
+
+    static long calculateKey(final ChessBoard board){
+        long key = 0L;
+        for (final ChessPiece piece : board.getWhitePieces()) {
+            key ^= pieceKey(piece);
+        }
+        for (final ChessPiece piece : board.getBlackPieces()) {
+            key ^= pieceKey(piece);
+        }
+        if (board.whitePlayer().isKingSideCastleCapable()) {
+            key ^= CASTLING_KEYS[0];
+        }
+        if (board.whitePlayer().isQueenSideCastleCapable()) {
+            key ^= CASTLING_KEYS[1];
+        }
+        if (board.blackPlayer().isKingSideCastleCapable()) {
+            key ^= CASTLING_KEYS[2];
+        }
+        if (board.blackPlayer().isQueenSideCastleCapable()) {
+            key ^= CASTLING_KEYS[3];
+        }
+        if (isEnPassantCapturePossible(board)) {
+            key ^= EN_PASSANT_KEYS[board.getEnPassantPawn().getPiecePosition() % BoardUtils.NUM_TILES_PER_ROW];
+        }
+        if (board.currentPlayer().getAlliance().isBlack()) {
+            key ^= BLACK_TO_MOVE_KEY;
+        }
+        return key;
+    }
+
+    private static long pieceKey(final ChessPiece piece){
+        final int index = piece.getPieceType().ordinal() * 2 + piece.getPieceAlliance().ordinal();
+        return PIECE_KEYS[index][piece.getPiecePosition()];
+    }
+
+    private static boolean isEnPassantCapturePossible(final ChessBoard board){
+        final Pawn enPassantPawn = board.getEnPassantPawn();
+        if (enPassantPawn == null) {
+            return false;
+        }
+        final int position = enPassantPawn.getPiecePosition();
+        final Alliance capturingAlliance = board.currentPlayer().getAlliance();
+        return (!BoardUtils.A_FILE[position] && isPawnOf(board.getTile(position - 1), capturingAlliance)) ||
+               (!BoardUtils.H_FILE[position] && isPawnOf(board.getTile(position + 1), capturingAlliance));
+    }
+/*
+Der en passant Schlüssel wird nur benutzt, wenn auch wirklich ein gegnerischer Bauer daneben steht. Sonst wären zwei
+gleiche Stellungen wegen eines nicht schlagbaren Bauern unterschiedlich, was die Wiederholungserkennung kaputt macht.
+*/
+    private static boolean isPawnOf(final ChessTile tile, final Alliance alliance){
+        return tile.isTileOccupied() &&
+               tile.getPiece().getPieceType() == ChessPiece.PieceType.PAWN &&
+               tile.getPiece().getPieceAlliance() == alliance;
+    }
+}
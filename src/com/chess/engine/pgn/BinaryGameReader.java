@@ -0,0 +1,67 @@
+package com.chess.engine.pgn;
+
+import com.chess.engine.board.ChessBoard;
+import com.chess.engine.board.Move;
+
+import java.io.DataInput;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static com.chess.engine.pgn.BinaryGameWriter.*;
+
+public class BinaryGameReader {
+
+    private final DataInput input;
+
+    public BinaryGameReader(final DataInput input) throws IOException {
+        this.input = input;
+        if(this.input.readInt() != MAGIC){
+            throw new IOException("Not a binary game file");
+        }
+    }
+
+    public GameRecord read() throws IOException {
+        final int flags;
+        try {
+            flags = this.input.readUnsignedByte();
+        } catch (final EOFException e) {
+            return null;
+        }
+        final ChessBoard startBoard = (flags & FLAG_HAS_FEN) != 0 ?
+                FenUtilities.createGameFromFEN(this.input.readUTF()) : ChessBoard.createStandardBoard();
+        final int plies = this.input.readUnsignedShort();
+        final List<Move> moves = new ArrayList<>(plies);
+        ChessBoard board = startBoard;
+        for(int i = 0; i < plies; i++){
+            final int index = this.input.readUnsignedByte();
+            final Collection<Move> legalMoves = board.currentPlayer().getLegalMoves();
+            if(index >= legalMoves.size()){
+                throw new IOException("Corrupt game record: move index " + index + " at ply " + (i + 1));
+            }
+            final Move move = moveAt(legalMoves, index);
+            moves.add(move);
+            board = move.execute();
+        }
+        return new GameRecord(startBoard, moves, board, OUTCOMES[flags & OUTCOME_MASK]);
+    }
+/*
+Die Züge werden direkt mit execute() ausgeführt und nicht noch einmal mit makeMove geprüft, da der Writer nur Züge
+speichert, die schon gespielt wurden. read() gibt null zurück, wenn die Datei zu Ende ist.
+*/
+
+    private static Move moveAt(final Collection<Move> moves, final int index){
+        if(moves instanceof List){
+            return ((List<Move>) moves).get(index);
+        }
+        int i = 0;
+        for(final Move move : moves){
+            if(i++ == index){
+                return move;
+            }
+        }
+        throw new IndexOutOfBoundsException(String.valueOf(index));
+    }
+}
@@ -0,0 +1,71 @@
+package com.chess.engine.pgn;
+
+import com.chess.engine.board.ChessBoard;
+import com.chess.engine.board.Move;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.List;
+
+public class BinaryGameWriter {
+
+    static final int MAGIC = 0x4A434731;
+    static final int FLAG_HAS_FEN = 0x04;
+    static final int OUTCOME_MASK = 0x03;
+    static final String[] OUTCOMES = {"*", "1-0", "0-1", "1/2-1/2"};
+    static final int MAX_PLIES = 0xFFFF;
+
+    private static final long STANDARD_BOARD_KEY = ChessBoard.createStandardBoard().getZobristKey();
+
+    private final DataOutput output;
+
+    public BinaryGameWriter(final DataOutput output) throws IOException {
+        this.output = output;
+        this.output.writeInt(MAGIC);
+    }
+
+    public void write(final ChessBoard startBoard, final List<Move> moves, final String outcome) throws IOException {
+        if(moves.size() > MAX_PLIES){
+            throw new RuntimeException("Game too long for the binary format: " + moves.size() + " plies");
+        }
+        final boolean hasFEN = startBoard.getZobristKey() != STANDARD_BOARD_KEY || startBoard.getFullMoveNumber() != 1;
+        this.output.writeByte(encodeOutcome(outcome) | (hasFEN ? FLAG_HAS_FEN : 0));
+        if(hasFEN){
+            this.output.writeUTF(FenUtilities.createFENFromGame(startBoard));
+        }
+        this.output.writeShort(moves.size());
+        for(final Move move : moves){
+            this.output.writeByte(indexOfMove(move.getBoard(), move));
+        }
+    }
+/*
+Jedes Spiel besteht aus einem Byte mit Ergebnis und Flags, optional der FEN der Startstellung, der Anzahl der Halbzüge
+und dann einem Byte pro Zug. Das Byte ist der Index des Zuges in currentPlayer().getLegalMoves() der Stellung davor.
+Da die Reihenfolge der Züge nur vom Brett abhängt, kann der Leser den Zug mit dem gleichen Index wiederfinden. Jeder Move
+kennt sein Board schon, deshalb muss der Writer selbst keinen Zug ausführen. Die Startstellung muss trotzdem übergeben
+werden, denn ein Spiel ohne Züge kann sie nicht aus dem ersten Zug ablesen.
+*/
+
+    static int indexOfMove(final ChessBoard board, final Move move){
+        int index = 0;
+        for(final Move legalMove : board.currentPlayer().getLegalMoves()){
+            if(legalMove == move || legalMove.equals(move)){
+                if(index > 0xFF){
+                    throw new RuntimeException("Move index does not fit into one byte: " + index);
+                }
+                return index;
+            }
+            index++;
+        }
+        throw new RuntimeException("Move " + move + " is not a legal move on this board");
+    }
+
+    private static int encodeOutcome(final String outcome){
+        for(int i = 0; i < OUTCOMES.length; i++){
+            if(OUTCOMES[i].equals(outcome)){
+                return i;
+            }
+        }
+        return 0;
+    }
+}
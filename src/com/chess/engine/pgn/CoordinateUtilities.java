@@ -0,0 +1,45 @@
+package com.chess.engine.pgn;
+
+import com.chess.engine.board.BoardUtils;
+import com.chess.engine.board.ChessBoard;
+import com.chess.engine.board.Move;
+
+public class CoordinateUtilities {
+
+    private CoordinateUtilities(){
+        throw new RuntimeException("Not instantiable!");
+    }
+
+    public static String toCoordinateNotation(final Move move){
+        if(move == Move.NULL_MOVE || move.getMovedPiece() == null){
+            return "0000";
+        }
+        final String notation = BoardUtils.getPositionAtCoordinate(move.getCurrentCoordinate()) +
+                                BoardUtils.getPositionAtCoordinate(move.getDestinationCoordinate());
+        return move instanceof Move.PawnPromotion ? notation + "q" : notation;
+    }
+
+    public static Move fromCoordinateNotation(final ChessBoard board, final String text){
+        if(text.length() < 4 || !isSquare(text, 0) || !isSquare(text, 2)){
+            return Move.NULL_MOVE;
+        }
+        return Move.MoveFactory.createMove(board,
+                BoardUtils.getCoordinateAtPosition(text.substring(0, 2)),
+                BoardUtils.getCoordinateAtPosition(text.substring(2, 4)));
+    }
+/*
+Das Gegenstück zu toCoordinateNotation. Ungültige Felder und Züge, die es nicht gibt, ergeben den NULL_MOVE.
+Der Aufrufer muss ihn selbst als illegal behandeln, Player.makeMove kann ihn nicht prüfen.
+Umwandlungen gehen immer in eine Dame, der Buchstabe am Ende wird deshalb nicht ausgewertet.
+*/
+
+    private static boolean isSquare(final String text, final int index){
+        final char file = text.charAt(index);
+        final char rank = text.charAt(index + 1);
+        return file >= 'a' && file <= 'h' && rank >= '1' && rank <= '8';
+    }
+}
+/*
+Die Koordinatennotation aus Start- und Zielfeld, wie sie UCI und der Spielserver benutzen. Anders als SAN braucht sie
+zum Schreiben kein Board.
+*/
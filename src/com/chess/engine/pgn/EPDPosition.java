@@ -0,0 +1,169 @@
+package com.chess.engine.pgn;
+
+import com.chess.engine.board.ChessBoard;
+import com.chess.engine.board.Move;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class EPDPosition {
+
+    private static final int EPD_FIELDS = 4;
+
+    private final ChessBoard board;
+    private final Map<String, String> operations;
+    private final List<Move> bestMoves;
+    private final List<Move> avoidMoves;
+    private final List<String> unsupportedMoves;
+
+    private EPDPosition(final ChessBoard board, final Map<String, String> operations){
+        this.board = board;
+        this.operations = ImmutableMap.copyOf(operations);
+        final List<String> unsupportedMoves = new ArrayList<>();
+        this.bestMoves = parseMoves(board, operations.get("bm"), unsupportedMoves);
+        this.avoidMoves = parseMoves(board, operations.get("am"), unsupportedMoves);
+        this.unsupportedMoves = ImmutableList.copyOf(unsupportedMoves);
+    }
+
+    public static EPDPosition parse(final String line){
+        int index = 0;
+        for(int field = 0; field < EPD_FIELDS; field++){
+            while(index < line.length() && line.charAt(index) == ' '){
+                index++;
+            }
+            while(index < line.length() && line.charAt(index) != ' '){
+                index++;
+            }
+        }
+        final ChessBoard board = FenUtilities.createGameFromFEN(line.substring(0, index));
+        return new EPDPosition(board, parseOperations(line, index));
+    }
+
+    public static List<EPDPosition> readPositions(final Path epdFile) throws IOException {
+        final List<EPDPosition> positions = new ArrayList<>();
+        try(final BufferedReader reader = Files.newBufferedReader(epdFile, StandardCharsets.UTF_8)){
+            String line;
+            while((line = reader.readLine()) != null){
+                if(!line.trim().isEmpty() && !line.startsWith("#")){
+                    positions.add(parse(line.trim()));
+                }
+            }
+        }
+        return positions;
+    }
+
+    private static Map<String, String> parseOperations(final String line, int index){
+        final Map<String, String> operations = new LinkedHashMap<>();
+        final StringBuilder operand = new StringBuilder();
+        while(index < line.length()){
+            while(index < line.length() && line.charAt(index) == ' '){
+                index++;
+            }
+            final int opcodeStart = index;
+            while(index < line.length() && line.charAt(index) != ' ' && line.charAt(index) != ';'){
+                index++;
+            }
+            final String opcode = line.substring(opcodeStart, index);
+            operand.setLength(0);
+            boolean quoted = false;
+            while(index < line.length() && (quoted || line.charAt(index) != ';')){
+                final char c = line.charAt(index++);
+                if(c == '"'){
+                    quoted = !quoted;
+                }else{
+                    operand.append(c);
+                }
+            }
+            index++;
+            if(!opcode.isEmpty()){
+                operations.put(opcode, operand.toString().trim());
+            }
+        }
+        return operations;
+    }
+/*
+Nach den vier Feldern der Stellung folgen die Operationen, jede mit einem Opcode, Operanden und einem Semikolon am Ende.
+Ein Operand in Anführungszeichen darf selbst Leerzeichen und Semikolons enthalten, zum Beispiel bei id oder c0.
+*/
+
+    private static List<Move> parseMoves(final ChessBoard board,
+                                         final String operand,
+                                         final List<String> unsupportedMoves){
+        if(operand == null || operand.isEmpty()){
+            return ImmutableList.of();
+        }
+        final ImmutableList.Builder<Move> moves = ImmutableList.builder();
+        for(final String san : operand.split("\\s+")){
+            final Move move = SanUtilities.fromSan(board, san);
+            if(move != Move.NULL_MOVE){
+                moves.add(move);
+            }else{
+                unsupportedMoves.add(san);
+            }
+        }
+        return moves.build();
+    }
+/*
+Züge, die die Engine nicht darstellen kann, wie die Umwandlung in einen Springer, werden nicht einfach weggelassen,
+sondern gesammelt. Fehlte nur ein bm Zug, würde sonst jeder andere Zug als Lösung zählen.
+*/
+
+    public ChessBoard getBoard(){
+        return this.board;
+    }
+    public Map<String, String> getOperations(){
+        return this.operations;
+    }
+    public String getOperation(final String opcode){
+        return this.operations.get(opcode);
+    }
+    public List<Move> getBestMoves(){
+        return this.bestMoves;
+    }
+    public List<Move> getAvoidMoves(){
+        return this.avoidMoves;
+    }
+    public List<String> getUnsupportedMoves(){
+        return this.unsupportedMoves;
+    }
+
+    public boolean isSupported(){
+        return this.unsupportedMoves.isEmpty();
+    }
+
+    public String getId(){
+        final String id = this.operations.get("id");
+        return id != null ? id : FenUtilities.createFENFromGame(this.board);
+    }
+
+    public boolean hasSolution(){
+        return isSupported() && (!this.bestMoves.isEmpty() || !this.avoidMoves.isEmpty());
+    }
+
+    public boolean isSolvedBy(final Move move){
+        if(move == Move.NULL_MOVE || !isSupported()){
+            return false;
+        }
+        return (this.bestMoves.isEmpty() || this.bestMoves.contains(move)) && !this.avoidMoves.contains(move);
+    }
+/*
+Ein Zug löst die Stellung, wenn er einer der besten Züge (bm) ist und keiner der zu vermeidenden Züge (am). Enthält bm
+oder am einen Zug, den die Engine nicht darstellen kann, ist die Stellung nicht unterstützt. Sie hat dann keine Lösung
+und wird nicht gewertet, statt mit einer unvollständigen Liste falsch gewertet zu werden. Der NULL_MOVE, den die Suche
+ohne legalen Zug liefert, löst keine Stellung.
+*/
+
+    @Override
+    public String toString(){
+        return getId();
+    }
+}
@@ -0,0 +1,248 @@
+package com.chess.engine.pgn;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.board.BoardUtils;
+import com.chess.engine.board.ChessBoard;
+import com.chess.engine.board.ChessTile;
+import com.chess.engine.pieces.*;
+
+public class FenUtilities {
+
+    public static final String STANDARD_BOARD_FEN = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1";
+
+    private FenUtilities(){
+        throw new RuntimeException("Not instantiable!");
+    }
+
+    public static ChessBoard createGameFromFEN(final String fenString){
+        final int length = fenString.length();
+        int index = skipSpaces(fenString, 0);
+        final ChessPiece[] pieces = new ChessPiece[BoardUtils.NUM_TILES];
+        int tile = 0;
+        while(index < length && fenString.charAt(index) != ' '){
+            final char c = fenString.charAt(index++);
+            if(c == '/'){
+                if(tile % BoardUtils.NUM_TILES_PER_ROW != 0){
+                    throw invalidFEN(fenString);
+                }
+            }else if(c >= '1' && c <= '8'){
+                tile += c - '0';
+            }else{
+                if(tile >= BoardUtils.NUM_TILES){
+                    throw invalidFEN(fenString);
+                }
+                pieces[tile] = createPiece(c, tile, fenString);
+                tile++;
+            }
+        }
+        if(tile != BoardUtils.NUM_TILES){
+            throw invalidFEN(fenString);
+        }
+        index = skipSpaces(fenString, index);
+        if(index >= length){
+            throw invalidFEN(fenString);
+        }
+        final Alliance moveMaker;
+        switch(fenString.charAt(index++)){
+            case 'w': moveMaker = Alliance.WHITE; break;
+            case 'b': moveMaker = Alliance.BLACK; break;
+            default: throw invalidFEN(fenString);
+        }
+        index = skipSpaces(fenString, index);
+        boolean whiteKingSide = false, whiteQueenSide = false, blackKingSide = false, blackQueenSide = false;
+        while(index < length && fenString.charAt(index) != ' '){
+            switch(fenString.charAt(index++)){
+                case 'K': whiteKingSide = true; break;
+                case 'Q': whiteQueenSide = true; break;
+                case 'k': blackKingSide = true; break;
+                case 'q': blackQueenSide = true; break;
+                case '-': break;
+                default: throw invalidFEN(fenString);
+            }
+        }
+        index = skipSpaces(fenString, index);
+        int enPassantTarget = -1;
+        if(index < length && fenString.charAt(index) != '-'){
+            enPassantTarget = parseSquare(fenString, index);
+            index += 2;
+        }else{
+            index++;
+        }
+        index = skipSpaces(fenString, index);
+        int halfMoveClock = 0;
+        int fullMoveNumber = 1;
+        if(index < length && isDigit(fenString.charAt(index))){
+            halfMoveClock = 0;
+            while(index < length && isDigit(fenString.charAt(index))){
+                halfMoveClock = halfMoveClock * 10 + (fenString.charAt(index++) - '0');
+            }
+            index = skipSpaces(fenString, index);
+            if(index < length && isDigit(fenString.charAt(index))){
+                fullMoveNumber = 0;
+                while(index < length && isDigit(fenString.charAt(index))){
+                    fullMoveNumber = fullMoveNumber * 10 + (fenString.charAt(index++) - '0');
+                }
+            }
+        }
+
+        final ChessBoard.Builder builder = new ChessBoard.Builder();
+        for(int i = 0; i < BoardUtils.NUM_TILES; i++){
+            final ChessPiece piece = pieces[i];
+            if(piece == null){
+                continue;
+            }
+            builder.setPiece(withCastlingRights(piece, whiteKingSide, whiteQueenSide, blackKingSide, blackQueenSide));
+        }
+        if(enPassantTarget != -1){
+            final int pawnPosition = enPassantTarget - moveMaker.getDirection() * BoardUtils.NUM_TILES_PER_ROW;
+            if(!BoardUtils.isValidTileCoordinate(pawnPosition) || !(pieces[pawnPosition] instanceof Pawn)){
+                throw invalidFEN(fenString);
+            }
+            builder.setEnPassantPawn((Pawn) pieces[pawnPosition]);
+        }
+        builder.setMoveMaker(moveMaker);
+        builder.setHalfMoveClock(halfMoveClock);
+        builder.setFullMoveNumber(fullMoveNumber);
+        return builder.build();
+    }
+/*
+Der Parser geht einmal Zeichen für Zeichen durch den String, ohne split oder substring, damit auch sehr viele Stellungen
+schnell eingelesen werden können. Die Rochaderechte werden über isFirstMove vom König und den Türmen gespeichert,
+genau so wie es die Player Klassen beim Berechnen der Rochaden erwarten. Die beiden Zugzähler dürfen fehlen, damit man
+auch die ersten vier Felder einer EPD Zeile einlesen kann.
+*/
+
+    public static String createFENFromGame(final ChessBoard board){
+        final StringBuilder builder = new StringBuilder(90);
+        appendBoard(builder, board);
+        builder.append(' ').append(board.currentPlayer().getAlliance().isWhite() ? 'w' : 'b').append(' ');
+        appendCastlingRights(builder, board);
+        builder.append(' ');
+        appendEnPassantSquare(builder, board);
+        builder.append(' ').append(board.getHalfMoveClock()).append(' ').append(board.getFullMoveNumber());
+        return builder.toString();
+    }
+
+    static void appendBoard(final StringBuilder builder, final ChessBoard board){
+        int emptyTiles = 0;
+        for(int i = 0; i < BoardUtils.NUM_TILES; i++){
+            final ChessTile tile = board.getTile(i);
+            if(tile.isTileOccupied()){
+                if(emptyTiles > 0){
+                    builder.append((char) ('0' + emptyTiles));
+                    emptyTiles = 0;
+                }
+                final ChessPiece piece = tile.getPiece();
+                final char pieceChar = piece.getPieceType().toString().charAt(0);
+                builder.append(piece.getPieceAlliance().isWhite() ? pieceChar : Character.toLowerCase(pieceChar));
+            }else{
+                emptyTiles++;
+            }
+            if((i + 1) % BoardUtils.NUM_TILES_PER_ROW == 0){
+                if(emptyTiles > 0){
+                    builder.append((char) ('0' + emptyTiles));
+                    emptyTiles = 0;
+                }
+                if(i != BoardUtils.NUM_TILES - 1){
+                    builder.append('/');
+                }
+            }
+        }
+    }
+
+    static void appendCastlingRights(final StringBuilder builder, final ChessBoard board){
+        final int start = builder.length();
+        if(board.whitePlayer().isKingSideCastleCapable()){
+            builder.append('K');
+        }
+        if(board.whitePlayer().isQueenSideCastleCapable()){
+            builder.append('Q');
+        }
+        if(board.blackPlayer().isKingSideCastleCapable()){
+            builder.append('k');
+        }
+        if(board.blackPlayer().isQueenSideCastleCapable()){
+            builder.append('q');
+        }
+        if(builder.length() == start){
+            builder.append('-');
+        }
+    }
+
+    static void appendEnPassantSquare(final StringBuilder builder, final ChessBoard board){
+        final Pawn enPassantPawn = board.getEnPassantPawn();
+        if(enPassantPawn == null){
+            builder.append('-');
+            return;
+        }
+        final int target = enPassantPawn.getPiecePosition() -
+                enPassantPawn.getPieceAlliance().getDirection() * BoardUtils.NUM_TILES_PER_ROW;
+        builder.append(BoardUtils.getPositionAtCoordinate(target));
+    }
+/*
+Beim Schreiben wird ein einziger StringBuilder mit passender Größe benutzt. Die Felder werden einzeln angehängt,
+damit auch EPD und die Binärformate die gleichen Teile wiederverwenden können.
+*/
+
+    static int parseSquare(final String text, final int index){
+        if(index + 1 >= text.length()){
+            throw invalidFEN(text);
+        }
+        final int file = text.charAt(index) - 'a';
+        final int rank = text.charAt(index + 1) - '1';
+        if(file < 0 || file > 7 || rank < 0 || rank > 7){
+            throw invalidFEN(text);
+        }
+        return (7 - rank) * BoardUtils.NUM_TILES_PER_ROW + file;
+    }
+
+    private static ChessPiece createPiece(final char pieceChar, final int tile, final String fenString){
+        final Alliance alliance = Character.isUpperCase(pieceChar) ? Alliance.WHITE : Alliance.BLACK;
+        switch(Character.toUpperCase(pieceChar)){
+            case 'P':
+                final boolean onStartRank = alliance.isWhite() ? BoardUtils.SECOND_RANK[tile] : BoardUtils.SEVENTH_RANK[tile];
+                return new Pawn(alliance, tile, onStartRank);
+            case 'N': return new Knight(alliance, tile);
+            case 'B': return new Bishop(alliance, tile);
+            case 'R': return new Rook(alliance, tile, false);
+            case 'Q': return new Queen(alliance, tile);
+            case 'K': return new King(alliance, tile, false);
+            default: throw invalidFEN(fenString);
+        }
+    }
+
+    private static ChessPiece withCastlingRights(final ChessPiece piece,
+                                                 final boolean whiteKingSide,
+                                                 final boolean whiteQueenSide,
+                                                 final boolean blackKingSide,
+                                                 final boolean blackQueenSide){
+        final int position = piece.getPiecePosition();
+        final Alliance alliance = piece.getPieceAlliance();
+        if(piece.getPieceType().isKing()){
+            final boolean canCastle = alliance.isWhite() ? position == 60 && (whiteKingSide || whiteQueenSide) :
+                                                           position == 4 && (blackKingSide || blackQueenSide);
+            return canCastle ? new King(alliance, position) : piece;
+        }
+        if(piece.getPieceType().isRook()){
+            final boolean canCastle = alliance.isWhite() ? (position == 63 && whiteKingSide) || (position == 56 && whiteQueenSide) :
+                                                           (position == 7 && blackKingSide) || (position == 0 && blackQueenSide);
+            return canCastle ? new Rook(alliance, position) : piece;
+        }
+        return piece;
+    }
+
+    private static int skipSpaces(final String text, int index){
+        while(index < text.length() && text.charAt(index) == ' '){
+            index++;
+        }
+        return index;
+    }
+
+    private static boolean isDigit(final char c){
+        return c >= '0' && c <= '9';
+    }
+
+    private static RuntimeException invalidFEN(final String fenString){
+        return new RuntimeException("Invalid FEN: " + fenString);
+    }
+}
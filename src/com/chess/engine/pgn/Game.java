@@ -0,0 +1,71 @@
+package com.chess.engine.pgn;
+
+import com.chess.engine.board.ChessBoard;
+import com.chess.engine.board.Move;
+import com.chess.engine.player.MoveTransition;
+import com.google.common.collect.ImmutableList;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class Game {
+
+    private final PGNGameTags tags;
+    private final List<String> sanMoves;
+    private final String outcome;
+
+    Game(final PGNGameTags tags, final List<String> sanMoves, final String outcome){
+        this.tags = tags;
+        this.sanMoves = ImmutableList.copyOf(sanMoves);
+        this.outcome = outcome;
+    }
+
+    public PGNGameTags getTags(){
+        return this.tags;
+    }
+
+    public List<String> getSanMoves(){
+        return this.sanMoves;
+    }
+
+    public String getOutcome(){
+        return this.outcome;
+    }
+
+    public ChessBoard createStartBoard(){
+        final String fen = this.tags.getFEN();
+        return fen != null ? FenUtilities.createGameFromFEN(fen) : ChessBoard.createStandardBoard();
+    }
+
+    public GameReplay replay(){
+        return replay(createStartBoard());
+    }
+
+    GameReplay replay(final ChessBoard startBoard){
+        final List<Move> moves = new ArrayList<>(this.sanMoves.size());
+        ChessBoard board = startBoard;
+        for(final String san : this.sanMoves){
+            final Move move = SanUtilities.fromSan(board, san);
+            if(move == Move.NULL_MOVE){
+                return new GameReplay(this, startBoard, moves, board, san);
+            }
+            final MoveTransition transition = board.currentPlayer().makeMove(move);
+            if(!transition.getMoveStatus().isDone()){
+                return new GameReplay(this, startBoard, moves, board, san);
+            }
+            moves.add(move);
+            board = transition.getTransitionBoard();
+        }
+        return new GameReplay(this, startBoard, moves, board, null);
+    }
+/*
+Beim Nachspielen wird jeder Zug über Player.makeMove geprüft. Ist ein Zug nicht legal, wird das Nachspielen an dieser
+Stelle abgebrochen und der fehlerhafte Zug im GameReplay gespeichert. Findet fromSan keinen passenden Zug, liefert es
+den NULL_MOVE, der gar nicht erst an makeMove geht.
+*/
+
+    @Override
+    public String toString(){
+        return this.tags.toString();
+    }
+}
@@ -0,0 +1,41 @@
+package com.chess.engine.pgn;
+
+import com.chess.engine.board.ChessBoard;
+import com.chess.engine.board.Move;
+import com.google.common.collect.ImmutableList;
+
+import java.util.List;
+
+public class GameRecord {
+
+    private final ChessBoard startBoard;
+    private final List<Move> moves;
+    private final ChessBoard finalBoard;
+    private final String outcome;
+
+    GameRecord(final ChessBoard startBoard,
+               final List<Move> moves,
+               final ChessBoard finalBoard,
+               final String outcome){
+        this.startBoard = startBoard;
+        this.moves = ImmutableList.copyOf(moves);
+        this.finalBoard = finalBoard;
+        this.outcome = outcome;
+    }
+
+    public ChessBoard getStartBoard(){
+        return this.startBoard;
+    }
+
+    public List<Move> getMoves(){
+        return this.moves;
+    }
+
+    public ChessBoard getFinalBoard(){
+        return this.finalBoard;
+    }
+
+    public String getOutcome(){
+        return this.outcome;
+    }
+}
@@ -0,0 +1,56 @@
+package com.chess.engine.pgn;
+
+import com.chess.engine.board.ChessBoard;
+import com.chess.engine.board.Move;
+import com.google.common.collect.ImmutableList;
+
+import java.util.List;
+
+public class GameReplay {
+
+    private final Game game;
+    private final ChessBoard startBoard;
+    private final List<Move> moves;
+    private final ChessBoard finalBoard;
+    private final String illegalMove;
+
+    GameReplay(final Game game,
+               final ChessBoard startBoard,
+               final List<Move> moves,
+               final ChessBoard finalBoard,
+               final String illegalMove){
+        this.game = game;
+        this.startBoard = startBoard;
+        this.moves = ImmutableList.copyOf(moves);
+        this.finalBoard = finalBoard;
+        this.illegalMove = illegalMove;
+    }
+
+    public Game getGame(){
+        return this.game;
+    }
+
+    public ChessBoard getStartBoard(){
+        return this.startBoard;
+    }
+
+    public List<Move> getMoves(){
+        return this.moves;
+    }
+
+    public ChessBoard getFinalBoard(){
+        return this.finalBoard;
+    }
+
+    public boolean isValid(){
+        return this.illegalMove == null;
+    }
+
+    public String getIllegalMove(){
+        return this.illegalMove;
+    }
+
+    public int getIllegalMovePly(){
+        return isValid() ? -1 : this.moves.size();
+    }
+}
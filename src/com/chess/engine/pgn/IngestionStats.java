@@ -0,0 +1,160 @@
+package com.chess.engine.pgn;
+
+import com.chess.engine.board.ChessBoard;
+import com.google.common.collect.ImmutableList;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+public class IngestionStats {
+
+    private static final int MAX_SAMPLED_ERRORS = 20;
+
+    private final LongAdder games = new LongAdder();
+    private final LongAdder validGames = new LongAdder();
+    private final LongAdder illegalMoveGames = new LongAdder();
+    private final LongAdder parseErrors = new LongAdder();
+    private final LongAdder replayErrors = new LongAdder();
+    private final LongAdder plies = new LongAdder();
+    private final LongAdder whiteWins = new LongAdder();
+    private final LongAdder blackWins = new LongAdder();
+    private final LongAdder draws = new LongAdder();
+    private final LongAdder unfinished = new LongAdder();
+    private final LongAdder checkmates = new LongAdder();
+    private final LongAdder stalemates = new LongAdder();
+    private final LongAdder resultMismatches = new LongAdder();
+    private final AtomicInteger sampledErrorCount = new AtomicInteger();
+    private final Queue<String> sampledErrors = new ConcurrentLinkedQueue<>();
+    private volatile long elapsedNanos;
+
+    void recordReplay(final GameReplay replay){
+        this.games.increment();
+        this.plies.add(replay.getMoves().size());
+        recordOutcome(replay.getGame().getOutcome());
+        if(!replay.isValid()){
+            this.illegalMoveGames.increment();
+            sampleError(replay.getGame() + ": illegal move " + replay.getIllegalMove() +
+                    " at ply " + (replay.getIllegalMovePly() + 1));
+            return;
+        }
+        this.validGames.increment();
+        final ChessBoard finalBoard = replay.getFinalBoard();
+        if(finalBoard.currentPlayer().isInCheckMate()){
+            this.checkmates.increment();
+            final String expected = finalBoard.currentPlayer().getAlliance().isWhite() ? "0-1" : "1-0";
+            if(!expected.equals(replay.getGame().getOutcome())){
+                this.resultMismatches.increment();
+            }
+        }else if(finalBoard.currentPlayer().isInStaleMate()){
+            this.stalemates.increment();
+            if(!"1/2-1/2".equals(replay.getGame().getOutcome())){
+                this.resultMismatches.increment();
+            }
+        }
+    }
+/*
+Bei Matt oder Patt in der Endstellung wird auch geprüft, ob das Ergebnis im PGN dazu passt.
+*/
+
+    void recordParseError(final String chunk, final RuntimeException e){
+        this.games.increment();
+        this.parseErrors.increment();
+        final int newline = chunk.indexOf('\n');
+        sampleError((newline > 0 ? chunk.substring(0, newline) : chunk) + ": " + e.getMessage());
+    }
+
+    void recordReplayError(final Game game, final RuntimeException e){
+        this.games.increment();
+        this.replayErrors.increment();
+        sampleError(game + ": replay failed: " + e);
+    }
+
+    void setElapsedNanos(final long elapsedNanos){
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    private void recordOutcome(final String outcome){
+        switch(outcome){
+            case "1-0": this.whiteWins.increment(); break;
+            case "0-1": this.blackWins.increment(); break;
+            case "1/2-1/2": this.draws.increment(); break;
+            default: this.unfinished.increment();
+        }
+    }
+
+    private void sampleError(final String error){
+        if(this.sampledErrorCount.getAndIncrement() < MAX_SAMPLED_ERRORS){
+            this.sampledErrors.add(error);
+        }
+    }
+
+    public long getGames(){
+        return this.games.sum();
+    }
+    public long getValidGames(){
+        return this.validGames.sum();
+    }
+    public long getIllegalMoveGames(){
+        return this.illegalMoveGames.sum();
+    }
+    public long getParseErrors(){
+        return this.parseErrors.sum();
+    }
+    public long getReplayErrors(){
+        return this.replayErrors.sum();
+    }
+    public long getPlies(){
+        return this.plies.sum();
+    }
+    public long getWhiteWins(){
+        return this.whiteWins.sum();
+    }
+    public long getBlackWins(){
+        return this.blackWins.sum();
+    }
+    public long getDraws(){
+        return this.draws.sum();
+    }
+    public long getUnfinished(){
+        return this.unfinished.sum();
+    }
+    public long getCheckmates(){
+        return this.checkmates.sum();
+    }
+    public long getStalemates(){
+        return this.stalemates.sum();
+    }
+    public long getResultMismatches(){
+        return this.resultMismatches.sum();
+    }
+    public List<String> getSampledErrors(){
+        return ImmutableList.copyOf(this.sampledErrors);
+    }
+    public long getElapsedNanos(){
+        return this.elapsedNanos;
+    }
+
+    public double getGamesPerSecond(){
+        return this.elapsedNanos == 0 ? 0 : getGames() * 1_000_000_000.0 / this.elapsedNanos;
+    }
+
+    @Override
+    public String toString(){
+        final StringBuilder builder = new StringBuilder();
+        builder.append(String.format("games: %d (valid %d, illegal moves %d, parse errors %d, replay errors %d)%n",
+                getGames(), getValidGames(), getIllegalMoveGames(), getParseErrors(), getReplayErrors()));
+        builder.append(String.format("results: 1-0 %d, 0-1 %d, 1/2-1/2 %d, other %d%n",
+                getWhiteWins(), getBlackWins(), getDraws(), getUnfinished()));
+        builder.append(String.format("final positions: checkmate %d, stalemate %d, result mismatches %d%n",
+                getCheckmates(), getStalemates(), getResultMismatches()));
+        builder.append(String.format("plies: %d, time: %.1f s, %.1f games/s%n",
+                getPlies(), this.elapsedNanos / 1_000_000_000.0, getGamesPerSecond()));
+        for(final String error : getSampledErrors()){
+            builder.append("  ").append(error).append(System.lineSeparator());
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,196 @@
+package com.chess.engine.pgn;
+
+import com.chess.engine.board.BoardUtils;
+import com.chess.engine.board.ChessBoard;
+import com.chess.engine.board.Move;
+import com.google.common.collect.ImmutableList;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+public class OpeningIndex implements Closeable {
+
+    static final int MAGIC = 0x4A434F49;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 16;
+    static final int RECORD_SIZE = 22;
+    private static final long RECORDS_PER_SEGMENT = (1L << 30) / RECORD_SIZE;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer[] segments;
+    private final long entryCount;
+
+    private OpeningIndex(final FileChannel channel) throws IOException {
+        this.channel = channel;
+        final MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+        if(header.getInt(0) != MAGIC || header.getInt(4) != VERSION){
+            throw new IOException("Not an opening index file");
+        }
+        this.entryCount = header.getLong(8);
+        final int segmentCount = (int) ((this.entryCount + RECORDS_PER_SEGMENT - 1) / RECORDS_PER_SEGMENT);
+        this.segments = new MappedByteBuffer[segmentCount];
+        for(int i = 0; i < segmentCount; i++){
+            final long firstRecord = i * RECORDS_PER_SEGMENT;
+            final long records = Math.min(RECORDS_PER_SEGMENT, this.entryCount - firstRecord);
+            this.segments[i] = channel.map(FileChannel.MapMode.READ_ONLY,
+                    HEADER_SIZE + firstRecord * RECORD_SIZE, records * RECORD_SIZE);
+        }
+    }
+/*
+Ein MappedByteBuffer kann höchstens 2GB groß sein, deshalb wird die Datei in Segmente von etwa 1GB aufgeteilt. Jedes
+Segment enthält nur ganze Einträge, so muss ein Eintrag nie über zwei Segmente gelesen werden.
+*/
+
+    public static OpeningIndex open(final Path indexFile) throws IOException {
+        return new OpeningIndex(FileChannel.open(indexFile, StandardOpenOption.READ));
+    }
+
+    public long getEntryCount(){
+        return this.entryCount;
+    }
+
+    public List<Entry> lookup(final ChessBoard board){
+        return lookup(board.getZobristKey());
+    }
+
+    public List<Entry> lookup(final long positionKey){
+        long low = 0;
+        long high = this.entryCount - 1;
+        long first = -1;
+        while(low <= high){
+            final long middle = (low + high) >>> 1;
+            final long key = keyAt(middle);
+            if(key < positionKey){
+                low = middle + 1;
+            }else{
+                if(key == positionKey){
+                    first = middle;
+                }
+                high = middle - 1;
+            }
+        }
+        if(first == -1){
+            return ImmutableList.of();
+        }
+        final List<Entry> entries = new ArrayList<>();
+        for(long i = first; i < this.entryCount && keyAt(i) == positionKey; i++){
+            final MappedByteBuffer segment = this.segments[(int) (i / RECORDS_PER_SEGMENT)];
+            final int offset = (int) (i % RECORDS_PER_SEGMENT) * RECORD_SIZE;
+            final int move = segment.getShort(offset + 8) & 0xFFFF;
+            entries.add(new Entry(move >>> 6, move & 0x3F,
+                    segment.getInt(offset + 10), segment.getInt(offset + 14), segment.getInt(offset + 18)));
+        }
+        entries.sort(Comparator.comparingLong(Entry::getGames).reversed());
+        return ImmutableList.copyOf(entries);
+    }
+/*
+Die Einträge sind nach Stellungsschlüssel sortiert. Mit einer binären Suche wird der erste Eintrag zum Schlüssel
+gefunden, alle weiteren Züge aus dieser Stellung liegen direkt dahinter.
+*/
+
+    private long keyAt(final long record){
+        final MappedByteBuffer segment = this.segments[(int) (record / RECORDS_PER_SEGMENT)];
+        return segment.getLong((int) (record % RECORDS_PER_SEGMENT) * RECORD_SIZE);
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.channel.close();
+    }
+
+    static int encodeMove(final Move move){
+        return (move.getCurrentCoordinate() << 6) | move.getDestinationCoordinate();
+    }
+
+    public static class Entry {
+
+        private final int currentCoordinate;
+        private final int destinationCoordinate;
+        private final int whiteWins;
+        private final int draws;
+        private final int blackWins;
+
+        Entry(final int currentCoordinate,
+              final int destinationCoordinate,
+              final int whiteWins,
+              final int draws,
+              final int blackWins){
+            this.currentCoordinate = currentCoordinate;
+            this.destinationCoordinate = destinationCoordinate;
+            this.whiteWins = whiteWins;
+            this.draws = draws;
+            this.blackWins = blackWins;
+        }
+
+        public int getCurrentCoordinate(){
+            return this.currentCoordinate;
+        }
+        public int getDestinationCoordinate(){
+            return this.destinationCoordinate;
+        }
+        public int getWhiteWins(){
+            return this.whiteWins;
+        }
+        public int getDraws(){
+            return this.draws;
+        }
+        public int getBlackWins(){
+            return this.blackWins;
+        }
+        public long getGames(){
+            return (long) this.whiteWins + this.draws + this.blackWins;
+        }
+
+        public Move getMove(final ChessBoard board){
+            return Move.MoveFactory.createMove(board, this.currentCoordinate, this.destinationCoordinate);
+        }
+
+        @Override
+        public String toString(){
+            return BoardUtils.getPositionAtCoordinate(this.currentCoordinate) +
+                   BoardUtils.getPositionAtCoordinate(this.destinationCoordinate) +
+                   " games " + getGames() + " (+" + this.whiteWins + " =" + this.draws + " -" + this.blackWins + ")";
+        }
+    }
+
+    public static void main(final String[] args) throws IOException, InterruptedException {
+        if(args.length >= 3 && args[0].equals("build")){
+            final OpeningIndexBuilder builder = new OpeningIndexBuilder(Paths.get(args[1]), 40);
+            for(int i = 2; i < args.length; i++){
+                new PGNIngestionPipeline(Runtime.getRuntime().availableProcessors(), 1024, replay -> {
+                    try {
+                        builder.addGame(replay);
+                    } catch (final IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }).run(Paths.get(args[i]));
+            }
+            System.out.println("entries: " + builder.build());
+        }else if(args.length >= 3 && args[0].equals("query")){
+            final String fen = String.join(" ", Arrays.copyOfRange(args, 2, args.length));
+            try(final OpeningIndex index = open(Paths.get(args[1]))){
+                final ChessBoard board = FenUtilities.createGameFromFEN(fen);
+                final long start = System.nanoTime();
+                final List<Entry> entries = index.lookup(board);
+                final long elapsed = System.nanoTime() - start;
+                for(final Entry entry : entries){
+                    System.out.println(entry);
+                }
+                System.out.printf("%d moves, lookup %.1f us%n", entries.size(), elapsed / 1000.0);
+            }
+        }else{
+            System.err.println("usage: OpeningIndex build <index> <file.pgn>... | query <index> <fen>");
+            System.exit(1);
+        }
+    }
+}
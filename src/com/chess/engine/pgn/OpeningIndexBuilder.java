@@ -0,0 +1,375 @@
+package com.chess.engine.pgn;
+
+import com.chess.engine.board.Move;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import static com.chess.engine.pgn.OpeningIndex.*;
+
+public class OpeningIndexBuilder {
+
+    private static final int DEFAULT_RUN_SIZE = 1 << 22;
+    private static final int IO_BUFFER_SIZE = 1 << 16;
+    private static final int WHITE_WIN = 0;
+    private static final int DRAW = 1;
+    private static final int BLACK_WIN = 2;
+
+    private final Path indexFile;
+    private final Path tempDirectory;
+    private final boolean ownsTempDirectory;
+    private final int maxPlies;
+    private final int runSize;
+    private final Deque<RunBuffer> freeBuffers;
+    private final List<Path> runs;
+    private RunBuffer buffer;
+    private int pendingWrites;
+    private IOException writeFailure;
+
+    public OpeningIndexBuilder(final Path indexFile, final Path tempDirectory, final int maxPlies, final int runSize){
+        this(indexFile, tempDirectory, false, maxPlies, runSize);
+    }
+
+    private OpeningIndexBuilder(final Path indexFile,
+                                final Path tempDirectory,
+                                final boolean ownsTempDirectory,
+                                final int maxPlies,
+                                final int runSize){
+        this.indexFile = indexFile;
+        this.tempDirectory = tempDirectory;
+        this.ownsTempDirectory = ownsTempDirectory;
+        this.maxPlies = maxPlies;
+        this.runSize = runSize;
+        this.freeBuffers = new ArrayDeque<>();
+        this.runs = new ArrayList<>();
+        this.buffer = new RunBuffer(runSize);
+    }
+
+    public OpeningIndexBuilder(final Path indexFile, final int maxPlies) throws IOException {
+        this(indexFile, Files.createTempDirectory("opening-index"), true, maxPlies, DEFAULT_RUN_SIZE);
+    }
+
+    public void addGame(final List<Move> moves, final String outcome) throws IOException {
+        final int result = encodeResult(outcome);
+        if(result == -1){
+            return;
+        }
+        final int plies = Math.min(moves.size(), this.maxPlies);
+        int i = 0;
+        while(i < plies){
+            final RunBuffer full;
+            synchronized(this){
+                while(i < plies && this.buffer.size < this.runSize){
+                    final Move move = moves.get(i);
+                    this.buffer.keys[this.buffer.size] = move.getBoard().getZobristKey();
+                    this.buffer.values[this.buffer.size] = (encodeMove(move) << 2) | result;
+                    this.buffer.size++;
+                    i++;
+                }
+                if(this.buffer.size < this.runSize){
+                    return;
+                }
+                full = this.buffer;
+                this.buffer = this.freeBuffers.isEmpty() ? new RunBuffer(this.runSize) : this.freeBuffers.pop();
+                this.pendingWrites++;
+            }
+            writeRun(full);
+        }
+    }
+/*
+Für jeden Halbzug wird der Schlüssel der Stellung vor dem Zug, der Zug selbst und das Ergebnis gespeichert. Spiele ohne
+Ergebnis werden ignoriert, da sie nichts über die Stellung aussagen. Ist der Puffer voll, wird er unter der Sperre gegen
+einen freien getauscht und erst danach außerhalb der Sperre sortiert und geschrieben. Die anderen Threads füllen so
+schon den nächsten Puffer, statt auf die Platte zu warten. Es gibt dadurch höchstens einen Puffer mehr als gleichzeitig
+schreibende Threads.
+*/
+
+    public void addGame(final GameReplay replay) throws IOException {
+        if(!replay.isValid()){
+            return;
+        }
+        addGame(replay.getMoves(), replay.getGame().getOutcome());
+    }
+/*
+Ein ungültiges Spiel bricht beim illegalen Zug ab, sein Ergebnis gehört aber zur ganzen Partie und würde den Zügen
+davor falsch gutgeschrieben. Solche Spiele kommen deshalb gar nicht in den Index.
+*/
+
+    public synchronized long build() throws IOException {
+        while(this.pendingWrites > 0){
+            try {
+                wait();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("interrupted while waiting for runs");
+            }
+        }
+        if(this.writeFailure != null){
+            deleteRuns();
+            throw this.writeFailure;
+        }
+        if(this.buffer.size > 0){
+            this.pendingWrites++;
+            try {
+                writeRun(this.buffer);
+            } catch (final IOException e) {
+                deleteRuns();
+                throw e;
+            }
+        }
+        final List<RunCursor> cursors = new ArrayList<>(this.runs.size());
+        final PriorityQueue<RunCursor> queue = new PriorityQueue<>();
+        long entries = 0;
+        try(final FileChannel channel = FileChannel.open(this.indexFile, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)){
+            final DataOutputStream output = new DataOutputStream(new BufferedOutputStream(
+                    Channels.newOutputStream(channel), IO_BUFFER_SIZE));
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+            output.writeLong(0L);
+            for(final Path run : this.runs){
+                final RunCursor cursor = new RunCursor(run);
+                cursors.add(cursor);
+                if(cursor.advance()){
+                    queue.add(cursor);
+                }
+            }
+            while(!queue.isEmpty()){
+                final RunCursor first = queue.poll();
+                final long key = first.key;
+                final int move = first.move;
+                int whiteWins = first.whiteWins;
+                int draws = first.draws;
+                int blackWins = first.blackWins;
+                if(first.advance()){
+                    queue.add(first);
+                }
+                while(!queue.isEmpty() && queue.peek().key == key && queue.peek().move == move){
+                    final RunCursor next = queue.poll();
+                    whiteWins += next.whiteWins;
+                    draws += next.draws;
+                    blackWins += next.blackWins;
+                    if(next.advance()){
+                        queue.add(next);
+                    }
+                }
+                writeRecord(output, key, move, whiteWins, draws, blackWins);
+                entries++;
+            }
+            output.flush();
+            final ByteBuffer count = ByteBuffer.allocate(Long.BYTES);
+            count.putLong(entries).flip();
+            channel.write(count, 8);
+        }finally{
+            for(final RunCursor cursor : cursors){
+                cursor.close();
+            }
+            deleteRuns();
+        }
+        return entries;
+    }
+/*
+Am Ende wird zuerst auf die Runs gewartet, die andere Threads noch schreiben. Ist dabei einer fehlgeschlagen, fehlen
+seine Spiele, und der Index wird gar nicht erst gebaut. Dann werden alle Runs mit einer PriorityQueue zusammengeführt. Gleiche Paare aus Stellung und Zug aus
+verschiedenen Runs werden dabei zusammengezählt, so dass in der fertigen Datei jedes Paar nur einmal vorkommt. Danach
+werden die Runs gelöscht und, wenn der Builder es selbst angelegt hat, auch das temporäre Verzeichnis. Der Builder ist
+damit verbraucht.
+*/
+
+    private void deleteRuns() throws IOException {
+        for(final Path run : this.runs){
+            Files.deleteIfExists(run);
+        }
+        this.runs.clear();
+        if(this.ownsTempDirectory){
+            Files.deleteIfExists(this.tempDirectory);
+        }
+    }
+
+    private void writeRun(final RunBuffer full) throws IOException {
+        Path run = null;
+        try {
+            sort(full.keys, full.values, 0, full.size - 1);
+            run = Files.createTempFile(this.tempDirectory, "run", ".bin");
+            try(final DataOutputStream output = new DataOutputStream(new BufferedOutputStream(
+                    Files.newOutputStream(run), IO_BUFFER_SIZE))){
+                int i = 0;
+                while(i < full.size){
+                    final long key = full.keys[i];
+                    final int move = full.values[i] >>> 2;
+                    int whiteWins = 0;
+                    int draws = 0;
+                    int blackWins = 0;
+                    while(i < full.size && full.keys[i] == key && (full.values[i] >>> 2) == move){
+                        switch(full.values[i] & 3){
+                            case WHITE_WIN: whiteWins++; break;
+                            case DRAW: draws++; break;
+                            default: blackWins++;
+                        }
+                        i++;
+                    }
+                    writeRecord(output, key, move, whiteWins, draws, blackWins);
+                }
+            }
+        } catch (final IOException e) {
+            if(run != null){
+                Files.deleteIfExists(run);
+                run = null;
+            }
+            synchronized(this){
+                if(this.writeFailure == null){
+                    this.writeFailure = e;
+                }
+            }
+            throw e;
+        } finally {
+            synchronized(this){
+                if(run != null){
+                    this.runs.add(run);
+                }
+                full.size = 0;
+                if(full != this.buffer){
+                    this.freeBuffers.push(full);
+                }
+                this.pendingWrites--;
+                notifyAll();
+            }
+        }
+    }
+/*
+Läuft ohne Sperre, nur das Eintragen des Runs und die Rückgabe des Puffers sind synchronisiert. Ein halb geschriebener
+Run wird gelöscht und der Fehler gemerkt, damit build keinen unvollständigen Index erzeugt.
+*/
+
+    private static void writeRecord(final DataOutput output,
+                                    final long key,
+                                    final int move,
+                                    final int whiteWins,
+                                    final int draws,
+                                    final int blackWins) throws IOException {
+        output.writeLong(key);
+        output.writeShort(move);
+        output.writeInt(whiteWins);
+        output.writeInt(draws);
+        output.writeInt(blackWins);
+    }
+
+    private static void sort(final long[] keys, final int[] values, int low, int high){
+        while(high - low > 16){
+            final int middle = (low + high) >>> 1;
+            final long pivotKey = keys[middle];
+            final int pivotValue = values[middle];
+            int i = low;
+            int j = high;
+            while(i <= j){
+                while(compare(keys[i], values[i], pivotKey, pivotValue) < 0){
+                    i++;
+                }
+                while(compare(keys[j], values[j], pivotKey, pivotValue) > 0){
+                    j--;
+                }
+                if(i <= j){
+                    swap(keys, values, i++, j--);
+                }
+            }
+            if(j - low < high - i){
+                sort(keys, values, low, j);
+                low = i;
+            }else{
+                sort(keys, values, i, high);
+                high = j;
+            }
+        }
+        for(int i = low + 1; i <= high; i++){
+            for(int j = i; j > low && compare(keys[j], values[j], keys[j - 1], values[j - 1]) < 0; j--){
+                swap(keys, values, j, j - 1);
+            }
+        }
+    }
+/*
+Die Schlüssel und Werte liegen in zwei primitiven Arrays, damit für Millionen von Einträgen keine Objekte erzeugt werden
+müssen. Deshalb wird hier ein eigener Quicksort benutzt, der beide Arrays gleichzeitig tauscht.
+*/
+
+    private static int compare(final long key, final int value, final long otherKey, final int otherValue){
+        final int keyComparison = Long.compare(key, otherKey);
+        return keyComparison != 0 ? keyComparison : Integer.compare(value, otherValue);
+    }
+
+    private static void swap(final long[] keys, final int[] values, final int i, final int j){
+        final long key = keys[i];
+        keys[i] = keys[j];
+        keys[j] = key;
+        final int value = values[i];
+        values[i] = values[j];
+        values[j] = value;
+    }
+
+    private static int encodeResult(final String outcome){
+        switch(outcome){
+            case "1-0": return WHITE_WIN;
+            case "1/2-1/2": return DRAW;
+            case "0-1": return BLACK_WIN;
+            default: return -1;
+        }
+    }
+
+    private static class RunBuffer {
+
+        private final long[] keys;
+        private final int[] values;
+        private int size;
+
+        RunBuffer(final int runSize){
+            this.keys = new long[runSize];
+            this.values = new int[runSize];
+        }
+    }
+
+    private static class RunCursor implements Comparable<RunCursor>, Closeable {
+
+        private final DataInputStream input;
+        private long key;
+        private int move;
+        private int whiteWins;
+        private int draws;
+        private int blackWins;
+
+        RunCursor(final Path run) throws IOException {
+            this.input = new DataInputStream(new BufferedInputStream(Files.newInputStream(run), IO_BUFFER_SIZE));
+        }
+
+        boolean advance() throws IOException {
+            try {
+                this.key = this.input.readLong();
+            } catch (final EOFException e) {
+                return false;
+            }
+            this.move = this.input.readUnsignedShort();
+            this.whiteWins = this.input.readInt();
+            this.draws = this.input.readInt();
+            this.blackWins = this.input.readInt();
+            return true;
+        }
+
+        @Override
+        public int compareTo(final RunCursor other){
+            return compare(this.key, this.move, other.key, other.move);
+        }
+
+        @Override
+        public void close() throws IOException {
+            this.input.close();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.chess.engine.pgn;
+
+import com.google.common.collect.ImmutableMap;
+
+import java.util.Map;
+
+public class PGNGameTags {
+
+    private final Map<String, String> tags;
+
+    PGNGameTags(final Map<String, String> tags){
+        this.tags = ImmutableMap.copyOf(tags);
+    }
+
+    public String getTag(final String name){
+        return this.tags.get(name);
+    }
+
+    public Map<String, String> getTags(){
+        return this.tags;
+    }
+
+    public String getWhite(){
+        return tagOrUnknown("White");
+    }
+
+    public String getBlack(){
+        return tagOrUnknown("Black");
+    }
+
+    public String getEvent(){
+        return tagOrUnknown("Event");
+    }
+
+    public String getResult(){
+        return tagOrUnknown("Result");
+    }
+
+    public String getFEN(){
+        return this.tags.get("FEN");
+    }
+
+    private String tagOrUnknown(final String name){
+        final String value = this.tags.get(name);
+        return value != null ? value : "?";
+    }
+
+    @Override
+    public String toString(){
+        return getWhite() + " - " + getBlack() + " (" + getResult() + ")";
+    }
+}
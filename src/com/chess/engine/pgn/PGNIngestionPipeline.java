@@ -0,0 +1,136 @@
+package com.chess.engine.pgn;
+
+import com.chess.engine.board.ChessBoard;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Iterator;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+public class PGNIngestionPipeline {
+
+    private static final String END_OF_FILE = new String("END_OF_FILE");
+
+    private final int workerCount;
+    private final int queueCapacity;
+    private final Consumer<GameReplay> gameConsumer;
+
+    public PGNIngestionPipeline(final int workerCount,
+                                final int queueCapacity,
+                                final Consumer<GameReplay> gameConsumer){
+        this.workerCount = workerCount;
+        this.queueCapacity = queueCapacity;
+        this.gameConsumer = gameConsumer;
+    }
+
+    public PGNIngestionPipeline(){
+        this(Runtime.getRuntime().availableProcessors(), 1024, null);
+    }
+
+    public IngestionStats run(final Path pgnFile) throws IOException, InterruptedException {
+        final IngestionStats stats = new IngestionStats();
+        final BlockingQueue<String> chunks = new ArrayBlockingQueue<>(this.queueCapacity);
+        final ExecutorService workers = Executors.newFixedThreadPool(this.workerCount);
+        final long start = System.nanoTime();
+        for(int i = 0; i < this.workerCount; i++){
+            workers.execute(() -> processChunks(chunks, stats));
+        }
+        try(final BufferedReader reader = new BufferedReader(PGNUtilities.openTextReader(pgnFile),
+                PGNUtilities.READ_BUFFER_SIZE)){
+            final StringBuilder chunk = new StringBuilder(4096);
+            boolean inMoveText = false;
+            String line;
+            while((line = reader.readLine()) != null){
+                final boolean isTag = line.startsWith("[");
+                if(isTag && inMoveText){
+                    chunks.put(chunk.toString());
+                    chunk.setLength(0);
+                    inMoveText = false;
+                }else if(!isTag && !line.trim().isEmpty()){
+                    inMoveText = true;
+                }
+                chunk.append(line).append('\n');
+            }
+            if(chunk.length() > 0){
+                chunks.put(chunk.toString());
+            }
+        }finally{
+            for(int i = 0; i < this.workerCount; i++){
+                chunks.put(END_OF_FILE);
+            }
+            workers.shutdown();
+            workers.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+            stats.setElapsedNanos(System.nanoTime() - start);
+        }
+        return stats;
+    }
+/*
+Der aufrufende Thread liest die Datei Zeile für Zeile und schneidet sie bei jedem neuen Tag-Block nach einem Zugtext in
+einzelne Spiele. Die Spiele kommen in eine Queue mit fester Größe: wenn die Worker nicht hinterherkommen, blockiert put()
+und der Leser wartet, so wird nie die ganze Datei im Speicher gehalten. Jeder Worker spielt seine Spiele mit
+Player.makeMove nach und schreibt in die gemeinsamen IngestionStats, die nur LongAdder benutzen.
+*/
+
+    private void processChunks(final BlockingQueue<String> chunks, final IngestionStats stats){
+        try {
+            while(true){
+                final String chunk = chunks.take();
+                if(chunk == END_OF_FILE){
+                    return;
+                }
+                final Iterator<Game> games = new PGNReader(new StringReader(chunk));
+                while(true){
+                    final Game game;
+                    final ChessBoard startBoard;
+                    try {
+                        if(!games.hasNext()){
+                            break;
+                        }
+                        game = games.next();
+                        startBoard = game.createStartBoard();
+                    } catch (final RuntimeException e) {
+                        stats.recordParseError(chunk, e);
+                        break;
+                    }
+                    final GameReplay replay;
+                    try {
+                        replay = game.replay(startBoard);
+                        if(this.gameConsumer != null){
+                            this.gameConsumer.accept(replay);
+                        }
+                    } catch (final RuntimeException e) {
+                        stats.recordReplayError(game, e);
+                        continue;
+                    }
+                    stats.recordReplay(replay);
+                }
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+/*
+Als Parse-Fehler zählt nur, was beim Lesen des Spiels schiefgeht, einschließlich einer ungültigen FEN im Tag. Ein
+illegaler Zug ist kein Fehler, sondern ein ungültiges GameReplay. Wirft die Engine beim Nachspielen oder der Consumer,
+wird das getrennt gezählt, damit solche Fehler nicht in den Statistiken der Eingabedaten verschwinden.
+*/
+
+    public static void main(final String[] args) throws IOException, InterruptedException {
+        if(args.length < 1){
+            System.err.println("usage: PGNIngestionPipeline <file.pgn> [workers] [queueCapacity]");
+            System.exit(1);
+        }
+        final int workers = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        final int capacity = args.length > 2 ? Integer.parseInt(args[2]) : 1024;
+        final IngestionStats stats = new PGNIngestionPipeline(workers, capacity, null).run(Paths.get(args[0]));
+        System.out.print(stats);
+    }
+}
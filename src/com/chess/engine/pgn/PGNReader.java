@@ -0,0 +1,243 @@
+package com.chess.engine.pgn;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.*;
+
+public class PGNReader implements Iterator<Game>, Closeable {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int END_OF_INPUT = -1;
+
+    private final Reader reader;
+    private final char[] buffer;
+    private final StringBuilder token;
+    private int position;
+    private int limit;
+    private int pushback;
+    private Game nextGame;
+
+    public PGNReader(final Reader reader){
+        this.reader = reader;
+        this.buffer = new char[BUFFER_SIZE];
+        this.token = new StringBuilder(64);
+        this.pushback = END_OF_INPUT;
+    }
+/*
+Der Reader liest immer nur einen Puffer von 64K Zeichen und zerlegt den Text direkt in Tags und Züge. Damit bleibt der
+Speicherverbrauch gleich, egal wie groß die PGN Datei ist. Ein Spiel wird erst beim Aufruf von next() eingelesen.
+*/
+
+    @Override
+    public boolean hasNext(){
+        if(this.nextGame == null){
+            try {
+                this.nextGame = readGame();
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return this.nextGame != null;
+    }
+
+    @Override
+    public Game next(){
+        if(!hasNext()){
+            throw new NoSuchElementException();
+        }
+        final Game game = this.nextGame;
+        this.nextGame = null;
+        return game;
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.reader.close();
+    }
+
+    private Game readGame() throws IOException {
+        final Map<String, String> tags = new LinkedHashMap<>();
+        final List<String> sanMoves = new ArrayList<>();
+        String outcome = null;
+        boolean inMoveText = false;
+        while(true){
+            final int c = skipWhitespace();
+            if(c == END_OF_INPUT){
+                break;
+            }
+            if(c == '['){
+                if(inMoveText){
+                    this.pushback = c;
+                    break;
+                }
+                readTag(tags);
+            }else if(c == '{'){
+                skipUntil('}');
+            }else if(c == ';' || c == '%'){
+                skipUntil('\n');
+            }else if(c == '('){
+                skipVariation();
+            }else if(c == '$'){
+                readToken(c);
+            }else if(c == ')' || c == '}' || c == ']'){
+                continue;
+            }else{
+                inMoveText = true;
+                readToken(c);
+                if(isResult(this.token)){
+                    outcome = this.token.toString();
+                    break;
+                }
+                final String san = stripMoveNumberAndAnnotations(this.token);
+                if(san != null){
+                    sanMoves.add(san);
+                }
+            }
+        }
+        if(tags.isEmpty() && sanMoves.isEmpty() && outcome == null){
+            return null;
+        }
+        if(outcome == null){
+            outcome = tags.containsKey("Result") ? tags.get("Result") : "*";
+        }
+        return new Game(new PGNGameTags(tags), sanMoves, outcome);
+    }
+/*
+Ein Spiel endet mit dem Ergebnis ("1-0", "0-1", "1/2-1/2" oder "*"). Fehlt das Ergebnis, dann endet das Spiel beim
+nächsten Tag. Kommentare, Varianten und NAGs werden beim Lesen einfach übersprungen.
+*/
+
+    private void readTag(final Map<String, String> tags) throws IOException {
+        int c = skipWhitespace();
+        this.token.setLength(0);
+        while(c != END_OF_INPUT && !Character.isWhitespace(c) && c != '"' && c != ']'){
+            this.token.append((char) c);
+            c = read();
+        }
+        final String name = this.token.toString();
+        while(c != END_OF_INPUT && c != '"' && c != ']'){
+            c = read();
+        }
+        this.token.setLength(0);
+        if(c == '"'){
+            c = read();
+            while(c != END_OF_INPUT && c != '"'){
+                if(c == '\\'){
+                    c = read();
+                    if(c == END_OF_INPUT){
+                        break;
+                    }
+                }
+                this.token.append((char) c);
+                c = read();
+            }
+            while(c != END_OF_INPUT && c != ']'){
+                c = read();
+            }
+        }
+        if(!name.isEmpty()){
+            tags.put(name, this.token.toString());
+        }
+    }
+
+    private void readToken(int c) throws IOException {
+        this.token.setLength(0);
+        while(c != END_OF_INPUT && !Character.isWhitespace(c) && !isDelimiter(c)){
+            this.token.append((char) c);
+            c = read();
+        }
+        if(c != END_OF_INPUT && isDelimiter(c)){
+            this.pushback = c;
+        }
+    }
+
+    private void skipVariation() throws IOException {
+        int depth = 1;
+        while(depth > 0){
+            final int c = read();
+            if(c == END_OF_INPUT){
+                return;
+            }else if(c == '('){
+                depth++;
+            }else if(c == ')'){
+                depth--;
+            }else if(c == '{'){
+                skipUntil('}');
+            }
+        }
+    }
+
+    private void skipUntil(final char end) throws IOException {
+        int c = read();
+        while(c != END_OF_INPUT && c != end){
+            c = read();
+        }
+    }
+
+    private int skipWhitespace() throws IOException {
+        int c = read();
+        while(c != END_OF_INPUT && Character.isWhitespace(c)){
+            c = read();
+        }
+        return c;
+    }
+
+    private int read() throws IOException {
+        if(this.pushback != END_OF_INPUT){
+            final int c = this.pushback;
+            this.pushback = END_OF_INPUT;
+            return c;
+        }
+        if(this.position == this.limit){
+            this.limit = this.reader.read(this.buffer, 0, this.buffer.length);
+            this.position = 0;
+            if(this.limit <= 0){
+                this.limit = 0;
+                return END_OF_INPUT;
+            }
+        }
+        return this.buffer[this.position++];
+    }
+
+    private static boolean isDelimiter(final int c){
+        return c == '[' || c == ']' || c == '{' || c == '}' || c == '(' || c == ')' || c == ';';
+    }
+
+    private static boolean isResult(final CharSequence token){
+        return contentEquals(token, "1-0") || contentEquals(token, "0-1") ||
+               contentEquals(token, "1/2-1/2") || contentEquals(token, "*");
+    }
+
+    private static String stripMoveNumberAndAnnotations(final CharSequence token){
+        int start = 0;
+        while(start < token.length() && Character.isDigit(token.charAt(start))){
+            start++;
+        }
+        if(start > 0 && (start == token.length() || token.charAt(start) == '.')){
+            while(start < token.length() && token.charAt(start) == '.'){
+                start++;
+            }
+        }else{
+            start = 0;
+        }
+        int end = token.length();
+        while(end > start && (token.charAt(end - 1) == '!' || token.charAt(end - 1) == '?')){
+            end--;
+        }
+        return end > start ? token.subSequence(start, end).toString() : null;
+    }
+
+    private static boolean contentEquals(final CharSequence token, final String value){
+        if(token.length() != value.length()){
+            return false;
+        }
+        for(int i = 0; i < value.length(); i++){
+            if(token.charAt(i) != value.charAt(i)){
+                return false;
+            }
+        }
+        return true;
+    }
+}
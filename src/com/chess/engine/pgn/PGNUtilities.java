@@ -0,0 +1,115 @@
+package com.chess.engine.pgn;
+
+import com.chess.engine.board.ChessBoard;
+import com.chess.engine.board.Move;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+public class PGNUtilities {
+
+    static final int READ_BUFFER_SIZE = 1 << 16;
+    private static final int MAX_LINE_LENGTH = 80;
+
+    private PGNUtilities(){
+        throw new RuntimeException("Not instantiable!");
+    }
+
+    public static PGNReader openReader(final Path pgnFile) throws IOException {
+        return new PGNReader(openTextReader(pgnFile));
+    }
+
+    static Reader openTextReader(final Path pgnFile) throws IOException {
+        final FileChannel channel = FileChannel.open(pgnFile, StandardOpenOption.READ);
+        final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        return Channels.newReader(channel, decoder, READ_BUFFER_SIZE);
+    }
+
+    public static Stream<Game> readGames(final Path pgnFile) throws IOException {
+        return asStream(openReader(pgnFile));
+    }
+
+    public static Stream<Game> readGames(final String pgnText){
+        return asStream(new PGNReader(new StringReader(pgnText)));
+    }
+/*
+Die Spiele werden als Stream zurückgegeben, der die Datei erst beim Durchlaufen liest. Der Stream sollte mit
+try-with-resources geschlossen werden, damit auch der FileChannel geschlossen wird.
+*/
+
+    public static void writeGame(final Appendable output,
+                                 final Map<String, String> tags,
+                                 final List<Move> moves,
+                                 final ChessBoard finalBoard,
+                                 final String outcome) throws IOException {
+        for(final Map.Entry<String, String> tag : tags.entrySet()){
+            output.append('[').append(tag.getKey()).append(" \"").append(tag.getValue()).append("\"]\n");
+        }
+        output.append('\n');
+        final StringBuilder line = new StringBuilder(MAX_LINE_LENGTH + 16);
+        final StringBuilder token = new StringBuilder(16);
+        for(int i = 0; i < moves.size(); i++){
+            final Move move = moves.get(i);
+            final ChessBoard board = move.getBoard();
+            token.setLength(0);
+            if(board.currentPlayer().getAlliance().isWhite()){
+                token.append(board.getFullMoveNumber()).append(". ");
+            }else if(i == 0){
+                token.append(board.getFullMoveNumber()).append("... ");
+            }
+            SanUtilities.appendSan(token, move, i + 1 < moves.size() ? moves.get(i + 1).getBoard() : finalBoard);
+            appendToken(output, line, token);
+        }
+        token.setLength(0);
+        token.append(outcome);
+        appendToken(output, line, token);
+        output.append(line).append("\n\n");
+    }
+/*
+Das Board nach einem Zug ist das Board des nächsten Zuges, deshalb muss für das Schachzeichen kein Zug noch einmal
+ausgeführt werden. Nur für den letzten Zug wird das finalBoard gebraucht. Die Zeilen werden wie im PGN Standard nach
+höchstens 80 Zeichen umgebrochen.
+*/
+
+    private static void appendToken(final Appendable output,
+                                    final StringBuilder line,
+                                    final CharSequence token) throws IOException {
+        if(line.length() > 0 && line.length() + 1 + token.length() > MAX_LINE_LENGTH){
+            output.append(line).append('\n');
+            line.setLength(0);
+        }
+        if(line.length() > 0){
+            line.append(' ');
+        }
+        line.append(token);
+    }
+
+    private static Stream<Game> asStream(final PGNReader reader){
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(reader,
+                Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(() -> {
+                    try {
+                        reader.close();
+                    } catch (final IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+}
@@ -0,0 +1,225 @@
+package com.chess.engine.pgn;
+
+import com.chess.engine.board.BoardUtils;
+import com.chess.engine.board.ChessBoard;
+import com.chess.engine.board.Move;
+import com.chess.engine.pieces.ChessPiece;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.chess.engine.board.Move.*;
+
+public class SanUtilities {
+
+    private SanUtilities(){
+        throw new RuntimeException("Not instantiable!");
+    }
+
+    public static String toSan(final Move move, final ChessBoard transitionBoard){
+        final StringBuilder builder = new StringBuilder(8);
+        appendSan(builder, move, transitionBoard);
+        return builder.toString();
+    }
+
+    public static String toSan(final Move move){
+        return toSan(move, move.execute());
+    }
+
+    public static void appendSan(final StringBuilder builder, final Move move, final ChessBoard transitionBoard){
+        if(move.isCastlingMove()){
+            builder.append(move instanceof KingSideCastleMove ? "O-O" : "O-O-O");
+        }else{
+            final ChessPiece movedPiece = move.getMovedPiece();
+            final int from = movedPiece.getPiecePosition();
+            if(movedPiece.getPieceType() == ChessPiece.PieceType.PAWN){
+                if(move.isAttack()){
+                    builder.append(fileOf(from)).append('x');
+                }
+            }else{
+                builder.append(movedPiece.getPieceType());
+                appendDisambiguation(builder, move);
+                if(move.isAttack()){
+                    builder.append('x');
+                }
+            }
+            builder.append(BoardUtils.getPositionAtCoordinate(move.getDestinationCoordinate()));
+            if(move instanceof PawnPromotion){
+                builder.append('=').append(ChessPiece.PieceType.QUEEN);
+            }
+        }
+        if(transitionBoard != null && transitionBoard.currentPlayer().isInCheck()){
+            builder.append(transitionBoard.currentPlayer().isInCheckMate() ? '#' : '+');
+        }
+    }
+/*
+Das Board nach dem Zug wird nur für das Schach- oder Mattzeichen gebraucht. Wer es schon hat, zum Beispiel beim
+Nachspielen einer Partie, gibt es mit, so wird der Zug nicht noch einmal ausgeführt. Ohne Board wird kein Zeichen
+angehängt. Matt wird nur geprüft, wenn der Gegner auch im Schach steht.
+*/
+
+    private static void appendDisambiguation(final StringBuilder builder, final Move move){
+        final ChessBoard board = move.getBoard();
+        final ChessPiece movedPiece = move.getMovedPiece();
+        final int from = movedPiece.getPiecePosition();
+        boolean ambiguous = false;
+        boolean sameFile = false;
+        boolean sameRank = false;
+        for(final Move other : board.currentPlayer().getLegalMoves()){
+            final ChessPiece otherPiece = other.getMovedPiece();
+            if(other.getDestinationCoordinate() != move.getDestinationCoordinate() ||
+               otherPiece.getPieceType() != movedPiece.getPieceType() ||
+               otherPiece.getPiecePosition() == from ||
+               other.isCastlingMove()){
+                continue;
+            }
+            if(!board.currentPlayer().makeMove(other).getMoveStatus().isDone()){
+                continue;
+            }
+            ambiguous = true;
+            sameFile |= otherPiece.getPiecePosition() % BoardUtils.NUM_TILES_PER_ROW ==
+                        from % BoardUtils.NUM_TILES_PER_ROW;
+            sameRank |= otherPiece.getPiecePosition() / BoardUtils.NUM_TILES_PER_ROW ==
+                        from / BoardUtils.NUM_TILES_PER_ROW;
+        }
+        if(!ambiguous){
+            return;
+        }
+        if(!sameFile){
+            builder.append(fileOf(from));
+        }else if(!sameRank){
+            builder.append(rankOf(from));
+        }else{
+            builder.append(fileOf(from)).append(rankOf(from));
+        }
+    }
+/*
+Die Liste der möglichen Züge des Spielers ist schon berechnet, daraus werden nur die Züge gleicher Figuren auf dasselbe
+Zielfeld herausgesucht. Nur für diese seltenen Kandidaten wird mit makeMove geprüft, ob sie legal sind, denn eine
+gefesselte Figur muss nicht unterschieden werden. Reicht die Linie nicht, wird die Reihe genommen, sonst beide.
+*/
+
+    private static char fileOf(final int coordinate){
+        return (char) ('a' + coordinate % BoardUtils.NUM_TILES_PER_ROW);
+    }
+
+    private static char rankOf(final int coordinate){
+        return (char) ('8' - coordinate / BoardUtils.NUM_TILES_PER_ROW);
+    }
+
+    public static Move fromSan(final ChessBoard board, final String san){
+        int end = san.length();
+        while(end > 0 && (san.charAt(end - 1) == '+' || san.charAt(end - 1) == '#')){
+            end--;
+        }
+        if(end == 0){
+            return NULL_MOVE;
+        }
+        if(isCastle(san, end, 5)){
+            return findCastleMove(board, QueenSideCastleMove.class);
+        }
+        if(isCastle(san, end, 3)){
+            return findCastleMove(board, KingSideCastleMove.class);
+        }
+        char promotion = 0;
+        if(Character.isUpperCase(san.charAt(end - 1)) && end > 2){
+            promotion = san.charAt(end - 1);
+            end--;
+            if(san.charAt(end - 1) == '=') {
+                end--;
+            }
+        }
+        if(end < 2){
+            return NULL_MOVE;
+        }
+        final int destination = parseSquare(san, end - 2);
+        if(destination == -1){
+            return NULL_MOVE;
+        }
+        int start = 0;
+        final ChessPiece.PieceType pieceType;
+        switch(san.charAt(0)){
+            case 'N': pieceType = ChessPiece.PieceType.KNIGHT; start++; break;
+            case 'B': pieceType = ChessPiece.PieceType.BISHOP; start++; break;
+            case 'R': pieceType = ChessPiece.PieceType.ROOK; start++; break;
+            case 'Q': pieceType = ChessPiece.PieceType.QUEEN; start++; break;
+            case 'K': pieceType = ChessPiece.PieceType.KING; start++; break;
+            default: pieceType = ChessPiece.PieceType.PAWN;
+        }
+        int fromFile = -1;
+        int fromRank = -1;
+        for(int i = start; i < end - 2; i++){
+            final char c = san.charAt(i);
+            if(c >= 'a' && c <= 'h'){
+                fromFile = c - 'a';
+            }else if(c >= '1' && c <= '8'){
+                fromRank = 7 - (c - '1');
+            }
+        }
+        if(promotion != 0 && promotion != 'Q'){
+            return NULL_MOVE;
+        }
+        final List<Move> candidates = new ArrayList<>(2);
+        for(final Move move : board.currentPlayer().getLegalMoves()){
+            final ChessPiece movedPiece = move.getMovedPiece();
+            if(move.getDestinationCoordinate() != destination ||
+               movedPiece.getPieceType() != pieceType ||
+               move.isCastlingMove() ||
+               (promotion != 0) != (move instanceof PawnPromotion)){
+                continue;
+            }
+            final int from = movedPiece.getPiecePosition();
+            if((fromFile != -1 && from % BoardUtils.NUM_TILES_PER_ROW != fromFile) ||
+               (fromRank != -1 && from / BoardUtils.NUM_TILES_PER_ROW != fromRank)){
+                continue;
+            }
+            candidates.add(move);
+        }
+        if(candidates.size() == 1){
+            return candidates.get(0);
+        }
+        for(final Move move : candidates){
+            if(board.currentPlayer().makeMove(move).getMoveStatus().isDone()){
+                return move;
+            }
+        }
+        return NULL_MOVE;
+    }
+/*
+Der SAN Text wird von hinten gelesen: zuerst Schach, dann die Umwandlung und das Zielfeld. Alles zwischen Figur und
+Zielfeld ist die Angabe von Linie oder Reihe. Nur wenn danach noch mehrere Züge passen (zum Beispiel wegen einer
+gefesselten Figur), wird mit makeMove geprüft, welcher davon legal ist. Die Engine kann nur in eine Dame umwandeln,
+deshalb wird für jede andere Umwandlung der NULL_MOVE zurückgegeben.
+*/
+
+    private static boolean isCastle(final String san, final int end, final int length){
+        if(end != length){
+            return false;
+        }
+        for(int i = 0; i < length; i++){
+            final char c = san.charAt(i);
+            if(i % 2 == 1 ? c != '-' : c != 'O' && c != '0'){
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Move findCastleMove(final ChessBoard board, final Class<? extends Move> castleType){
+        for(final Move move : board.currentPlayer().getKingCastleMoves()){
+            if(castleType.isInstance(move)){
+                return move;
+            }
+        }
+        return NULL_MOVE;
+    }
+
+    private static int parseSquare(final String text, final int index){
+        final int file = text.charAt(index) - 'a';
+        final int rank = text.charAt(index + 1) - '1';
+        if(file < 0 || file > 7 || rank < 0 || rank > 7){
+            return -1;
+        }
+        return (7 - rank) * BoardUtils.NUM_TILES_PER_ROW + file;
+    }
+}
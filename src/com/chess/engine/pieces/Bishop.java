@@ -71,7 +71,7 @@ Danach wird eine Schleife genutzt, die durch jede der 4 Richtungen geht, die der
 
     @Override
     public Bishop movePiece(final Move move) {
-        return new Bishop(move.getMovedPiece().pieceAlliance, move.getDestinationCoordinate());
+        return new Bishop(move.getMovedPiece().pieceAlliance, move.getDestinationCoordinate(), false);
     }
 
     @Override
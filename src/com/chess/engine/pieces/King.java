@@ -23,7 +23,7 @@ public class King extends ChessPiece{
     }
 
     public King(final Alliance pieceAlliance, final int piecePosition, final boolean isFirstMove){
-        super(PieceType.BISHOP, piecePosition, pieceAlliance, isFirstMove);
+        super(PieceType.KING, piecePosition, pieceAlliance, isFirstMove);
     }
 
     @Override
@@ -59,7 +59,7 @@ public class King extends ChessPiece{
 
     @Override
     public King movePiece(final Move move) {
-        return new King(move.getMovedPiece().pieceAlliance, move.getDestinationCoordinate());
+        return new King(move.getMovedPiece().pieceAlliance, move.getDestinationCoordinate(), false);
     }
 
     @Override
@@ -22,7 +22,7 @@ public class Knight extends ChessPiece{
     }
 
     public Knight(final Alliance pieceAlliance, final int piecePosition, final boolean isFirstMove){
-        super(PieceType.BISHOP, piecePosition, pieceAlliance, isFirstMove);
+        super(PieceType.KNIGHT, piecePosition, pieceAlliance, isFirstMove);
     }
 
     @Override
@@ -65,7 +65,7 @@ als Immutable Liste zurückgegeben.
 
     @Override
     public Knight movePiece(final Move move) {
-        return new Knight(move.getMovedPiece().pieceAlliance, move.getDestinationCoordinate());
+        return new Knight(move.getMovedPiece().pieceAlliance, move.getDestinationCoordinate(), false);
     }
 
     @Override
@@ -22,7 +22,7 @@ public class Pawn extends ChessPiece{
     }
 
     public Pawn(final Alliance pieceAlliance, final int piecePosition, final boolean isFirstMove){
-        super(PieceType.BISHOP, piecePosition, pieceAlliance, isFirstMove);
+        super(PieceType.PAWN, piecePosition, pieceAlliance, isFirstMove);
     }
 
     @Override
@@ -110,7 +110,7 @@ public class Pawn extends ChessPiece{
 
     @Override
     public Pawn movePiece(final Move move) {
-        return new Pawn(move.getMovedPiece().pieceAlliance, move.getDestinationCoordinate());
+        return new Pawn(move.getMovedPiece().pieceAlliance, move.getDestinationCoordinate(), false);
     }
 
     @Override
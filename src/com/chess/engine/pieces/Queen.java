@@ -21,7 +21,7 @@ public class Queen extends ChessPiece{
     }
 
     public Queen(final Alliance pieceAlliance, final int piecePosition, final boolean isFirstMove){
-        super(PieceType.BISHOP, piecePosition, pieceAlliance, isFirstMove);
+        super(PieceType.QUEEN, piecePosition, pieceAlliance, isFirstMove);
     }
 
     @Override
@@ -59,7 +59,7 @@ public class Queen extends ChessPiece{
 
     @Override
     public Queen movePiece(final Move move) {
-        return new Queen(move.getMovedPiece().pieceAlliance, move.getDestinationCoordinate());
+        return new Queen(move.getMovedPiece().pieceAlliance, move.getDestinationCoordinate(), false);
     }
 
     @Override
@@ -22,7 +22,7 @@ public class Rook extends ChessPiece{
     }
 
     public Rook(final Alliance pieceAlliance, final int piecePosition, final boolean isFirstMove){
-        super(PieceType.BISHOP, piecePosition, pieceAlliance, isFirstMove);
+        super(PieceType.ROOK, piecePosition, pieceAlliance, isFirstMove);
     }
 
     @Override
@@ -63,7 +63,7 @@ Siehe Bishop -->
 
     @Override
     public Rook movePiece(final Move move) {
-        return new Rook(move.getMovedPiece().pieceAlliance, move.getDestinationCoordinate());
+        return new Rook(move.getMovedPiece().pieceAlliance, move.getDestinationCoordinate(), false);
     }
 
     @Override
@@ -36,6 +36,16 @@ public class BlackPlayer extends Player{
         return this.board.whitePlayer();
     }
 
+    @Override
+    public boolean isKingSideCastleCapable() {
+        return isCastleCapable(4, 7);
+    }
+
+    @Override
+    public boolean isQueenSideCastleCapable() {
+        return isCastleCapable(4, 0);
+    }
+
     @Override
     protected Collection<Move> calculateKingCastles(final Collection<Move> playerLegals,
                                                     final Collection<Move> opponentsLegals) {
@@ -21,6 +21,9 @@ public class MoveTransition {
     public ChessBoard getTransitionBoard(){
         return this.transitionBoard;
     }
+    public Move getMove(){
+        return this.move;
+    }
 }
 /*
 In MoveTransition wird ein virtuelles Board erstellt mit dem Zug der ausgewählt wurde. Sollte das Board den anderen Konventionen
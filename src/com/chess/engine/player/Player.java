@@ -2,6 +2,7 @@ package com.chess.engine.player;
 
 import com.chess.engine.Alliance;
 import com.chess.engine.board.ChessBoard;
+import com.chess.engine.board.ChessTile;
 import com.chess.engine.board.Move;
 import com.chess.engine.pieces.ChessPiece;
 import com.chess.engine.pieces.King;
@@ -95,6 +96,19 @@ dem König.
     public boolean isCastled(){
         return false;
     }
+
+    protected boolean isCastleCapable(final int kingCoordinate, final int rookCoordinate){
+        final ChessTile kingTile = this.board.getTile(kingCoordinate);
+        final ChessTile rookTile = this.board.getTile(rookCoordinate);
+        return isUnmovedPiece(kingTile, ChessPiece.PieceType.KING) && isUnmovedPiece(rookTile, ChessPiece.PieceType.ROOK);
+    }
+
+    private boolean isUnmovedPiece(final ChessTile tile, final ChessPiece.PieceType pieceType){
+        return tile.isTileOccupied() &&
+               tile.getPiece().getPieceType() == pieceType &&
+               tile.getPiece().getPieceAlliance() == getAlliance() &&
+               tile.getPiece().isFirstMove();
+    }
 /*
 Das sind die verschiedenen speziellen Moves die mit dem König theoretisch möglich sind. Diese werden den legalMoves
 hinzugefügt oder ersetzen die legalMoves, im Falle eines Checks.
@@ -124,6 +138,8 @@ eliminiert. Ansonsten sollte der König innerhalb der möglichen Züge des Gegne
     public abstract Collection<ChessPiece> getActivePieces();
     public abstract Alliance getAlliance();
     public abstract Player getOpponent();
+    public abstract boolean isKingSideCastleCapable();
+    public abstract boolean isQueenSideCastleCapable();
     protected abstract Collection<Move> calculateKingCastles(Collection<Move> playerLegals, Collection<Move> opponentsLegals);
 }
 /*
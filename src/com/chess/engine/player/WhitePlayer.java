@@ -37,6 +37,16 @@ public class WhitePlayer extends Player{
         return this.board.blackPlayer();
     }
 
+    @Override
+    public boolean isKingSideCastleCapable() {
+        return isCastleCapable(60, 63);
+    }
+
+    @Override
+    public boolean isQueenSideCastleCapable() {
+        return isCastleCapable(60, 56);
+    }
+
     @Override
     protected Collection<Move> calculateKingCastles(final Collection<Move> playerLegals,
                                                     final Collection<Move> opponentsLegals) {
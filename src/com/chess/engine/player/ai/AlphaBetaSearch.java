@@ -0,0 +1,325 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.board.ChessBoard;
+import com.chess.engine.board.Move;
+import com.chess.engine.player.MoveTransition;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import static com.chess.engine.player.ai.TranspositionTable.*;
+
+public class AlphaBetaSearch implements MoveStrategy {
+
+    public static final int MATE_SCORE = 100000;
+    public static final int MATE_BOUND = MATE_SCORE - 1000;
+    public static final int DEFAULT_HASH_SIZE = 1 << 20;
+    private static final int INFINITY = MATE_SCORE + 1;
+    private static final int DRAW_SCORE = 0;
+    private static final int MAX_PLY = 128;
+    private static final int HASH_MOVE_SCORE = 1 << 30;
+    private static final int CAPTURE_SCORE = 1 << 20;
+    private static final int KILLER_SCORE = 1 << 19;
+    private static final int STOP_CHECK_INTERVAL = 15;
+
+    private final BoardEvaluator evaluator;
+    private final SearchLimits defaultLimits;
+    private final TranspositionTable transpositionTable;
+    private final Move[][] principalVariations;
+    private final int[] principalVariationLengths;
+    private final int[][] killerMoves;
+    private volatile boolean stopped;
+    private long nodes;
+    private long nodeLimit;
+    private long deadline;
+
+    public AlphaBetaSearch(final BoardEvaluator evaluator, final SearchLimits defaultLimits, final int hashSize){
+        this.evaluator = evaluator;
+        this.defaultLimits = defaultLimits;
+        this.transpositionTable = new TranspositionTable(hashSize);
+        this.principalVariations = new Move[MAX_PLY][MAX_PLY];
+        this.principalVariationLengths = new int[MAX_PLY];
+        this.killerMoves = new int[MAX_PLY][2];
+    }
+
+    public AlphaBetaSearch(final SearchLimits defaultLimits){
+        this(StandardBoardEvaluator.get(), defaultLimits, DEFAULT_HASH_SIZE);
+    }
+
+    @Override
+    public Move execute(final ChessBoard board){
+        return search(board, this.defaultLimits, null).getBestMove();
+    }
+
+    @Override
+    public String toString(){
+        return "AlphaBeta (" + this.defaultLimits + ")";
+    }
+
+    public void stop(){
+        this.stopped = true;
+    }
+
+    public void clear(){
+        this.transpositionTable.clear();
+        for(final int[] killers : this.killerMoves){
+            Arrays.fill(killers, NO_MOVE);
+        }
+    }
+
+    public SearchInfo search(final ChessBoard board, final SearchLimits limits, final SearchListener listener){
+        final long start = System.nanoTime();
+        this.stopped = false;
+        this.nodes = 0;
+        this.nodeLimit = limits.getNodes() > 0 ? limits.getNodes() : Long.MAX_VALUE;
+        this.deadline = limits.getMoveTimeMillis() > 0 ? start + limits.getMoveTimeMillis() * 1_000_000 : Long.MAX_VALUE;
+        SearchInfo result = null;
+        for(int depth = 1; depth <= limits.getDepth(); depth++){
+            final int score = search(board, depth, -INFINITY, INFINITY, 0);
+            if(this.stopped && result != null){
+                break;
+            }
+            final List<Move> principalVariation = new ArrayList<>(this.principalVariationLengths[0]);
+            for(int i = 0; i < this.principalVariationLengths[0]; i++){
+                principalVariation.add(this.principalVariations[0][i]);
+            }
+            result = new SearchInfo(depth, score, this.nodes, System.nanoTime() - start, principalVariation);
+            if(listener != null){
+                listener.searchInfo(result);
+            }
+            if(this.stopped || principalVariation.isEmpty() || Math.abs(score) >= MATE_SCORE - depth){
+                break;
+            }
+        }
+        List<Move> principalVariation = result.getPrincipalVariation();
+        if(principalVariation.isEmpty()){
+            final Move fallback = firstLegalMove(board);
+            if(fallback != Move.NULL_MOVE){
+                principalVariation = Collections.singletonList(fallback);
+            }
+        }
+        return new SearchInfo(result.getDepth(), result.getScore(), this.nodes, System.nanoTime() - start,
+                principalVariation);
+    }
+/*
+Die Suche vertieft sich Schritt für Schritt. Jede Iteration nutzt die Züge der vorherigen aus der Transpositionstabelle
+für die Zugsortierung, so ist die tiefe Suche schneller als eine direkte Suche in der vollen Tiefe. Wird die Suche
+abgebrochen, zählt der Zug der letzten fertigen Iteration, Knoten und Zeit gelten aber für die ganze Suche. Wurde schon
+die erste Iteration abgebrochen, bevor ein Zug fertig gesucht war, wird der erste legale Zug genommen. Ist ein Matt
+innerhalb der Suchtiefe gefunden, bringt eine tiefere Suche nichts mehr.
+*/
+
+    private int search(final ChessBoard board, int depth, int alpha, final int beta, final int ply){
+        this.principalVariationLengths[ply] = ply;
+        if(ply > 0 && (board.isFiftyMoveRule() || board.isRepetition())){
+            return DRAW_SCORE;
+        }
+        final boolean inCheck = board.currentPlayer().isInCheck();
+        if(inCheck && ply < MAX_PLY / 2){
+            depth++;
+        }
+        if(depth <= 0 || ply >= MAX_PLY - 1){
+            return quiescence(board, alpha, beta, ply);
+        }
+        if(shouldStop()){
+            return DRAW_SCORE;
+        }
+        final long key = board.getZobristKey();
+        final long entry = this.transpositionTable.probe(key);
+        if(ply > 0 && depthOf(entry) >= depth){
+            final int score = fromTableScore(scoreOf(entry), ply);
+            final int bound = boundOf(entry);
+            if(bound == EXACT ||
+              (bound == LOWER_BOUND && score >= beta) ||
+              (bound == UPPER_BOUND && score <= alpha)){
+                return score;
+            }
+        }
+        final Move[] moves = orderMoves(board.currentPlayer().getLegalMoves(), moveOf(entry), ply, false);
+        final int originalAlpha = alpha;
+        int bestScore = -INFINITY;
+        Move bestMove = null;
+        for(final Move move : moves){
+            final MoveTransition transition = board.currentPlayer().makeMove(move);
+            if(!transition.getMoveStatus().isDone()){
+                continue;
+            }
+            final int score = -search(transition.getTransitionBoard(), depth - 1, -beta, -alpha, ply + 1);
+            if(this.stopped){
+                return DRAW_SCORE;
+            }
+            if(score > bestScore){
+                bestScore = score;
+                bestMove = move;
+                if(score > alpha){
+                    alpha = score;
+                    updatePrincipalVariation(move, ply);
+                    if(alpha >= beta){
+                        if(!move.isAttack()){
+                            storeKiller(move, ply);
+                        }
+                        break;
+                    }
+                }
+            }
+        }
+        if(bestMove == null){
+            return inCheck ? -MATE_SCORE + ply : DRAW_SCORE;
+        }
+        final int bound = bestScore >= beta ? LOWER_BOUND : bestScore > originalAlpha ? EXACT : UPPER_BOUND;
+        this.transpositionTable.store(key, encodeMove(bestMove), depth, bound, toTableScore(bestScore, ply));
+        return bestScore;
+    }
+/*
+Das ist eine Negamax Suche mit Alpha-Beta: jede Bewertung ist aus der Sicht des Spielers am Zug, deshalb wird das Ergebnis
+des Gegners negiert. Die Züge des Players sind nur pseudo-legal, erst makeMove sagt, ob der eigene König danach im Schach
+steht. Gibt es keinen legalen Zug, ist es Matt oder Patt. Steht der Spieler im Schach, wird eine Stufe tiefer gesucht,
+damit Mattangriffe nicht am Horizont verschwinden.
+*/
+
+    private int quiescence(final ChessBoard board, int alpha, final int beta, final int ply){
+        this.principalVariationLengths[ply] = ply;
+        if(shouldStop()){
+            return DRAW_SCORE;
+        }
+        final boolean inCheck = board.currentPlayer().isInCheck();
+        int bestScore = -INFINITY;
+        if(!inCheck || ply >= MAX_PLY - 1){
+            bestScore = evaluate(board);
+            if(bestScore >= beta || ply >= MAX_PLY - 1){
+                return bestScore;
+            }
+            alpha = Math.max(alpha, bestScore);
+        }
+        final Move[] moves = orderMoves(board.currentPlayer().getLegalMoves(), NO_MOVE, ply, !inCheck);
+        boolean hasLegalMove = false;
+        for(final Move move : moves){
+            final MoveTransition transition = board.currentPlayer().makeMove(move);
+            if(!transition.getMoveStatus().isDone()){
+                continue;
+            }
+            hasLegalMove = true;
+            final int score = -quiescence(transition.getTransitionBoard(), -beta, -alpha, ply + 1);
+            if(this.stopped){
+                return DRAW_SCORE;
+            }
+            if(score > bestScore){
+                bestScore = score;
+                if(score > alpha){
+                    alpha = score;
+                    updatePrincipalVariation(move, ply);
+                    if(alpha >= beta){
+                        break;
+                    }
+                }
+            }
+        }
+        if(inCheck && !hasLegalMove){
+            return -MATE_SCORE + ply;
+        }
+        return bestScore;
+    }
+/*
+Am Ende der Suchtiefe werden nur noch Schlagzüge und Umwandlungen gesucht, bis die Stellung ruhig ist. Der Spieler kann
+dabei immer mit der aktuellen Bewertung stehen bleiben, außer er steht im Schach, dann müssen alle Züge gesucht werden.
+*/
+
+    private static Move firstLegalMove(final ChessBoard board){
+        for(final Move move : board.currentPlayer().getLegalMoves()){
+            if(board.currentPlayer().makeMove(move).getMoveStatus().isDone()){
+                return move;
+            }
+        }
+        return Move.NULL_MOVE;
+    }
+
+    private boolean shouldStop(){
+        this.nodes++;
+        if((this.nodes & STOP_CHECK_INTERVAL) == 0 &&
+           (this.nodes >= this.nodeLimit || System.nanoTime() >= this.deadline)){
+            this.stopped = true;
+        }
+        return this.stopped;
+    }
+
+    private int evaluate(final ChessBoard board){
+        final int score = this.evaluator.evaluate(board);
+        return board.currentPlayer().getAlliance().isWhite() ? score : -score;
+    }
+
+    private Move[] orderMoves(final Collection<Move> legalMoves, final int hashMove, final int ply, final boolean noisyOnly){
+        final Move[] moves = new Move[legalMoves.size()];
+        final int[] scores = new int[moves.length];
+        int size = 0;
+        for(final Move move : legalMoves){
+            final boolean noisy = move.isAttack() || move instanceof Move.PawnPromotion;
+            if(noisyOnly && !noisy){
+                continue;
+            }
+            final int code = encodeMove(move);
+            int score = 0;
+            if(code == hashMove){
+                score = HASH_MOVE_SCORE;
+            }else if(noisy){
+                final int victim = move.isAttack() ? move.getAttackedPiece().getPieceValue() : 0;
+                final int promotion = move instanceof Move.PawnPromotion ? 800 : 0;
+                score = CAPTURE_SCORE + (victim + promotion) * 8 - move.getMovedPiece().getPieceValue() / 100;
+            }else if(code == this.killerMoves[ply][0] || code == this.killerMoves[ply][1]){
+                score = KILLER_SCORE;
+            }
+            int i = size++;
+            while(i > 0 && scores[i - 1] < score){
+                moves[i] = moves[i - 1];
+                scores[i] = scores[i - 1];
+                i--;
+            }
+            moves[i] = move;
+            scores[i] = score;
+        }
+        return size == moves.length ? moves : Arrays.copyOf(moves, size);
+    }
+/*
+Zuerst kommt der beste Zug aus der Transpositionstabelle, dann die Schlagzüge nach dem Prinzip wertvollstes Opfer mit
+dem billigsten Angreifer, dann die Killerzüge, die in derselben Tiefe schon einmal einen Cutoff gebracht haben.
+*/
+
+    private void updatePrincipalVariation(final Move move, final int ply){
+        final int childLength = this.principalVariationLengths[ply + 1];
+        this.principalVariations[ply][ply] = move;
+        System.arraycopy(this.principalVariations[ply + 1], ply + 1, this.principalVariations[ply], ply + 1,
+                childLength - ply - 1);
+        this.principalVariationLengths[ply] = childLength;
+    }
+
+    private void storeKiller(final Move move, final int ply){
+        final int code = encodeMove(move);
+        if(this.killerMoves[ply][0] != code){
+            this.killerMoves[ply][1] = this.killerMoves[ply][0];
+            this.killerMoves[ply][0] = code;
+        }
+    }
+
+    private static int encodeMove(final Move move){
+        return (move.getCurrentCoordinate() << 6) | move.getDestinationCoordinate();
+    }
+
+    private static int toTableScore(final int score, final int ply){
+        return score >= MATE_BOUND ? score + ply : score <= -MATE_BOUND ? score - ply : score;
+    }
+
+    private static int fromTableScore(final int score, final int ply){
+        return score >= MATE_BOUND ? score - ply : score <= -MATE_BOUND ? score + ply : score;
+    }
+/*
+Mattwerte hängen von der Entfernung zur Wurzel ab. In der Tabelle werden sie deshalb relativ zur Stellung gespeichert
+und beim Lesen wieder auf die aktuelle Tiefe umgerechnet.
+*/
+}
+/*
+Eine AlphaBetaSearch hat eigene Tabellen und Zähler und darf deshalb immer nur von einem Thread gleichzeitig benutzt
+werden. Nur stop() darf aus einem anderen Thread aufgerufen werden. Wer parallel suchen will, braucht pro Thread eine
+eigene Instanz.
+*/
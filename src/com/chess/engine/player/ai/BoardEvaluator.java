@@ -0,0 +1,12 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.board.ChessBoard;
+
+public interface BoardEvaluator {
+
+    int evaluate(ChessBoard board);
+}
+/*
+Ein BoardEvaluator bewertet eine Stellung in Centipawns aus der Sicht von Weiß. Positive Werte sind gut für Weiß,
+negative für Schwarz.
+*/
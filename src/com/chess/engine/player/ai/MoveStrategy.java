@@ -0,0 +1,9 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.board.ChessBoard;
+import com.chess.engine.board.Move;
+
+public interface MoveStrategy {
+
+    Move execute(ChessBoard board);
+}
@@ -0,0 +1,84 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.board.Move;
+import com.chess.engine.pgn.CoordinateUtilities;
+import com.google.common.collect.ImmutableList;
+
+import java.util.List;
+
+public final class SearchInfo {
+
+    private final int depth;
+    private final int score;
+    private final long nodes;
+    private final long elapsedNanos;
+    private final List<Move> principalVariation;
+
+    SearchInfo(final int depth,
+               final int score,
+               final long nodes,
+               final long elapsedNanos,
+               final List<Move> principalVariation){
+        this.depth = depth;
+        this.score = score;
+        this.nodes = nodes;
+        this.elapsedNanos = elapsedNanos;
+        this.principalVariation = ImmutableList.copyOf(principalVariation);
+    }
+
+    public int getDepth(){
+        return this.depth;
+    }
+    public int getScore(){
+        return this.score;
+    }
+    public long getNodes(){
+        return this.nodes;
+    }
+    public long getElapsedNanos(){
+        return this.elapsedNanos;
+    }
+    public List<Move> getPrincipalVariation(){
+        return this.principalVariation;
+    }
+
+    public Move getBestMove(){
+        return this.principalVariation.isEmpty() ? Move.NULL_MOVE : this.principalVariation.get(0);
+    }
+
+    public long getNodesPerSecond(){
+        return this.elapsedNanos == 0 ? 0 : this.nodes * 1_000_000_000L / this.elapsedNanos;
+    }
+
+    public boolean isMateScore(){
+        return Math.abs(this.score) >= AlphaBetaSearch.MATE_BOUND;
+    }
+
+    public int getMateInMoves(){
+        final int plies = AlphaBetaSearch.MATE_SCORE - Math.abs(this.score);
+        return this.score > 0 ? (plies + 1) / 2 : -(plies / 2);
+    }
+
+    @Override
+    public String toString(){
+        final StringBuilder builder = new StringBuilder();
+        builder.append("depth ").append(this.depth);
+        if(isMateScore()){
+            builder.append(" mate ").append(getMateInMoves());
+        }else{
+            builder.append(" cp ").append(this.score);
+        }
+        builder.append(" nodes ").append(this.nodes)
+               .append(" nps ").append(getNodesPerSecond())
+               .append(" time ").append(this.elapsedNanos / 1_000_000)
+               .append(" pv");
+        for(final Move move : this.principalVariation){
+            builder.append(' ').append(CoordinateUtilities.toCoordinateNotation(move));
+        }
+        return builder.toString();
+    }
+}
+/*
+Die Bewertung ist aus der Sicht des Spielers am Zug. Bei einem Matt wird die Anzahl der Züge bis zum Matt angegeben,
+negativ, wenn der Spieler am Zug matt gesetzt wird.
+*/
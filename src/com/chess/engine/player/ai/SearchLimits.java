@@ -0,0 +1,71 @@
+package com.chess.engine.player.ai;
+
+public final class SearchLimits {
+
+    public static final int MAX_DEPTH = 64;
+
+    private final int depth;
+    private final long nodes;
+    private final long moveTimeMillis;
+
+    private SearchLimits(final int depth, final long nodes, final long moveTimeMillis){
+        this.depth = depth;
+        this.nodes = nodes;
+        this.moveTimeMillis = moveTimeMillis;
+    }
+
+    public static SearchLimits infinite(){
+        return new SearchLimits(MAX_DEPTH, 0, 0);
+    }
+
+    public static SearchLimits depth(final int depth){
+        return new SearchLimits(clampDepth(depth), 0, 0);
+    }
+
+    public static SearchLimits nodes(final long nodes){
+        return new SearchLimits(MAX_DEPTH, nodes, 0);
+    }
+
+    public static SearchLimits moveTime(final long moveTimeMillis){
+        return new SearchLimits(MAX_DEPTH, 0, moveTimeMillis);
+    }
+
+    public SearchLimits withDepth(final int depth){
+        return new SearchLimits(clampDepth(depth), this.nodes, this.moveTimeMillis);
+    }
+
+    public SearchLimits withNodes(final long nodes){
+        return new SearchLimits(this.depth, nodes, this.moveTimeMillis);
+    }
+
+    public SearchLimits withMoveTime(final long moveTimeMillis){
+        return new SearchLimits(this.depth, this.nodes, moveTimeMillis);
+    }
+
+    private static int clampDepth(final int depth){
+        return Math.max(1, Math.min(depth, MAX_DEPTH));
+    }
+
+    public int getDepth(){
+        return this.depth;
+    }
+    public long getNodes(){
+        return this.nodes;
+    }
+    public long getMoveTimeMillis(){
+        return this.moveTimeMillis;
+    }
+
+    public boolean isInfinite(){
+        return this.depth == MAX_DEPTH && this.nodes == 0 && this.moveTimeMillis == 0;
+    }
+
+    @Override
+    public String toString(){
+        return "depth " + this.depth + ", nodes " + this.nodes + ", movetime " + this.moveTimeMillis;
+    }
+}
+/*
+Eine Grenze von 0 Knoten oder 0 Millisekunden bedeutet keine Grenze. Eine unendliche Suche läuft, bis stop() aufgerufen
+wird oder die maximale Tiefe erreicht ist. Die Tiefe ist mindestens 1, sonst gäbe es keine Iteration und keinen Zug.
+*/
@@ -0,0 +1,9 @@
+package com.chess.engine.player.ai;
+
+public interface SearchListener {
+
+    void searchInfo(SearchInfo info);
+}
+/*
+Der SearchListener wird nach jeder fertigen Iteration der Suche aufgerufen, und zwar im Thread der Suche.
+*/
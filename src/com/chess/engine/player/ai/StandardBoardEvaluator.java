@@ -0,0 +1,49 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.board.ChessBoard;
+import com.chess.engine.pieces.ChessPiece;
+import com.chess.engine.player.Player;
+
+public final class StandardBoardEvaluator implements BoardEvaluator {
+
+    private static final StandardBoardEvaluator INSTANCE = new StandardBoardEvaluator();
+    private static final int MOBILITY_BONUS = 2;
+    private static final int CHECK_BONUS = 30;
+
+    private StandardBoardEvaluator(){
+    }
+
+    public static StandardBoardEvaluator get(){
+        return INSTANCE;
+    }
+
+    @Override
+    public int evaluate(final ChessBoard board){
+        return scorePlayer(board.whitePlayer()) - scorePlayer(board.blackPlayer());
+    }
+
+    private static int scorePlayer(final Player player){
+        return pieceValue(player) + mobility(player) + check(player);
+    }
+
+    private static int pieceValue(final Player player){
+        int pieceValueScore = 0;
+        for(final ChessPiece piece : player.getActivePieces()){
+            pieceValueScore += piece.getPieceValue();
+        }
+        return pieceValueScore;
+    }
+
+    private static int mobility(final Player player){
+        return MOBILITY_BONUS * player.getLegalMoves().size();
+    }
+
+    private static int check(final Player player){
+        return player.getOpponent().isInCheck() ? CHECK_BONUS : 0;
+    }
+}
+/*
+Die Bewertung besteht aus dem Material, der Anzahl der möglichen Züge und einem kleinen Bonus, wenn der Gegner im Schach
+steht. Die Züge sind beim Erzeugen des Boards schon berechnet worden, deshalb kostet die Mobilität fast nichts. Matt und
+Patt werden nicht hier, sondern in der Suche erkannt.
+*/
@@ -0,0 +1,66 @@
+package com.chess.engine.player.ai;
+
+import java.util.Arrays;
+
+final class TranspositionTable {
+
+    static final int EXACT = 0;
+    static final int LOWER_BOUND = 1;
+    static final int UPPER_BOUND = 2;
+    static final int NO_MOVE = 0;
+
+    private final long[] keys;
+    private final long[] entries;
+    private final int mask;
+
+    TranspositionTable(final int size){
+        final int capacity = Integer.highestOneBit(Math.max(size, 2));
+        this.keys = new long[capacity];
+        this.entries = new long[capacity];
+        this.mask = capacity - 1;
+    }
+
+    long probe(final long key){
+        final int index = (int) key & this.mask;
+        return this.keys[index] == key ? this.entries[index] : 0;
+    }
+
+    void store(final long key, final int move, final int depth, final int bound, final int score){
+        final int index = (int) key & this.mask;
+        if(this.keys[index] == key && depth < depthOf(this.entries[index]) && bound != EXACT){
+            return;
+        }
+        this.keys[index] = key;
+        this.entries[index] = ((long) score << 32) |
+                              ((long) (depth + 1) << 16) |
+                              ((long) bound << 12) |
+                              move;
+    }
+
+    void clear(){
+        Arrays.fill(this.keys, 0);
+        Arrays.fill(this.entries, 0);
+    }
+
+    static int moveOf(final long entry){
+        return (int) (entry & 0xFFF);
+    }
+
+    static int boundOf(final long entry){
+        return (int) ((entry >>> 12) & 0xF);
+    }
+
+    static int depthOf(final long entry){
+        return (int) ((entry >>> 16) & 0xFFFF) - 1;
+    }
+
+    static int scoreOf(final long entry){
+        return (int) (entry >> 32);
+    }
+}
+/*
+Die Tabelle besteht aus zwei primitiven Arrays, damit pro Eintrag kein Objekt erzeugt wird. Ein Eintrag ist in einem long
+gepackt: der Zug als Start- und Zielfeld in 12 Bit, die Art der Grenze, die Tiefe plus eins und die Bewertung in den
+oberen 32 Bit. Ein leerer Eintrag ist 0 und hat damit die Tiefe -1. Ein tieferer Eintrag derselben Stellung wird nur
+von einem exakten Wert überschrieben.
+*/
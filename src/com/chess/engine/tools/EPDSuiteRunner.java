@@ -0,0 +1,229 @@
+package com.chess.engine.tools;
+
+import com.chess.engine.board.Move;
+import com.chess.engine.pgn.EPDPosition;
+import com.chess.engine.pgn.SanUtilities;
+import com.chess.engine.player.ai.AlphaBetaSearch;
+import com.chess.engine.player.ai.SearchInfo;
+import com.chess.engine.player.ai.SearchLimits;
+import com.chess.engine.player.ai.StandardBoardEvaluator;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class EPDSuiteRunner {
+
+    private final int threadCount;
+    private final SearchLimits limits;
+    private final int hashSize;
+
+    public EPDSuiteRunner(final int threadCount, final SearchLimits limits, final int hashSize){
+        this.threadCount = threadCount;
+        this.limits = limits;
+        this.hashSize = hashSize;
+    }
+
+    public SuiteResult run(final List<EPDPosition> positions) throws InterruptedException {
+        final ExecutorService executor = Executors.newFixedThreadPool(this.threadCount);
+        final ThreadLocal<AlphaBetaSearch> searches = ThreadLocal.withInitial(() ->
+                new AlphaBetaSearch(StandardBoardEvaluator.get(), this.limits, this.hashSize));
+        final long start = System.nanoTime();
+        try {
+            final List<Future<PositionResult>> futures = new ArrayList<>(positions.size());
+            for(final EPDPosition position : positions){
+                futures.add(executor.submit(() -> solve(searches.get(), position)));
+            }
+            final List<PositionResult> results = new ArrayList<>(positions.size());
+            for(final Future<PositionResult> future : futures){
+                results.add(future.get());
+            }
+            return new SuiteResult(results, System.nanoTime() - start);
+        } catch (final ExecutionException e) {
+            throw new RuntimeException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+/*
+Jeder Thread des Pools hat eine eigene AlphaBetaSearch mit eigener Transpositionstabelle, so wird nichts zwischen den
+Threads geteilt. Die Tabelle wird vor jeder Stellung geleert, damit das Ergebnis nicht von der Reihenfolge abhängt.
+*/
+
+    private PositionResult solve(final AlphaBetaSearch search, final EPDPosition position){
+        search.clear();
+        final long[] solutionNanos = {-1};
+        final SearchInfo info = search.search(position.getBoard(), this.limits, iteration -> {
+            if(!position.isSolvedBy(iteration.getBestMove())){
+                solutionNanos[0] = -1;
+            }else if(solutionNanos[0] == -1){
+                solutionNanos[0] = iteration.getElapsedNanos();
+            }
+        });
+        final boolean solved = position.hasSolution() && position.isSolvedBy(info.getBestMove());
+        return new PositionResult(position, info, solved, solved ? solutionNanos[0] : -1);
+    }
+/*
+Die Zeit bis zur Lösung ist der Zeitpunkt der ersten Iteration, ab der die Suche bis zum Ende beim richtigen Zug
+geblieben ist. Wechselt die Suche später noch einmal zu einem falschen Zug, fängt die Messung von vorne an.
+*/
+
+    public static class PositionResult {
+
+        private final EPDPosition position;
+        private final SearchInfo searchInfo;
+        private final boolean solved;
+        private final long solutionNanos;
+
+        PositionResult(final EPDPosition position,
+                       final SearchInfo searchInfo,
+                       final boolean solved,
+                       final long solutionNanos){
+            this.position = position;
+            this.searchInfo = searchInfo;
+            this.solved = solved;
+            this.solutionNanos = solutionNanos;
+        }
+
+        public EPDPosition getPosition(){
+            return this.position;
+        }
+        public SearchInfo getSearchInfo(){
+            return this.searchInfo;
+        }
+        public boolean isSolved(){
+            return this.solved;
+        }
+        public long getSolutionNanos(){
+            return this.solutionNanos;
+        }
+
+        @Override
+        public String toString(){
+            final Move bestMove = this.searchInfo.getBestMove();
+            final String san = bestMove == Move.NULL_MOVE ? "-" : SanUtilities.toSan(bestMove);
+            return String.format("%-12s %-8s %-8s depth %2d nodes %9d time %7.3f s%s",
+                    this.position.getId(),
+                    !this.position.isSupported() ? "unsupported" :
+                    !this.position.hasSolution() ? "skipped" : this.solved ? "solved" : "failed",
+                    san,
+                    this.searchInfo.getDepth(),
+                    this.searchInfo.getNodes(),
+                    this.searchInfo.getElapsedNanos() / 1_000_000_000.0,
+                    this.solved ? String.format(" solution %.3f s", this.solutionNanos / 1_000_000_000.0) : "");
+        }
+    }
+
+    public static class SuiteResult {
+
+        private final List<PositionResult> results;
+        private final long wallNanos;
+
+        SuiteResult(final List<PositionResult> results, final long wallNanos){
+            this.results = results;
+            this.wallNanos = wallNanos;
+        }
+
+        public List<PositionResult> getResults(){
+            return this.results;
+        }
+        public long getWallNanos(){
+            return this.wallNanos;
+        }
+
+        public int getSolved(){
+            int solved = 0;
+            for(final PositionResult result : this.results){
+                if(result.isSolved()){
+                    solved++;
+                }
+            }
+            return solved;
+        }
+
+        public int getScored(){
+            int scored = 0;
+            for(final PositionResult result : this.results){
+                if(result.getPosition().hasSolution()){
+                    scored++;
+                }
+            }
+            return scored;
+        }
+
+        public int getUnsupported(){
+            int unsupported = 0;
+            for(final PositionResult result : this.results){
+                if(!result.getPosition().isSupported()){
+                    unsupported++;
+                }
+            }
+            return unsupported;
+        }
+
+        public long getNodes(){
+            long nodes = 0;
+            for(final PositionResult result : this.results){
+                nodes += result.getSearchInfo().getNodes();
+            }
+            return nodes;
+        }
+
+        public long getSolutionNanos(){
+            long solutionNanos = 0;
+            for(final PositionResult result : this.results){
+                if(result.isSolved()){
+                    solutionNanos += result.getSolutionNanos();
+                }
+            }
+            return solutionNanos;
+        }
+
+        public long getNodesPerSecond(){
+            return this.wallNanos == 0 ? 0 : getNodes() * 1_000_000_000L / this.wallNanos;
+        }
+
+        @Override
+        public String toString(){
+            return String.format("solved %d/%d, unsupported %d, time to solution %.3f s, nodes %d, " +
+                                 "wall time %.3f s, nps %d",
+                    getSolved(), getScored(), getUnsupported(), getSolutionNanos() / 1_000_000_000.0, getNodes(),
+                    this.wallNanos / 1_000_000_000.0, getNodesPerSecond());
+        }
+    }
+/*
+Die Knoten pro Sekunde werden über alle Threads zusammen auf die Laufzeit der ganzen Suite gerechnet. Mehr Threads
+sollen also eine höhere Zahl ergeben, solange die Kerne nicht ausgelastet sind.
+*/
+
+    public static void main(final String[] args) throws IOException, InterruptedException {
+        if(args.length < 1){
+            System.err.println("usage: EPDSuiteRunner <file.epd> [-movetime ms] [-nodes n] [-depth n] [-threads n] [-hash entries]");
+            System.exit(1);
+        }
+        SearchLimits limits = SearchLimits.moveTime(1000);
+        int threads = Runtime.getRuntime().availableProcessors();
+        int hashSize = AlphaBetaSearch.DEFAULT_HASH_SIZE;
+        for(int i = 1; i + 1 < args.length; i += 2){
+            switch(args[i]){
+                case "-movetime": limits = SearchLimits.moveTime(Long.parseLong(args[i + 1])); break;
+                case "-nodes": limits = SearchLimits.nodes(Long.parseLong(args[i + 1])); break;
+                case "-depth": limits = SearchLimits.depth(Integer.parseInt(args[i + 1])); break;
+                case "-threads": threads = Integer.parseInt(args[i + 1]); break;
+                case "-hash": hashSize = Integer.parseInt(args[i + 1]); break;
+                default: throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+        final List<EPDPosition> positions = EPDPosition.readPositions(Paths.get(args[0]));
+        final SuiteResult result = new EPDSuiteRunner(threads, limits, hashSize).run(positions);
+        for(final PositionResult positionResult : result.getResults()){
+            System.out.println(positionResult);
+        }
+        System.out.println(result);
+    }
+}
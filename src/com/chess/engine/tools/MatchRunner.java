@@ -0,0 +1,258 @@
+package com.chess.engine.tools;
+
+import com.chess.engine.board.ChessBoard;
+import com.chess.engine.board.Move;
+import com.chess.engine.pgn.EPDPosition;
+import com.chess.engine.pgn.Game;
+import com.chess.engine.pgn.GameReplay;
+import com.chess.engine.pgn.PGNUtilities;
+import com.chess.engine.player.MoveTransition;
+import com.chess.engine.player.Player;
+import com.chess.engine.player.ai.AlphaBetaSearch;
+import com.chess.engine.player.ai.MoveStrategy;
+import com.chess.engine.player.ai.SearchLimits;
+import com.chess.engine.player.ai.StandardBoardEvaluator;
+import com.google.common.collect.ImmutableList;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class MatchRunner {
+
+    private static final int MAX_PLIES = 400;
+
+    private final Supplier<MoveStrategy> firstEngine;
+    private final Supplier<MoveStrategy> secondEngine;
+    private final List<ChessBoard> openings;
+    private final int threadCount;
+    private final int maxGames;
+    private final SPRT sprt;
+
+    public MatchRunner(final Supplier<MoveStrategy> firstEngine,
+                       final Supplier<MoveStrategy> secondEngine,
+                       final List<ChessBoard> openings,
+                       final int threadCount,
+                       final int maxGames,
+                       final SPRT sprt){
+        this.firstEngine = firstEngine;
+        this.secondEngine = secondEngine;
+        this.openings = openings.isEmpty() ? ImmutableList.of(ChessBoard.createStandardBoard()) : ImmutableList.copyOf(openings);
+        this.threadCount = threadCount;
+        this.maxGames = maxGames;
+        this.sprt = sprt;
+    }
+
+    public MatchResult run() throws InterruptedException {
+        final MatchResult result = new MatchResult(this.sprt);
+        final AtomicInteger nextGame = new AtomicInteger();
+        final ExecutorService workers = Executors.newFixedThreadPool(this.threadCount);
+        final long start = System.nanoTime();
+        for(int i = 0; i < this.threadCount; i++){
+            workers.execute(() -> {
+                int game;
+                while(!result.isFinished() && (game = nextGame.getAndIncrement()) < this.maxGames){
+                    final ChessBoard opening = this.openings.get((game / 2) % this.openings.size());
+                    final boolean firstIsWhite = game % 2 == 0;
+                    final MoveStrategy first = this.firstEngine.get();
+                    final MoveStrategy second = this.secondEngine.get();
+                    final String outcome = firstIsWhite ? playGame(opening, first, second) : playGame(opening, second, first);
+                    result.recordGame(outcome, firstIsWhite);
+                }
+            });
+        }
+        workers.shutdown();
+        workers.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        result.setElapsedNanos(System.nanoTime() - start);
+        return result;
+    }
+/*
+Jede Eröffnung wird zweimal gespielt, einmal mit jeder Farbe für jede Engine, damit eine einseitige Eröffnung das
+Ergebnis nicht verfälscht. Die Worker holen sich die nächste Partie über einen gemeinsamen Zähler und hören auf, sobald
+der SPRT entschieden hat. Für jede Partie werden neue Engines erzeugt, so teilen sich die Threads keinen Zustand.
+*/
+
+    static String playGame(final ChessBoard opening, final MoveStrategy white, final MoveStrategy black){
+        ChessBoard board = opening;
+        for(int ply = 0; ply < MAX_PLIES; ply++){
+            final String outcome = adjudicate(board);
+            if(outcome != null){
+                return outcome;
+            }
+            final Player player = board.currentPlayer();
+            final Move move = (player.getAlliance().isWhite() ? white : black).execute(board);
+            final MoveTransition transition = player.makeMove(move);
+            if(!transition.getMoveStatus().isDone()){
+                return player.getAlliance().isWhite() ? "0-1" : "1-0";
+            }
+            board = transition.getTransitionBoard();
+        }
+        return "1/2-1/2";
+    }
+/*
+Jede Partie ist eine eigene Kette von Boards, die mit der Eröffnung beginnt. Macht eine Engine einen illegalen Zug, hat
+sie verloren. Nach MAX_PLIES Halbzügen wird die Partie als Remis gewertet.
+*/
+
+    static String adjudicate(final ChessBoard board){
+        final Player player = board.currentPlayer();
+        if(player.isInCheck()){
+            if(player.isInCheckMate()){
+                return player.getAlliance().isWhite() ? "0-1" : "1-0";
+            }
+        }else if(player.isInStaleMate()){
+            return "1/2-1/2";
+        }
+        if(board.isThreefoldRepetition() || board.isFiftyMoveRule() || isBareKings(board)){
+            return "1/2-1/2";
+        }
+        return null;
+    }
+
+    private static boolean isBareKings(final ChessBoard board){
+        return board.getWhitePieces().size() == 1 && board.getBlackPieces().size() == 1;
+    }
+
+    public static List<ChessBoard> loadOpenings(final Path openingFile) throws IOException {
+        if(openingFile.toString().toLowerCase().endsWith(".pgn")){
+            try(final Stream<GameReplay> replays = PGNUtilities.readGames(openingFile).map(Game::replay)){
+                return replays.filter(GameReplay::isValid)
+                              .map(GameReplay::getFinalBoard)
+                              .collect(Collectors.toList());
+            }
+        }
+        final List<ChessBoard> openings = new ArrayList<>();
+        for(final EPDPosition position : EPDPosition.readPositions(openingFile)){
+            openings.add(position.getBoard());
+        }
+        return openings;
+    }
+/*
+Eine Eröffnungsdatei ist entweder eine PGN Datei, deren Partien bis zum Ende nachgespielt werden, oder eine Datei mit
+einer FEN oder EPD Stellung pro Zeile.
+*/
+
+    public static class MatchResult {
+
+        private final SPRT sprt;
+        private long wins;
+        private long draws;
+        private long losses;
+        private SPRT.Status status = SPRT.Status.CONTINUE;
+        private volatile boolean finished;
+        private long elapsedNanos;
+
+        MatchResult(final SPRT sprt){
+            this.sprt = sprt;
+        }
+
+        synchronized void recordGame(final String outcome, final boolean firstIsWhite){
+            switch(outcome){
+                case "1-0": if(firstIsWhite) this.wins++; else this.losses++; break;
+                case "0-1": if(firstIsWhite) this.losses++; else this.wins++; break;
+                default: this.draws++;
+            }
+            if(this.sprt != null && this.status == SPRT.Status.CONTINUE){
+                this.status = this.sprt.status(this.wins, this.draws, this.losses);
+                this.finished = this.status != SPRT.Status.CONTINUE;
+            }
+        }
+
+        boolean isFinished(){
+            return this.finished;
+        }
+
+        synchronized void setElapsedNanos(final long elapsedNanos){
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public synchronized long getWins(){
+            return this.wins;
+        }
+        public synchronized long getDraws(){
+            return this.draws;
+        }
+        public synchronized long getLosses(){
+            return this.losses;
+        }
+        public synchronized long getGames(){
+            return this.wins + this.draws + this.losses;
+        }
+        public synchronized SPRT.Status getStatus(){
+            return this.status;
+        }
+        public synchronized double getEloDifference(){
+            return SPRT.eloDifference(this.wins, this.draws, this.losses);
+        }
+        public synchronized double getEloErrorMargin(){
+            return SPRT.eloErrorMargin(this.wins, this.draws, this.losses);
+        }
+        public synchronized double getLogLikelihoodRatio(){
+            return this.sprt == null ? 0 : this.sprt.logLikelihoodRatio(this.wins, this.draws, this.losses);
+        }
+
+        @Override
+        public synchronized String toString(){
+            final StringBuilder builder = new StringBuilder();
+            builder.append(String.format("games %d: +%d =%d -%d, elo %.1f +/- %.1f, %.2f games/s%n",
+                    getGames(), this.wins, this.draws, this.losses, getEloDifference(), getEloErrorMargin(),
+                    this.elapsedNanos == 0 ? 0 : getGames() * 1_000_000_000.0 / this.elapsedNanos));
+            if(this.sprt != null){
+                builder.append(String.format("%s: llr %.2f, %s%n", this.sprt, getLogLikelihoodRatio(), this.status));
+            }
+            return builder.toString();
+        }
+    }
+/*
+Das Ergebnis wird aus der Sicht der ersten Engine gezählt. Sieg, Remis und Niederlage werden zusammen unter einem Lock
+verändert, damit der SPRT nach jeder Partie einen stimmigen Stand sieht.
+*/
+
+    public static void main(final String[] args) throws IOException, InterruptedException {
+        if(args.length < 1){
+            System.err.println("usage: MatchRunner <openings.epd|openings.pgn> [-games n] [-threads n] " +
+                    "[-nodes1 n] [-nodes2 n] [-depth1 n] [-depth2 n] [-elo0 e] [-elo1 e] [-alpha a] [-beta b]");
+            System.exit(1);
+        }
+        int games = 1000;
+        int threads = Runtime.getRuntime().availableProcessors();
+        SearchLimits firstLimits = SearchLimits.nodes(2000);
+        SearchLimits secondLimits = SearchLimits.nodes(2000);
+        double elo0 = 0;
+        double elo1 = 10;
+        double alpha = 0.05;
+        double beta = 0.05;
+        for(int i = 1; i + 1 < args.length; i += 2){
+            final String value = args[i + 1];
+            switch(args[i]){
+                case "-games": games = Integer.parseInt(value); break;
+                case "-threads": threads = Integer.parseInt(value); break;
+                case "-nodes1": firstLimits = SearchLimits.nodes(Long.parseLong(value)); break;
+                case "-nodes2": secondLimits = SearchLimits.nodes(Long.parseLong(value)); break;
+                case "-depth1": firstLimits = SearchLimits.depth(Integer.parseInt(value)); break;
+                case "-depth2": secondLimits = SearchLimits.depth(Integer.parseInt(value)); break;
+                case "-elo0": elo0 = Double.parseDouble(value); break;
+                case "-elo1": elo1 = Double.parseDouble(value); break;
+                case "-alpha": alpha = Double.parseDouble(value); break;
+                case "-beta": beta = Double.parseDouble(value); break;
+                default: throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+        final SearchLimits first = firstLimits;
+        final SearchLimits second = secondLimits;
+        final MatchRunner runner = new MatchRunner(
+                () -> new AlphaBetaSearch(StandardBoardEvaluator.get(), first, 1 << 16),
+                () -> new AlphaBetaSearch(StandardBoardEvaluator.get(), second, 1 << 16),
+                loadOpenings(Paths.get(args[0])), threads, games, new SPRT(elo0, elo1, alpha, beta));
+        System.out.print(runner.run());
+    }
+}
@@ -0,0 +1,48 @@
+package com.chess.engine.tools;
+
+import com.chess.engine.board.ChessBoard;
+import com.chess.engine.board.Move;
+import com.chess.engine.player.MoveTransition;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public final class Perft {
+
+    private Perft(){
+        throw new RuntimeException("Not instantiable!");
+    }
+
+    public static long perft(final ChessBoard board, final int depth){
+        if(depth == 0){
+            return 1;
+        }
+        long nodes = 0;
+        for(final Move move : board.currentPlayer().getLegalMoves()){
+            final MoveTransition transition = board.currentPlayer().makeMove(move);
+            if(transition.getMoveStatus().isDone()){
+                nodes += depth == 1 ? 1 : perft(transition.getTransitionBoard(), depth - 1);
+            }
+        }
+        return nodes;
+    }
+/*
+Perft zählt alle legalen Zugfolgen bis zur angegebenen Tiefe. Die Zahlen sind für viele Stellungen bekannt, so lassen
+sich Fehler in der Zuggenerierung finden. Auf der letzten Ebene wird das neue Board nicht mehr weiter untersucht.
+*/
+
+    public static Map<Move, Long> divide(final ChessBoard board, final int depth){
+        final Map<Move, Long> nodesPerMove = new LinkedHashMap<>();
+        for(final Move move : board.currentPlayer().getLegalMoves()){
+            final MoveTransition transition = board.currentPlayer().makeMove(move);
+            if(transition.getMoveStatus().isDone()){
+                nodesPerMove.put(move, perft(transition.getTransitionBoard(), depth - 1));
+            }
+        }
+        return nodesPerMove;
+    }
+/*
+divide zeigt die Anzahl für jeden ersten Zug einzeln, damit man eine abweichende Zahl bis zum fehlerhaften Zug
+zurückverfolgen kann.
+*/
+}
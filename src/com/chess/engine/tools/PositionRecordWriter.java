@@ -0,0 +1,129 @@
+package com.chess.engine.tools;
+
+import com.chess.engine.board.BoardUtils;
+import com.chess.engine.board.ChessBoard;
+import com.chess.engine.board.ChessTile;
+import com.chess.engine.pieces.ChessPiece;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+public class PositionRecordWriter implements Closeable {
+
+    public static final int RECORD_SIZE = 48;
+    public static final int WHITE_WIN = 2;
+    public static final int DRAW = 1;
+    public static final int BLACK_WIN = 0;
+    private static final int BUFFER_RECORDS = 1 << 14;
+    private static final int BLACK_PIECE = 8;
+
+    private final Path directory;
+    private final String prefix;
+    private final long recordsPerChunk;
+    private final ByteBuffer buffer;
+    private FileChannel channel;
+    private int chunk;
+    private long recordsInChunk;
+    private long records;
+
+    public PositionRecordWriter(final Path directory, final String prefix, final long recordsPerChunk){
+        this.directory = directory;
+        this.prefix = prefix;
+        this.recordsPerChunk = recordsPerChunk;
+        this.buffer = ByteBuffer.allocateDirect(BUFFER_RECORDS * RECORD_SIZE);
+    }
+
+    public void write(final ChessBoard board, final int score, final int result) throws IOException {
+        if(!this.buffer.hasRemaining()){
+            flushBuffer();
+        }
+        encode(this.buffer, board, score, result);
+        this.records++;
+        if(++this.recordsInChunk == this.recordsPerChunk){
+            flushBuffer();
+            this.channel.close();
+            this.channel = null;
+            this.recordsInChunk = 0;
+        }
+    }
+/*
+Die Datensätze werden in einem direkten ByteBuffer gesammelt und blockweise mit FileChannel.write geschrieben. Ist ein
+Chunk voll, wird die Datei geschlossen und beim nächsten Datensatz eine neue angefangen. Jeder Thread hat seinen eigenen
+Writer mit eigenem Präfix, so gibt es weder Locks noch gemeinsame Dateien.
+*/
+
+    static void encode(final ByteBuffer buffer, final ChessBoard board, final int score, final int result){
+        for(int i = 0; i < BoardUtils.NUM_TILES; i += 2){
+            buffer.put((byte) (pieceCode(board.getTile(i)) << 4 | pieceCode(board.getTile(i + 1))));
+        }
+        final boolean blackToMove = board.currentPlayer().getAlliance().isBlack();
+        buffer.put((byte) ((blackToMove ? 1 : 0) |
+                           (board.whitePlayer().isKingSideCastleCapable() ? 0x02 : 0) |
+                           (board.whitePlayer().isQueenSideCastleCapable() ? 0x04 : 0) |
+                           (board.blackPlayer().isKingSideCastleCapable() ? 0x08 : 0) |
+                           (board.blackPlayer().isQueenSideCastleCapable() ? 0x10 : 0)));
+        buffer.put((byte) (board.getEnPassantPawn() == null ? 0 :
+                board.getEnPassantPawn().getPiecePosition() % BoardUtils.NUM_TILES_PER_ROW + 1));
+        buffer.putShort((short) Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, score)));
+        buffer.put((byte) result);
+        buffer.put((byte) Math.min(board.getHalfMoveClock(), 0xFF));
+        buffer.putShort((short) Math.min(board.getFullMoveNumber(), 0xFFFF));
+        buffer.putLong(board.getZobristKey());
+    }
+/*
+Ein Datensatz ist immer 48 Bytes groß: 32 Bytes für das Brett mit einem Halbbyte pro Feld in der Reihenfolge der
+Koordinaten (a8 zuerst), dann ein Byte mit der Farbe am Zug und den Rochaderechten, ein Byte mit der Linie des en passant
+Bauern plus eins, die Bewertung der Suche als short, das Ergebnis, der halfMoveClock, die Zugnummer und der
+Zobrist-Schlüssel, mit dem man doppelte Stellungen aussortieren kann. Bewertung und Ergebnis sind aus der Sicht von Weiß.
+Ein Halbbyte ist 0 für ein leeres Feld, 1 bis 6 für Bauer, Springer, Läufer, Turm, Dame und König von Weiß und 9 bis 14
+für die von Schwarz.
+*/
+
+    private static int pieceCode(final ChessTile tile){
+        if(!tile.isTileOccupied()){
+            return 0;
+        }
+        final ChessPiece piece = tile.getPiece();
+        final int code;
+        switch(piece.getPieceType()){
+            case PAWN: code = 1; break;
+            case KNIGHT: code = 2; break;
+            case BISHOP: code = 3; break;
+            case ROOK: code = 4; break;
+            case QUEEN: code = 5; break;
+            default: code = 6;
+        }
+        return piece.getPieceAlliance().isBlack() ? code | BLACK_PIECE : code;
+    }
+
+    public long getRecords(){
+        return this.records;
+    }
+
+    private void flushBuffer() throws IOException {
+        this.buffer.flip();
+        if(this.buffer.hasRemaining()){
+            if(this.channel == null){
+                this.channel = FileChannel.open(this.directory.resolve(String.format("%s-%05d.bin", this.prefix, this.chunk++)),
+                        StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+            }
+            while(this.buffer.hasRemaining()){
+                this.channel.write(this.buffer);
+            }
+        }
+        this.buffer.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        flushBuffer();
+        if(this.channel != null){
+            this.channel.close();
+            this.channel = null;
+        }
+    }
+}
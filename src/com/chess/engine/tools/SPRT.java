@@ -0,0 +1,97 @@
+package com.chess.engine.tools;
+
+public final class SPRT {
+
+    public enum Status {
+        ACCEPT_H0,
+        ACCEPT_H1,
+        CONTINUE
+    }
+
+    private final double elo0;
+    private final double elo1;
+    private final double lowerBound;
+    private final double upperBound;
+
+    public SPRT(final double elo0, final double elo1, final double alpha, final double beta){
+        this.elo0 = elo0;
+        this.elo1 = elo1;
+        this.lowerBound = Math.log(beta / (1 - alpha));
+        this.upperBound = Math.log((1 - beta) / alpha);
+    }
+
+    public double getLowerBound(){
+        return this.lowerBound;
+    }
+    public double getUpperBound(){
+        return this.upperBound;
+    }
+
+    public double logLikelihoodRatio(final long wins, final long draws, final long losses){
+        final long games = wins + draws + losses;
+        if(games == 0){
+            return 0;
+        }
+        final double score = (wins + draws * 0.5) / games;
+        final double variance = (wins * square(1 - score) + draws * square(0.5 - score) + losses * square(score)) / games;
+        if(variance == 0){
+            return 0;
+        }
+        final double score0 = expectedScore(this.elo0);
+        final double score1 = expectedScore(this.elo1);
+        return (score1 - score0) * (2 * score - score0 - score1) * games / (2 * variance);
+    }
+/*
+Das ist die übliche Näherung des Log-Likelihood-Quotienten über die Normalverteilung des Punkteschnitts. Solange alle
+Partien gleich ausgegangen sind, ist die Varianz 0 und der Test läuft einfach weiter.
+*/
+
+    public Status status(final long wins, final long draws, final long losses){
+        final double llr = logLikelihoodRatio(wins, draws, losses);
+        if(llr >= this.upperBound){
+            return Status.ACCEPT_H1;
+        }
+        if(llr <= this.lowerBound){
+            return Status.ACCEPT_H0;
+        }
+        return Status.CONTINUE;
+    }
+
+    public static double eloDifference(final long wins, final long draws, final long losses){
+        final long games = wins + draws + losses;
+        return games == 0 ? 0 : scoreToElo((wins + draws * 0.5) / games);
+    }
+
+    public static double eloErrorMargin(final long wins, final long draws, final long losses){
+        final long games = wins + draws + losses;
+        if(games == 0){
+            return 0;
+        }
+        final double score = (wins + draws * 0.5) / games;
+        final double variance = (wins * square(1 - score) + draws * square(0.5 - score) + losses * square(score)) / games;
+        final double margin = 1.96 * Math.sqrt(variance / games);
+        return (scoreToElo(score + margin) - scoreToElo(score - margin)) / 2;
+    }
+/*
+Die Fehlergrenze ist das 95% Konfidenzintervall des Punkteschnitts, umgerechnet in Elo.
+*/
+
+    private static double expectedScore(final double elo){
+        return 1 / (1 + Math.pow(10, -elo / 400));
+    }
+
+    private static double scoreToElo(final double score){
+        final double clamped = Math.min(Math.max(score, 1e-6), 1 - 1e-6);
+        return -400 * Math.log10(1 / clamped - 1);
+    }
+
+    private static double square(final double value){
+        return value * value;
+    }
+
+    @Override
+    public String toString(){
+        return String.format("SPRT elo0 %.1f elo1 %.1f bounds [%.2f, %.2f]",
+                this.elo0, this.elo1, this.lowerBound, this.upperBound);
+    }
+}
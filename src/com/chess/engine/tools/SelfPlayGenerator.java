@@ -0,0 +1,179 @@
+package com.chess.engine.tools;
+
+import com.chess.engine.board.ChessBoard;
+import com.chess.engine.board.Move;
+import com.chess.engine.player.MoveTransition;
+import com.chess.engine.player.ai.AlphaBetaSearch;
+import com.chess.engine.player.ai.SearchInfo;
+import com.chess.engine.player.ai.SearchLimits;
+import com.chess.engine.player.ai.StandardBoardEvaluator;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+public class SelfPlayGenerator {
+
+    private static final int MAX_PLIES = 400;
+    private static final int HASH_SIZE = 1 << 16;
+
+    private final Path outputDirectory;
+    private final int threadCount;
+    private final SearchLimits limits;
+    private final long targetPositions;
+    private final int randomPlies;
+    private final long recordsPerChunk;
+    private final long seed;
+    private final AtomicLong writtenPositions = new AtomicLong();
+    private final LongAdder games = new LongAdder();
+
+    public SelfPlayGenerator(final Path outputDirectory,
+                             final int threadCount,
+                             final SearchLimits limits,
+                             final long targetPositions,
+                             final int randomPlies,
+                             final long recordsPerChunk,
+                             final long seed){
+        this.outputDirectory = outputDirectory;
+        this.threadCount = threadCount;
+        this.limits = limits;
+        this.targetPositions = targetPositions;
+        this.randomPlies = randomPlies;
+        this.recordsPerChunk = recordsPerChunk;
+        this.seed = seed;
+    }
+
+    public void run() throws IOException, InterruptedException {
+        Files.createDirectories(this.outputDirectory);
+        final ExecutorService workers = Executors.newFixedThreadPool(this.threadCount);
+        final long start = System.nanoTime();
+        for(int i = 0; i < this.threadCount; i++){
+            final int worker = i;
+            workers.execute(() -> generate(worker));
+        }
+        workers.shutdown();
+        workers.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        final double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        System.out.printf("positions %d, games %d, time %.1f s, %.1f positions/s, %.1f positions/s per thread%n",
+                this.writtenPositions.get(), this.games.sum(), seconds,
+                this.writtenPositions.get() / seconds, this.writtenPositions.get() / seconds / this.threadCount);
+    }
+
+    private void generate(final int worker){
+        final SplittableRandom random = new SplittableRandom(this.seed + worker);
+        final AlphaBetaSearch search = new AlphaBetaSearch(StandardBoardEvaluator.get(), this.limits, HASH_SIZE);
+        try(final PositionRecordWriter writer = new PositionRecordWriter(this.outputDirectory,
+                String.format("selfplay-%03d", worker), this.recordsPerChunk)){
+            final List<ChessBoard> boards = new ArrayList<>(MAX_PLIES);
+            final int[] scores = new int[MAX_PLIES];
+            while(this.writtenPositions.get() < this.targetPositions){
+                boards.clear();
+                search.clear();
+                final int result = playGame(search, random, boards, scores);
+                for(int i = 0; i < boards.size(); i++){
+                    writer.write(boards.get(i), scores[i], result);
+                }
+                this.writtenPositions.addAndGet(boards.size());
+                this.games.increment();
+            }
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+/*
+Jeder Thread spielt seine Partien mit eigener Suche, eigenem Zufallsgenerator und eigenem Writer. Geteilt wird nur der
+Zähler der geschriebenen Stellungen, der einmal pro Partie erhöht wird. Die Stellungen einer Partie werden erst
+geschrieben, wenn das Ergebnis feststeht.
+*/
+
+    private int playGame(final AlphaBetaSearch search,
+                         final SplittableRandom random,
+                         final List<ChessBoard> boards,
+                         final int[] scores){
+        ChessBoard board = ChessBoard.createStandardBoard();
+        for(int ply = 0; ply < MAX_PLIES; ply++){
+            final String outcome = MatchRunner.adjudicate(board);
+            if(outcome != null){
+                return encodeResult(outcome);
+            }
+            final Move move;
+            if(ply < this.randomPlies){
+                move = randomLegalMove(board, random);
+            }else{
+                final SearchInfo info = search.search(board, this.limits, null);
+                move = info.getBestMove();
+                if(!info.isMateScore() && !board.currentPlayer().isInCheck()){
+                    scores[boards.size()] = board.currentPlayer().getAlliance().isWhite() ? info.getScore() : -info.getScore();
+                    boards.add(board);
+                }
+            }
+            final MoveTransition transition = board.currentPlayer().makeMove(move);
+            if(!transition.getMoveStatus().isDone()){
+                return PositionRecordWriter.DRAW;
+            }
+            board = transition.getTransitionBoard();
+        }
+        return PositionRecordWriter.DRAW;
+    }
+/*
+Die ersten Halbzüge werden zufällig gespielt, damit nicht jede Partie gleich verläuft. Gespeichert werden nur ruhige
+Stellungen: steht der Spieler im Schach oder hat die Suche ein Matt gefunden, sagt die Bewertung wenig über die Stellung
+aus.
+*/
+
+    private static Move randomLegalMove(final ChessBoard board, final SplittableRandom random){
+        final List<Move> legalMoves = new ArrayList<>();
+        for(final Move move : board.currentPlayer().getLegalMoves()){
+            if(board.currentPlayer().makeMove(move).getMoveStatus().isDone()){
+                legalMoves.add(move);
+            }
+        }
+        return legalMoves.isEmpty() ? Move.NULL_MOVE : legalMoves.get(random.nextInt(legalMoves.size()));
+    }
+
+    private static int encodeResult(final String outcome){
+        switch(outcome){
+            case "1-0": return PositionRecordWriter.WHITE_WIN;
+            case "0-1": return PositionRecordWriter.BLACK_WIN;
+            default: return PositionRecordWriter.DRAW;
+        }
+    }
+
+    public static void main(final String[] args) throws IOException, InterruptedException {
+        if(args.length < 1){
+            System.err.println("usage: SelfPlayGenerator <outputDirectory> [-positions n] [-threads n] [-nodes n] " +
+                    "[-depth n] [-random plies] [-chunk records] [-seed n]");
+            System.exit(1);
+        }
+        long positions = 1_000_000;
+        int threads = Runtime.getRuntime().availableProcessors();
+        SearchLimits limits = SearchLimits.nodes(1000);
+        int randomPlies = 8;
+        long chunk = 1 << 20;
+        long seed = 1;
+        for(int i = 1; i + 1 < args.length; i += 2){
+            final String value = args[i + 1];
+            switch(args[i]){
+                case "-positions": positions = Long.parseLong(value); break;
+                case "-threads": threads = Integer.parseInt(value); break;
+                case "-nodes": limits = SearchLimits.nodes(Long.parseLong(value)); break;
+                case "-depth": limits = SearchLimits.depth(Integer.parseInt(value)); break;
+                case "-random": randomPlies = Integer.parseInt(value); break;
+                case "-chunk": chunk = Long.parseLong(value); break;
+                case "-seed": seed = Long.parseLong(value); break;
+                default: throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+        new SelfPlayGenerator(Paths.get(args[0]), threads, limits, positions, randomPlies, chunk, seed).run();
+    }
+}
@@ -0,0 +1,295 @@
+package com.chess.engine.uci;
+
+import com.chess.engine.board.ChessBoard;
+import com.chess.engine.board.Move;
+import com.chess.engine.pgn.CoordinateUtilities;
+import com.chess.engine.pgn.FenUtilities;
+import com.chess.engine.player.MoveTransition;
+import com.chess.engine.player.ai.AlphaBetaSearch;
+import com.chess.engine.player.ai.SearchInfo;
+import com.chess.engine.player.ai.SearchLimits;
+import com.chess.engine.player.ai.StandardBoardEvaluator;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+public class UCIEngine {
+
+    private static final String ENGINE_NAME = "JavaChess";
+    private static final String ENGINE_AUTHOR = "AsianRaikiri";
+    private static final int DEFAULT_MOVES_TO_GO = 30;
+    private static final long MOVE_OVERHEAD_MILLIS = 20;
+    private static final long STOP_POLL_MILLIS = 1;
+
+    private final BufferedReader input;
+    private final PrintStream output;
+    private final ExecutorService searchExecutor;
+    private final AlphaBetaSearch search;
+    private ChessBoard board;
+    private volatile Future<?> currentSearch;
+    private CountDownLatch bestMoveRelease;
+    private long ponderMoveTimeMillis;
+
+    public UCIEngine(final BufferedReader input, final PrintStream output){
+        this.input = input;
+        this.output = output;
+        this.searchExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "uci-search");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.search = new AlphaBetaSearch(StandardBoardEvaluator.get(), SearchLimits.infinite(),
+                AlphaBetaSearch.DEFAULT_HASH_SIZE);
+        this.board = ChessBoard.createStandardBoard();
+    }
+
+    public void run() throws IOException {
+        String line;
+        while((line = this.input.readLine()) != null){
+            final String[] tokens = line.trim().split("\\s+");
+            switch(tokens[0]){
+                case "uci":
+                    send("id name " + ENGINE_NAME);
+                    send("id author " + ENGINE_AUTHOR);
+                    send("uciok");
+                    break;
+                case "isready":
+                    send("readyok");
+                    break;
+                case "ucinewgame":
+                    stopSearch();
+                    this.search.clear();
+                    this.board = ChessBoard.createStandardBoard();
+                    break;
+                case "position":
+                    stopSearch();
+                    setPosition(tokens);
+                    break;
+                case "go":
+                    stopSearch();
+                    startSearch(tokens);
+                    break;
+                case "ponderhit":
+                    ponderHit();
+                    break;
+                case "stop":
+                    stopSearch();
+                    break;
+                case "quit":
+                    stopSearch();
+                    this.searchExecutor.shutdownNow();
+                    return;
+                default:
+                    break;
+            }
+        }
+        stopSearch();
+        this.searchExecutor.shutdownNow();
+    }
+/*
+Die Hauptschleife liest nur die Befehle und wartet nie auf die Suche, außer bei stop und bei Befehlen, die das Board
+verändern. So kann isready während einer Suche sofort beantwortet werden. Unbekannte Befehle werden wie im UCI Protokoll
+vorgesehen ignoriert.
+*/
+
+    private void setPosition(final String[] tokens){
+        int index = 1;
+        ChessBoard position;
+        if(tokens.length > 1 && tokens[1].equals("startpos")){
+            position = ChessBoard.createStandardBoard();
+            index = 2;
+        }else if(tokens.length > 1 && tokens[1].equals("fen")){
+            final StringBuilder fen = new StringBuilder();
+            index = 2;
+            while(index < tokens.length && !tokens[index].equals("moves")){
+                fen.append(tokens[index++]).append(' ');
+            }
+            try {
+                position = FenUtilities.createGameFromFEN(fen.toString().trim());
+            } catch (final RuntimeException e) {
+                send("info string " + e.getMessage());
+                return;
+            }
+        }else{
+            return;
+        }
+        if(index < tokens.length && tokens[index].equals("moves")){
+            for(index++; index < tokens.length; index++){
+                final Move move = CoordinateUtilities.fromCoordinateNotation(position, tokens[index]);
+                if(move == Move.NULL_MOVE){
+                    send("info string illegal move " + tokens[index]);
+                    break;
+                }
+                final MoveTransition transition = position.currentPlayer().makeMove(move);
+                if(!transition.getMoveStatus().isDone()){
+                    send("info string illegal move " + tokens[index]);
+                    break;
+                }
+                position = transition.getTransitionBoard();
+            }
+        }
+        this.board = position;
+    }
+/*
+Die Züge werden in der Koordinatennotation wie e2e4 oder e7e8q übergeben und über MoveFactory.createMove gesucht. Jede
+Stellung entsteht aus der vorherigen, so bleibt die positionHistory für die Erkennung von Wiederholungen erhalten.
+*/
+
+    private SearchLimits parseLimits(final String[] tokens){
+        SearchLimits limits = SearchLimits.infinite();
+        long time = -1;
+        long increment = 0;
+        int movesToGo = DEFAULT_MOVES_TO_GO;
+        final boolean white = this.board.currentPlayer().getAlliance().isWhite();
+        for(int i = 1; i + 1 < tokens.length; i++){
+            final String value = tokens[i + 1];
+            try {
+                switch(tokens[i]){
+                    case "depth": limits = limits.withDepth(Integer.parseInt(value)); break;
+                    case "nodes": limits = limits.withNodes(Long.parseLong(value)); break;
+                    case "movetime": limits = limits.withMoveTime(Long.parseLong(value)); break;
+                    case "movestogo": movesToGo = Math.max(1, Integer.parseInt(value)); break;
+                    case "wtime": if(white) time = Long.parseLong(value); break;
+                    case "btime": if(!white) time = Long.parseLong(value); break;
+                    case "winc": if(white) increment = Long.parseLong(value); break;
+                    case "binc": if(!white) increment = Long.parseLong(value); break;
+                    default: break;
+                }
+            } catch (final NumberFormatException e) {
+                send("info string ignoring invalid " + tokens[i] + " " + value);
+            }
+        }
+        if(time >= 0 && limits.getMoveTimeMillis() == 0){
+            final long budget = time / movesToGo + increment / 2;
+            limits = limits.withMoveTime(Math.max(1, Math.min(budget, time - MOVE_OVERHEAD_MILLIS)));
+        }
+        return limits;
+    }
+/*
+Die Werte stehen immer direkt hinter ihrem Namen, die Zahlen selbst werden vom switch ignoriert. Mit einer Bedenkzeit
+wird die verbleibende Zeit auf die restlichen Züge verteilt und die Hälfte des Inkrements dazu genommen. Ein kleiner
+Puffer bleibt immer übrig, damit die Engine nicht wegen der Übertragung auf Zeit verliert. Ein Wert, der keine Zahl
+ist, wird gemeldet und ignoriert, die Suche läuft mit den übrigen Grenzen. Ohne das würde die Ausnahme den
+Eingabe-Thread und damit die ganze Engine beenden.
+*/
+
+    private void startSearch(final String[] tokens){
+        final ChessBoard position = this.board;
+        final boolean infinite = Arrays.asList(tokens).contains("infinite");
+        final boolean ponder = Arrays.asList(tokens).contains("ponder");
+        SearchLimits limits = parseLimits(tokens);
+        this.ponderMoveTimeMillis = ponder ? limits.getMoveTimeMillis() : 0;
+        if(ponder){
+            limits = limits.withMoveTime(0);
+        }
+        final SearchLimits searchLimits = limits;
+        final CountDownLatch release = new CountDownLatch(infinite || ponder ? 1 : 0);
+        this.bestMoveRelease = release;
+        this.currentSearch = this.searchExecutor.submit(() -> {
+            final SearchInfo result = this.search.search(position, searchLimits, this::sendInfo);
+            try {
+                release.await();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            send("bestmove " + CoordinateUtilities.toCoordinateNotation(result.getBestMove()));
+        });
+    }
+/*
+Bei go infinite und go ponder darf bestmove erst nach stop oder ponderhit kommen, auch wenn die Suche vorher fertig
+ist, zum Beispiel weil sie ein Matt gefunden hat. Der Such-Thread hält sein Ergebnis so lange am Latch fest. Beim
+Pondern läuft die Suche ohne Zeitgrenze, die Bedenkzeit gilt erst ab dem ponderhit.
+*/
+
+    private void ponderHit(){
+        final Future<?> pondering = this.currentSearch;
+        if(pondering == null){
+            return;
+        }
+        this.bestMoveRelease.countDown();
+        final long moveTimeMillis = this.ponderMoveTimeMillis;
+        if(moveTimeMillis > 0){
+            Thread.startVirtualThread(() -> {
+                try {
+                    Thread.sleep(moveTimeMillis);
+                } catch (final InterruptedException e) {
+                    return;
+                }
+                if(this.currentSearch == pondering){
+                    this.search.stop();
+                }
+            });
+        }
+    }
+/*
+Nach dem ponderhit ist die Suche eine ganz normale Suche. Hatte das go eine Bedenkzeit, wird sie ab jetzt gezählt und die
+Suche danach angehalten, außer es läuft inzwischen schon eine andere.
+*/
+
+    private void stopSearch(){
+        final Future<?> running = this.currentSearch;
+        if(running == null){
+            return;
+        }
+        this.bestMoveRelease.countDown();
+        while(!running.isDone()){
+            this.search.stop();
+            try {
+                running.get(STOP_POLL_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (final TimeoutException e) {
+                // die Suche hat das Signal noch nicht gesehen, es wird erneut gesendet
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (final ExecutionException e) {
+                send("info string search failed: " + e.getCause());
+            }
+        }
+        this.currentSearch = null;
+    }
+/*
+Eine Suche setzt beim Start ihr stop Signal zurück. Kommt stop, bevor der Such-Thread wirklich angefangen hat, würde das
+Signal verloren gehen, deshalb wird es jede Millisekunde wiederholt, bis die Suche fertig ist. Das bestmove sendet der
+Such-Thread selbst, auch nach einem stop, und ein zurückgehaltenes bestmove wird dabei freigegeben.
+*/
+
+    private void sendInfo(final SearchInfo info){
+        final StringBuilder builder = new StringBuilder("info depth ").append(info.getDepth());
+        if(info.isMateScore()){
+            builder.append(" score mate ").append(info.getMateInMoves());
+        }else{
+            builder.append(" score cp ").append(info.getScore());
+        }
+        builder.append(" nodes ").append(info.getNodes())
+               .append(" nps ").append(info.getNodesPerSecond())
+               .append(" time ").append(info.getElapsedNanos() / 1_000_000)
+               .append(" pv");
+        for(final Move move : info.getPrincipalVariation()){
+            builder.append(' ').append(CoordinateUtilities.toCoordinateNotation(move));
+        }
+        send(builder.toString());
+    }
+
+    private void send(final String line){
+        synchronized(this.output){
+            this.output.println(line);
+            this.output.flush();
+        }
+    }
+
+    public static void main(final String[] args) throws IOException {
+        new UCIEngine(new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8)), System.out).run();
+    }
+}
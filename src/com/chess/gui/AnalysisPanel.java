@@ -0,0 +1,176 @@
+package com.chess.gui;
+
+import com.chess.engine.board.ChessBoard;
+import com.chess.engine.board.Move;
+import com.chess.engine.pgn.SanUtilities;
+import com.chess.engine.player.ai.AlphaBetaSearch;
+import com.chess.engine.player.ai.SearchInfo;
+import com.chess.engine.player.ai.SearchLimits;
+import com.chess.engine.player.ai.StandardBoardEvaluator;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+class AnalysisPanel extends JPanel {
+
+    private static final Dimension ANALYSIS_PANEL_DIMENSION = new Dimension(600,40);
+    private static final int UPDATE_INTERVAL_MILLIS = 250;
+    private static final int MAX_SHOWN_PV_MOVES = 10;
+    private static final int HASH_SIZE = 1 << 18;
+
+    private final AlphaBetaSearch search;
+    private final AtomicReference<ChessBoard> requestedBoard;
+    private final AtomicReference<Update> latestUpdate;
+    private final Thread searchThread;
+    private final Timer updateTimer;
+    private final EvaluationBar evaluationBar;
+    private final JLabel infoLabel;
+    private final JLabel pvLabel;
+    private volatile ChessBoard analyzedBoard;
+
+    AnalysisPanel(){
+        super(new BorderLayout());
+        this.search = new AlphaBetaSearch(StandardBoardEvaluator.get(), SearchLimits.infinite(), HASH_SIZE);
+        this.requestedBoard = new AtomicReference<>();
+        this.latestUpdate = new AtomicReference<>();
+        this.evaluationBar = new EvaluationBar();
+        this.infoLabel = new JLabel(" ");
+        this.pvLabel = new JLabel(" ");
+        final JPanel textPanel = new JPanel(new GridLayout(2,1));
+        textPanel.add(this.infoLabel);
+        textPanel.add(this.pvLabel);
+        add(this.evaluationBar, BorderLayout.WEST);
+        add(textPanel, BorderLayout.CENTER);
+        setPreferredSize(ANALYSIS_PANEL_DIMENSION);
+        this.searchThread = new Thread(this::analyzeRequestedBoards, "gui-analysis");
+        this.searchThread.setDaemon(true);
+        this.searchThread.start();
+        this.updateTimer = new Timer(UPDATE_INTERVAL_MILLIS, e -> showLatestUpdate());
+    }
+
+    void analyze(final ChessBoard board){
+        if(board == this.analyzedBoard){
+            return;
+        }
+        this.analyzedBoard = board;
+        this.latestUpdate.set(null);
+        this.evaluationBar.setScore(0);
+        this.infoLabel.setText(" ");
+        this.pvLabel.setText(" ");
+        this.requestedBoard.set(board);
+        this.search.stop();
+        LockSupport.unpark(this.searchThread);
+        this.updateTimer.start();
+    }
+/*
+Wird eine neue Stellung gezeigt, bricht die laufende Suche sofort ab und der Such-Thread beginnt mit der neuen Stellung.
+Dafür wird weder ein neuer Thread noch eine neue Suche erzeugt, die Hashtabelle bleibt erhalten.
+*/
+
+    void stopAnalysis(){
+        this.analyzedBoard = null;
+        this.requestedBoard.set(null);
+        this.search.stop();
+        this.updateTimer.stop();
+    }
+
+    private void analyzeRequestedBoards(){
+        while(true){
+            final ChessBoard board = this.requestedBoard.getAndSet(null);
+            if(board == null){
+                LockSupport.park(this);
+                continue;
+            }
+            this.search.search(board, SearchLimits.infinite(), info -> {
+                if(this.analyzedBoard != board || this.requestedBoard.get() != null){
+                    this.search.stop();
+                }
+                this.latestUpdate.set(new Update(board, info));
+            });
+        }
+    }
+/*
+Der Such-Thread läuft, solange das Programm läuft, und wartet ohne Rechenzeit, wenn es nichts zu analysieren gibt.
+Die Suche setzt beim Start ihr stop Flag zurück, ein stop() zwischen getAndSet und diesem Moment geht also verloren.
+Deshalb prüft der Listener nach jeder Iteration selbst, ob seine Stellung noch die angezeigte ist und keine neue wartet.
+Nach stopAnalysis ist analyzedBoard null, nach analyze eine andere Stellung, in beiden Fällen hört die Suche spätestens
+nach der nächsten Iteration auf.
+*/
+
+    private void showLatestUpdate(){
+        final Update update = this.latestUpdate.getAndSet(null);
+        if(update == null || update.board != this.analyzedBoard){
+            return;
+        }
+        this.evaluationBar.setScore(update.whiteScore);
+        this.infoLabel.setText(update.info);
+        this.pvLabel.setText(update.principalVariation);
+    }
+/*
+Der Timer holt höchstens alle UPDATE_INTERVAL_MILLIS das neueste Ergebnis ab. Die Suche schreibt nur in eine
+AtomicReference, so kommen auf den Event Dispatch Thread nie mehr Updates, als angezeigt werden können.
+*/
+
+    private static final class Update {
+
+        private final ChessBoard board;
+        private final int whiteScore;
+        private final String info;
+        private final String principalVariation;
+
+        Update(final ChessBoard board, final SearchInfo searchInfo){
+            this.board = board;
+            final boolean whiteToMove = board.currentPlayer().getAlliance().isWhite();
+            final int score = whiteToMove ? searchInfo.getScore() : -searchInfo.getScore();
+            this.whiteScore = searchInfo.isMateScore() ? Integer.signum(score) * EvaluationBar.MAX_SCORE : score;
+            this.info = String.format("%s   depth %d   %d nps",
+                    searchInfo.isMateScore() ? "#" + (whiteToMove ? 1 : -1) * searchInfo.getMateInMoves() :
+                            String.format("%+.2f", score / 100.0),
+                    searchInfo.getDepth(), searchInfo.getNodesPerSecond());
+            final StringBuilder builder = new StringBuilder();
+            int shownMoves = 0;
+            for(final Move move : searchInfo.getPrincipalVariation()){
+                if(shownMoves++ == MAX_SHOWN_PV_MOVES){
+                    builder.append(" ...");
+                    break;
+                }
+                if(builder.length() > 0){
+                    builder.append(' ');
+                }
+                builder.append(SanUtilities.toSan(move));
+            }
+            this.principalVariation = builder.length() == 0 ? " " : builder.toString();
+        }
+    }
+/*
+Der Text wird schon auf dem Such-Thread zusammengesetzt, der Event Dispatch Thread setzt nur noch die Labels. Bewertung
+und Matt werden aus der Sicht von Weiß angezeigt.
+*/
+
+    private static final class EvaluationBar extends JComponent {
+
+        private static final int MAX_SCORE = 1000;
+        private static final Dimension BAR_DIMENSION = new Dimension(20,40);
+        private int whiteScore;
+
+        EvaluationBar(){
+            setPreferredSize(BAR_DIMENSION);
+        }
+
+        void setScore(final int whiteScore){
+            this.whiteScore = Math.max(-MAX_SCORE, Math.min(MAX_SCORE, whiteScore));
+            repaint();
+        }
+
+        @Override
+        protected void paintComponent(final Graphics g){
+            final int whiteHeight = getHeight() * (this.whiteScore + MAX_SCORE) / (2 * MAX_SCORE);
+            g.setColor(Color.DARK_GRAY);
+            g.fillRect(0, 0, getWidth(), getHeight() - whiteHeight);
+            g.setColor(Color.WHITE);
+            g.fillRect(0, getHeight() - whiteHeight, getWidth(), whiteHeight);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.chess.gui;
+
+import javax.swing.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+final class BackgroundWorker {
+
+    private final ExecutorService executor;
+    private Future<?> pending;
+    private int generation;
+
+    BackgroundWorker(final String threadName){
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, threadName);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    <T> void submit(final Callable<T> task, final Consumer<T> resultHandler){
+        cancel();
+        final int submitted = this.generation;
+        this.pending = this.executor.submit(() -> {
+            final T result;
+            try {
+                result = task.call();
+            } catch (final InterruptedException e) {
+                return;
+            } catch (final Exception e) {
+                SwingUtilities.invokeLater(() -> {
+                    throw new IllegalStateException("Background task failed", e);
+                });
+                return;
+            }
+            SwingUtilities.invokeLater(() -> {
+                if(submitted == this.generation){
+                    this.pending = null;
+                    resultHandler.accept(result);
+                }
+            });
+        });
+    }
+/*
+Die Aufgabe läuft auf dem eigenen Thread des Workers, auf den Event Dispatch Thread kommt nur das fertige Ergebnis.
+Jede neue Aufgabe bricht die vorherige ab. Weil eine abgebrochene Aufgabe ihr Ergebnis trotzdem noch schicken kann, wird
+es über die Generation erkannt und verworfen.
+*/
+
+    void cancel(){
+        this.generation++;
+        if(this.pending != null){
+            this.pending.cancel(true);
+            this.pending = null;
+        }
+    }
+
+    boolean isBusy(){
+        return this.pending != null;
+    }
+}
+/*
+Ein BackgroundWorker wird nur vom Event Dispatch Thread aus benutzt, deshalb brauchen pending und generation keine
+Synchronisation.
+*/
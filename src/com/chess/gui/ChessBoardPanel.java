@@ -0,0 +1,178 @@
+package com.chess.gui;
+
+import com.chess.engine.board.BoardUtils;
+import com.chess.engine.board.ChessBoard;
+import com.chess.engine.board.Move;
+import com.chess.engine.pieces.ChessPiece;
+import com.chess.gui.Table.BoardDirection;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.Collection;
+
+class ChessBoardPanel extends JComponent {
+
+    private static final Dimension BOARD_PANEL_DIMENSION = new Dimension(400,350);
+    private static final Color LIGHT_TILE_COLOR = Color.decode("#FFFACD");
+    private static final Color DARK_TILE_COLOR = Color.decode("#593E1A");
+
+    private final ChessPiece[] pieces;
+    private final boolean[] highlights;
+    private final ChessPiece[] drawnPieces;
+    private final boolean[] drawnHighlights;
+    private PieceIconCache pieceIcons;
+    private BoardDirection boardDirection;
+    private BufferedImage backBuffer;
+    private boolean backBufferValid;
+
+    interface TileClickListener {
+        void tileClicked(int tileCoordinate, MouseEvent event);
+    }
+
+    ChessBoardPanel(final PieceIconCache pieceIcons, final TileClickListener clickListener){
+        this.pieces = new ChessPiece[BoardUtils.NUM_TILES];
+        this.highlights = new boolean[BoardUtils.NUM_TILES];
+        this.drawnPieces = new ChessPiece[BoardUtils.NUM_TILES];
+        this.drawnHighlights = new boolean[BoardUtils.NUM_TILES];
+        this.pieceIcons = pieceIcons;
+        this.boardDirection = BoardDirection.NORMAL;
+        setPreferredSize(BOARD_PANEL_DIMENSION);
+        setOpaque(true);
+        addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(final MouseEvent e) {
+                final int tileCoordinate = tileAt(e.getX(), e.getY());
+                if(tileCoordinate != -1){
+                    clickListener.tileClicked(tileCoordinate, e);
+                }
+            }
+        });
+    }
+
+    void setPieceIcons(final PieceIconCache pieceIcons){
+        this.pieceIcons = pieceIcons;
+        invalidateBackBuffer();
+    }
+
+    void setBoardDirection(final BoardDirection boardDirection){
+        this.boardDirection = boardDirection;
+        invalidateBackBuffer();
+    }
+
+    void drawBoard(final ChessBoard board, final Collection<Move> highlightedMoves){
+        Arrays.fill(this.highlights, false);
+        for(final Move move : highlightedMoves){
+            this.highlights[move.getDestinationCoordinate()] = true;
+        }
+        for(int i = 0; i < BoardUtils.NUM_TILES; i++){
+            this.pieces[i] = board.getTile(i).getPiece();
+        }
+        if(!this.backBufferValid){
+            repaint();
+            return;
+        }
+        final Graphics2D graphics = this.backBuffer.createGraphics();
+        try {
+            for(int i = 0; i < BoardUtils.NUM_TILES; i++){
+                if(this.pieces[i] != this.drawnPieces[i] || this.highlights[i] != this.drawnHighlights[i]){
+                    final Rectangle bounds = tileBounds(i);
+                    paintTile(graphics, i, bounds);
+                    repaint(bounds);
+                }
+            }
+        } finally {
+            graphics.dispose();
+        }
+    }
+/*
+Für jedes Feld wird gemerkt, welche Figur und welche Markierung zuletzt in den Back Buffer gezeichnet wurde. Nach einem
+Zug unterscheiden sich davon nur das Start- und das Zielfeld, bei der Rochade und beim en passant noch ein oder zwei
+mehr. Nur diese Felder werden neu in den Back Buffer gezeichnet und mit repaint(Rectangle) als beschädigt gemeldet, Swing
+kopiert dann nur diese Rechtecke auf den Bildschirm. Unveränderte Figuren sind nach Move.execute() dieselben Objekte,
+deshalb reicht der Vergleich der Referenzen.
+*/
+
+    @Override
+    protected void paintComponent(final Graphics g){
+        if(this.backBuffer == null ||
+           this.backBuffer.getWidth() != getWidth() ||
+           this.backBuffer.getHeight() != getHeight()){
+            if(getWidth() <= 0 || getHeight() <= 0){
+                return;
+            }
+            this.backBuffer = new BufferedImage(getWidth(), getHeight(), BufferedImage.TYPE_INT_RGB);
+            this.backBufferValid = false;
+        }
+        if(!this.backBufferValid){
+            final Graphics2D graphics = this.backBuffer.createGraphics();
+            try {
+                for(int i = 0; i < BoardUtils.NUM_TILES; i++){
+                    paintTile(graphics, i, tileBounds(i));
+                }
+            } finally {
+                graphics.dispose();
+            }
+            this.backBufferValid = true;
+        }
+        g.drawImage(this.backBuffer, 0, 0, null);
+    }
+/*
+Der Back Buffer wird nur ganz neu gezeichnet, wenn sich die Größe, die Blickrichtung oder die Figurenbilder geändert
+haben. Sonst wird er nur kopiert, und Swing beschränkt das Kopieren auf die beschädigten Rechtecke.
+*/
+
+    private void paintTile(final Graphics2D graphics, final int tileCoordinate, final Rectangle bounds){
+        final int row = tileCoordinate / BoardUtils.NUM_TILES_PER_ROW;
+        final int column = tileCoordinate % BoardUtils.NUM_TILES_PER_ROW;
+        graphics.setColor((row + column) % 2 == 0 ? LIGHT_TILE_COLOR : DARK_TILE_COLOR);
+        graphics.fillRect(bounds.x, bounds.y, bounds.width, bounds.height);
+        final ChessPiece piece = this.pieces[tileCoordinate];
+        if(piece != null){
+            paintCentered(graphics, this.pieceIcons.getIcon(piece), bounds);
+        }
+        if(this.highlights[tileCoordinate]){
+            paintCentered(graphics, this.pieceIcons.getLegalMoveIcon(), bounds);
+        }
+        this.drawnPieces[tileCoordinate] = piece;
+        this.drawnHighlights[tileCoordinate] = this.highlights[tileCoordinate];
+    }
+
+    private void paintCentered(final Graphics2D graphics, final ImageIcon icon, final Rectangle bounds){
+        graphics.drawImage(icon.getImage(),
+                bounds.x + (bounds.width - icon.getIconWidth()) / 2,
+                bounds.y + (bounds.height - icon.getIconHeight()) / 2, null);
+    }
+
+    private Rectangle tileBounds(final int tileCoordinate){
+        final int screenIndex = this.boardDirection.traverse(tileCoordinate);
+        final int row = screenIndex / BoardUtils.NUM_TILES_PER_ROW;
+        final int column = screenIndex % BoardUtils.NUM_TILES_PER_ROW;
+        final int x = column * getWidth() / BoardUtils.NUM_TILES_PER_ROW;
+        final int y = row * getHeight() / BoardUtils.NUM_TILES_PER_ROW;
+        return new Rectangle(x, y,
+                (column + 1) * getWidth() / BoardUtils.NUM_TILES_PER_ROW - x,
+                (row + 1) * getHeight() / BoardUtils.NUM_TILES_PER_ROW - y);
+    }
+
+    private int tileAt(final int x, final int y){
+        if(x < 0 || y < 0 || x >= getWidth() || y >= getHeight()){
+            return -1;
+        }
+        final int column = x * BoardUtils.NUM_TILES_PER_ROW / getWidth();
+        final int row = y * BoardUtils.NUM_TILES_PER_ROW / getHeight();
+        return this.boardDirection.traverse(row * BoardUtils.NUM_TILES_PER_ROW + column);
+    }
+
+    private void invalidateBackBuffer(){
+        this.backBufferValid = false;
+        repaint();
+    }
+}
+/*
+Das ChessBoardPanel ersetzt die 64 TilePanels. Es ist eine einzige Komponente ohne Layout, die Felder, Figuren und
+Markierungen selbst mit Java2D zeichnet.
+*/
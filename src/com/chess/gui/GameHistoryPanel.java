@@ -2,27 +2,51 @@ package com.chess.gui;
 
 import com.chess.engine.board.ChessBoard;
 import com.chess.engine.board.Move;
+import com.chess.engine.pgn.SanUtilities;
 
 import javax.swing.*;
+import javax.swing.event.ListSelectionEvent;
+import javax.swing.event.ListSelectionListener;
 import javax.swing.table.DefaultTableModel;
 
 
 import java.awt.*;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.IntConsumer;
 
 import static com.chess.gui.Table.*;
 
 public class GameHistoryPanel extends JPanel {
     private final DataModel model;
+    private final JTable table;
     private final JScrollPane scrollPane;
+    private final List<Move> notatedMoves;
+    private final List<String> notations;
+    private int firstMoveOffset;
+    private IntConsumer plySelectionListener;
+    private boolean selectingPly;
     private static final Dimension HISTORY_PANEL_DIMENSION = new Dimension(100,400);
 
     GameHistoryPanel(){
         this.setLayout(new BorderLayout());
         this.model = new DataModel();
-        final JTable table = new JTable(model);
+        this.notatedMoves = new ArrayList<>();
+        this.notations = new ArrayList<>();
+        this.table = new JTable(model);
         table.setRowHeight(15);
+        table.setCellSelectionEnabled(true);
+        table.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        final ListSelectionListener selectionListener = new ListSelectionListener() {
+            @Override
+            public void valueChanged(final ListSelectionEvent e) {
+                if(!e.getValueIsAdjusting()){
+                    selectionChanged();
+                }
+            }
+        };
+        table.getSelectionModel().addListSelectionListener(selectionListener);
+        table.getColumnModel().getSelectionModel().addListSelectionListener(selectionListener);
         this.scrollPane = new JScrollPane(table);
         scrollPane.setColumnHeaderView(table.getTableHeader());
         scrollPane.setPreferredSize(HISTORY_PANEL_DIMENSION);
@@ -31,39 +55,88 @@ public class GameHistoryPanel extends JPanel {
     }
 
     void redo(final ChessBoard board, final MoveLog moveHistory){
-        int currentRow =0;
-        this.model.clear();
-        for(final Move move : moveHistory.getMoves()){
-            final String moveText = move.toString();
-            if(move.getMovedPiece().getPieceAlliance().isWhite()){
-                this.model.setValueAt(moveText, currentRow, 0);
-            }else if(move.getMovedPiece().getPieceAlliance().isBlack()){
-                this.model.setValueAt(moveText, currentRow, 1);
-                currentRow++;
-            }
+        final List<Move> moves = moveHistory.getMoves();
+        int cached = 0;
+        while(cached < this.notatedMoves.size() && cached < moves.size() &&
+              this.notatedMoves.get(cached) == moves.get(cached)){
+            cached++;
+        }
+        if(cached == 0){
+            this.model.clear();
+            this.firstMoveOffset = moves.isEmpty() || moves.get(0).getMovedPiece().getPieceAlliance().isWhite() ? 0 : 1;
+        }else if(cached < this.notatedMoves.size()){
+            this.model.truncate(rowOf(cached), columnOf(cached));
+        }
+        truncate(this.notatedMoves, cached);
+        truncate(this.notations, cached);
+        for(int i = cached; i < moves.size(); i++){
+            final ChessBoard transitionBoard = i + 1 < moves.size() ? moves.get(i + 1).getBoard() : board;
+            final String notation = SanUtilities.toSan(moves.get(i), transitionBoard);
+            this.notatedMoves.add(moves.get(i));
+            this.notations.add(notation);
+            this.model.setValueAt(notation, rowOf(i), columnOf(i));
+        }
+        if(cached < moves.size()){
+            final JScrollBar vertical = scrollPane.getVerticalScrollBar();
+            vertical.setValue(vertical.getMaximum());
         }
+    }
+/*
+Die SAN Notation wird für jeden Zug nur einmal berechnet und zwischengespeichert. Das Board nach einem Zug ist das Board
+des folgenden Zuges, nur für den letzten Zug wird das aktuelle Board benutzt.
+Die Tabelle wird nicht mehr neu aufgebaut: neue Züge werden nur angehängt. Wurde ein anderes Spiel geladen oder wurden
+Züge zurückgenommen, werden die Zeilen ab dem ersten abweichenden Zug entfernt.
+*/
+
+    void setPlySelectionListener(final IntConsumer plySelectionListener){
+        this.plySelectionListener = plySelectionListener;
+    }
 
-        if(moveHistory.getMoves().size() > 0){
-            final Move lastMove = moveHistory.getMoves().get(moveHistory.size()-1);
-            final String moveText = lastMove.toString();
-
-            if(lastMove.getMovedPiece().getPieceAlliance().isWhite()){
-                this.model.setValueAt(moveText + calculateCheckAndCheckMateHash(board), currentRow,0);
-            }else if(lastMove.getMovedPiece().getPieceAlliance().isBlack()){
-                this.model.setValueAt(moveText + calculateCheckAndCheckMateHash(board), currentRow-1,1);
+    void selectPly(final int ply){
+        this.selectingPly = true;
+        try {
+            if(ply == 0){
+                this.table.clearSelection();
+            }else{
+                this.table.changeSelection(rowOf(ply - 1), columnOf(ply - 1), false, false);
             }
+        } finally {
+            this.selectingPly = false;
         }
-        final JScrollBar vertical = scrollPane.getVerticalScrollBar();
-        vertical.setValue(vertical.getMaximum());
     }
+/*
+Markiert wird der Zug, der zuletzt vor der gezeigten Stellung gespielt wurde. Bei der Ausgangsstellung ist nichts
+markiert.
+*/
 
-    private String calculateCheckAndCheckMateHash(final ChessBoard board) {
-        if(board.currentPlayer().isInCheckMate()){
-            return "#";
-        }else if(board.currentPlayer().isInCheck()){
-            return "+";
+    private void selectionChanged(){
+        final int row = this.table.getSelectedRow();
+        final int column = this.table.getSelectedColumn();
+        if(this.selectingPly || this.plySelectionListener == null || row < 0 || column < 0){
+            return;
         }
-        return "";
+        final int ply = row * 2 + column - this.firstMoveOffset;
+        if(ply >= 0 && ply < this.notatedMoves.size()){
+            this.plySelectionListener.accept(ply + 1);
+        }
+    }
+/*
+Ein Klick auf einen Zug oder die Pfeiltasten in der Tabelle zeigen die Stellung nach diesem Zug.
+*/
+
+    private int rowOf(final int ply){
+        return (ply + this.firstMoveOffset) / 2;
+    }
+
+    private int columnOf(final int ply){
+        return (ply + this.firstMoveOffset) % 2;
+    }
+/*
+Beginnt ein Spiel aus einer FEN Stellung mit einem Zug von Schwarz, bleibt das weiße Feld der ersten Zeile leer.
+*/
+
+    private static <T> void truncate(final List<T> list, final int size){
+        list.subList(size, list.size()).clear();
     }
 
     private static class DataModel extends DefaultTableModel{
@@ -79,6 +152,20 @@ public class GameHistoryPanel extends JPanel {
             setRowCount(0);
         }
 
+        void truncate(final int row, final int column){
+            if(row < this.values.size()){
+                final int removedRows = this.values.size() - (column == 0 ? row : row + 1);
+                this.values.subList(this.values.size() - removedRows, this.values.size()).clear();
+                if(removedRows > 0){
+                    fireTableRowsDeleted(this.values.size(), this.values.size() + removedRows - 1);
+                }
+                if(column == 1){
+                    this.values.get(row).setBlackMove(null);
+                    fireTableCellUpdated(row, column);
+                }
+            }
+        }
+
         @Override
         public int getRowCount(){
             if(this.values == null){
@@ -106,7 +193,8 @@ public class GameHistoryPanel extends JPanel {
         @Override
         public void setValueAt(final Object aValue, final int row, final int column){
             final Row currentRow;
-            if(this.values.size() <= row){
+            final boolean inserted = this.values.size() <= row;
+            if(inserted){
                 currentRow = new Row();
                 this.values.add(currentRow);
             }else {
@@ -114,11 +202,13 @@ public class GameHistoryPanel extends JPanel {
             }
             if(column == 0){
                 currentRow.setWhiteMove((String) aValue);
-                fireTableRowsInserted(row, row);
             }else if(column == 1){
                 currentRow.setBlackMove((String)aValue);
+            }
+            if(inserted){
+                fireTableRowsInserted(row, row);
+            }else{
                 fireTableCellUpdated(row, column);
-
             }
         }
 
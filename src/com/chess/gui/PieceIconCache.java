@@ -0,0 +1,109 @@
+package com.chess.gui;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.pieces.ChessPiece;
+
+import javax.imageio.ImageIO;
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+final class PieceIconCache {
+
+    static final String DEFAULT_ART_SET = "art/stockfish/";
+    private static final String LEGAL_MOVE_IMAGE = "art/misc/green_dot.png";
+    private static final int PIECE_TYPES = ChessPiece.PieceType.values().length;
+    private static final Map<String, PieceIconCache> LOADED_ART_SETS = new ConcurrentHashMap<>();
+
+    private final String artSet;
+    private final ImageIcon[] icons;
+    private final ImageIcon legalMoveIcon;
+    private final Map<Integer, PieceIconCache> scaledCaches;
+
+    private PieceIconCache(final String artSet, final ImageIcon[] icons, final ImageIcon legalMoveIcon){
+        this.artSet = artSet;
+        this.icons = icons;
+        this.legalMoveIcon = legalMoveIcon;
+        this.scaledCaches = new ConcurrentHashMap<>();
+    }
+
+    static PieceIconCache get(final String artSet){
+        return LOADED_ART_SETS.computeIfAbsent(artSet, PieceIconCache::load);
+    }
+/*
+Jedes Set von Figurenbildern wird nur einmal von der Festplatte gelesen und danach für alle Panels wiederverwendet.
+Die Arrays werden nach dem Laden nie mehr verändert, deshalb kann der Cache ohne Locks aus jedem Thread gelesen werden.
+*/
+
+    private static PieceIconCache load(final String artSet){
+        final ImageIcon[] icons = new ImageIcon[Alliance.values().length * PIECE_TYPES];
+        for(final Alliance alliance : Alliance.values()){
+            for(final ChessPiece.PieceType pieceType : ChessPiece.PieceType.values()){
+                icons[index(alliance, pieceType)] = new ImageIcon(readImage(artSet +
+                        alliance.toString().charAt(0) + pieceType + ".gif"));
+            }
+        }
+        return new PieceIconCache(artSet, icons, new ImageIcon(readImage(LEGAL_MOVE_IMAGE)));
+    }
+
+    private static BufferedImage readImage(final String path){
+        try {
+            final BufferedImage image = ImageIO.read(new File(path));
+            if(image == null){
+                throw new IOException("Unsupported image format: " + path);
+            }
+            return image;
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    PieceIconCache scaled(final int size){
+        return this.scaledCaches.computeIfAbsent(size, key -> {
+            final ImageIcon[] scaledIcons = new ImageIcon[this.icons.length];
+            for(int i = 0; i < this.icons.length; i++){
+                scaledIcons[i] = scaleIcon(this.icons[i], size);
+            }
+            return new PieceIconCache(this.artSet, scaledIcons, scaleIcon(this.legalMoveIcon, size));
+        });
+    }
+/*
+Skalierte Bilder werden einmal in ein neues BufferedImage gezeichnet. getScaledInstance würde dagegen ein Bild liefern,
+das bei jedem Zeichnen neu skaliert wird.
+*/
+
+    private static ImageIcon scaleIcon(final ImageIcon icon, final int size){
+        final BufferedImage image = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
+        final Graphics2D graphics = image.createGraphics();
+        graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+        graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        graphics.drawImage(icon.getImage(), 0, 0, size, size, null);
+        graphics.dispose();
+        return new ImageIcon(image);
+    }
+
+    private static int index(final Alliance alliance, final ChessPiece.PieceType pieceType){
+        return alliance.ordinal() * PIECE_TYPES + pieceType.ordinal();
+    }
+
+    ImageIcon getIcon(final ChessPiece piece){
+        return this.icons[index(piece.getPieceAlliance(), piece.getPieceType())];
+    }
+
+    ImageIcon getLegalMoveIcon(){
+        return this.legalMoveIcon;
+    }
+
+    int getIconSize(){
+        return this.icons[0].getIconWidth();
+    }
+
+    String getArtSet(){
+        return this.artSet;
+    }
+}
@@ -4,28 +4,36 @@ import com.chess.engine.board.BoardUtils;
 import com.chess.engine.board.ChessBoard;
 import com.chess.engine.board.ChessTile;
 import com.chess.engine.board.Move;
+import com.chess.engine.pgn.BinaryGameReader;
+import com.chess.engine.pgn.BinaryGameWriter;
+import com.chess.engine.pgn.Game;
+import com.chess.engine.pgn.GameRecord;
+import com.chess.engine.pgn.GameReplay;
+import com.chess.engine.pgn.PGNUtilities;
 import com.chess.engine.pieces.ChessPiece;
 import com.chess.engine.player.MoveTransition;
+import com.chess.engine.player.ai.AlphaBetaSearch;
+import com.chess.engine.player.ai.SearchLimits;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterables;
-import com.google.common.collect.Lists;
 
-import javax.imageio.ImageIO;
 import javax.swing.*;
 import javax.swing.border.Border;
+import javax.swing.filechooser.FileNameExtensionFilter;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.awt.event.KeyEvent;
 import java.awt.event.MouseEvent;
-import java.awt.event.MouseListener;
-import java.awt.image.BufferedImage;
-import java.io.File;
-import java.io.IOException;
+import java.io.*;
 import java.nio.ByteOrder;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.IntSupplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static com.chess.engine.board.Move.*;
 import static com.chess.engine.board.Move.MoveFactory.*;
@@ -37,20 +45,30 @@ public class Table {
     private final JFrame gameFrame;
     private final GameHistoryPanel gameHistoryPanel;
     private final TakenPiecesPanel takenPiecesPanel;
-    private final BoardPanel boardPanel;
+    private final AnalysisPanel analysisPanel;
+    private final ChessBoardPanel boardPanel;
     private final MoveLog moveLog;
+    private ChessBoard startBoard;
     private ChessBoard chessBoard;
     private ChessTile sourceTile;
     private ChessTile destinationTile;
     private ChessPiece humanMovedPiece;
     private BoardDirection boardDirection;
     private boolean highlightLegalMoves;
+    private boolean liveAnalysis;
+    private int viewedPly;
+    private boolean whiteComputerPlayer;
+    private boolean blackComputerPlayer;
+    private final AlphaBetaSearch engine;
+    private final BackgroundWorker moveWorker;
+    private final BackgroundWorker legalMovesWorker;
+    private final BackgroundWorker engineWorker;
+    private PieceIconCache pieceIcons;
     private final static Dimension OUTER_FRAME_DIMENSION = new Dimension(600,600);
-    private final static Dimension BOARD_PANEL_DIMENSION = new Dimension(400,350);
-    private final static Dimension TILE_PANEL_DIMENSION = new Dimension(10,10);
-    private static String defaultPieceImagePath = "art/stockfish/";
-    private final Color lightTileColor = Color.decode("#FFFACD");
-    private final Color darkTileColor = Color.decode("#593E1A");
+    private final static int MAX_LISTED_GAMES = 500;
+    private final static SearchLimits COMPUTER_LIMITS = SearchLimits.moveTime(2000);
+    private final static String GAME_FILE_EXTENSION = "jcg";
+    private final static String[] ART_SETS = {"art/stockfish/", "art/simple/", "art/fancy/", "art/fancy2/", "art/holywarriors/"};
 
     public Table() {
         this.gameFrame = new JFrame("JavaChess");
@@ -59,15 +77,31 @@ public class Table {
         this.gameFrame.setJMenuBar(tableMenuBar);
         this.gameFrame.setSize(OUTER_FRAME_DIMENSION);
         this.chessBoard = ChessBoard.createStandardBoard();
+        this.startBoard = this.chessBoard;
+        this.pieceIcons = PieceIconCache.get(PieceIconCache.DEFAULT_ART_SET);
         this.gameHistoryPanel = new GameHistoryPanel();
-        this.takenPiecesPanel = new TakenPiecesPanel();
-        this.boardPanel = new BoardPanel();
+        this.gameHistoryPanel.setPlySelectionListener(this::showPly);
+        this.takenPiecesPanel = new TakenPiecesPanel(this.pieceIcons);
+        this.boardPanel = new ChessBoardPanel(this.pieceIcons, new ChessBoardPanel.TileClickListener() {
+            @Override
+            public void tileClicked(final int tileCoordinate, final MouseEvent e) {
+                handleTileClick(tileCoordinate, e);
+            }
+        });
         this.moveLog = new MoveLog();
         this.boardDirection = BoardDirection.NORMAL;
         this.highlightLegalMoves = true;
+        this.engine = new AlphaBetaSearch(COMPUTER_LIMITS);
+        this.moveWorker = new BackgroundWorker("gui-move");
+        this.legalMovesWorker = new BackgroundWorker("gui-legal-moves");
+        this.engineWorker = new BackgroundWorker("gui-engine");
         this.gameFrame.add(this.takenPiecesPanel, BorderLayout.WEST);
         this.gameFrame.add(this.boardPanel, BorderLayout.CENTER);
         this.gameFrame.add(this.gameHistoryPanel, BorderLayout.EAST);
+        this.analysisPanel = new AnalysisPanel();
+        this.analysisPanel.setVisible(false);
+        this.gameFrame.add(this.analysisPanel, BorderLayout.SOUTH);
+        drawBoard();
         this.gameFrame.setVisible(true);
     }
 
@@ -75,6 +109,7 @@ public class Table {
         final JMenuBar tableMenuBar = new JMenuBar();
         tableMenuBar.add(createFileMenu());
         tableMenuBar.add(createPreferencesMenu());
+        tableMenuBar.add(createNavigationMenu());
         return tableMenuBar;
     }
 
@@ -84,11 +119,41 @@ public class Table {
         openPGN.addActionListener(new ActionListener() {
             @Override
             public void actionPerformed(final ActionEvent e) {
-                System.out.println("open up that PGN File!");
+                final JFileChooser chooser = new JFileChooser(".");
+                chooser.setFileFilter(new FileNameExtensionFilter("PGN Files", "pgn"));
+                if(chooser.showOpenDialog(gameFrame) == JFileChooser.APPROVE_OPTION){
+                    loadPGNFile(chooser.getSelectedFile());
+                }
             }
         });
         fileMenu.add(openPGN);
 
+        final JMenuItem saveGameMenuItem = new JMenuItem("Save Game");
+        saveGameMenuItem.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(final ActionEvent e) {
+                final JFileChooser chooser = new JFileChooser(".");
+                chooser.setFileFilter(new FileNameExtensionFilter("JavaChess Games", GAME_FILE_EXTENSION));
+                if(chooser.showSaveDialog(gameFrame) == JFileChooser.APPROVE_OPTION){
+                    saveGameFile(chooser.getSelectedFile());
+                }
+            }
+        });
+        fileMenu.add(saveGameMenuItem);
+
+        final JMenuItem loadGameMenuItem = new JMenuItem("Load Game");
+        loadGameMenuItem.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(final ActionEvent e) {
+                final JFileChooser chooser = new JFileChooser(".");
+                chooser.setFileFilter(new FileNameExtensionFilter("JavaChess Games", GAME_FILE_EXTENSION));
+                if(chooser.showOpenDialog(gameFrame) == JFileChooser.APPROVE_OPTION){
+                    loadGameFile(chooser.getSelectedFile());
+                }
+            }
+        });
+        fileMenu.add(loadGameMenuItem);
+
         final JMenuItem exitMenuItem = new JMenuItem("Exit");
         exitMenuItem.addActionListener(new ActionListener() {
             @Override
@@ -101,6 +166,135 @@ public class Table {
         return fileMenu;
     }
 
+    private void loadPGNFile(final File pgnFile){
+        final List<Game> games;
+        try(final Stream<Game> gameStream = PGNUtilities.readGames(pgnFile.toPath())){
+            games = gameStream.limit(MAX_LISTED_GAMES).collect(Collectors.toList());
+        }catch(final IOException | UncheckedIOException e){
+            JOptionPane.showMessageDialog(this.gameFrame, "Could not read " + pgnFile.getName() + ": " + e.getMessage(),
+                    "Load PGN File", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+        if(games.isEmpty()){
+            JOptionPane.showMessageDialog(this.gameFrame, "No games found in " + pgnFile.getName(),
+                    "Load PGN File", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+        final Game selectedGame = games.size() == 1 ? games.get(0) :
+                (Game) JOptionPane.showInputDialog(this.gameFrame, "Select a game", "Load PGN File",
+                        JOptionPane.PLAIN_MESSAGE, null, games.toArray(), games.get(0));
+        if(selectedGame != null){
+            final GameReplay replay = selectedGame.replay();
+            loadGame(replay.getStartBoard(), replay.getMoves(), replay.getFinalBoard());
+            if(!replay.isValid()){
+                JOptionPane.showMessageDialog(this.gameFrame, "Illegal move " + replay.getIllegalMove() +
+                        " at ply " + (replay.getIllegalMovePly() + 1) + ", the game was loaded up to this move.",
+                        "Load PGN File", JOptionPane.WARNING_MESSAGE);
+            }
+        }
+    }
+/*
+Es werden nur die ersten MAX_LISTED_GAMES Spiele aus der Datei gelesen, damit auch bei riesigen Dateien nicht alles in
+den Speicher geladen wird. Das ausgewählte Spiel wird dann über Player.makeMove nachgespielt.
+*/
+
+    private void saveGameFile(final File selectedFile){
+        final File gameFile = selectedFile.getName().endsWith("." + GAME_FILE_EXTENSION) ? selectedFile :
+                new File(selectedFile.getPath() + "." + GAME_FILE_EXTENSION);
+        try(final DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(gameFile)))){
+            new BinaryGameWriter(output).write(this.startBoard, this.moveLog.getMoves(),
+                    calculateOutcome(this.chessBoard));
+        }catch(final IOException e){
+            JOptionPane.showMessageDialog(this.gameFrame, "Could not save " + gameFile.getName() + ": " + e.getMessage(),
+                    "Save Game", JOptionPane.ERROR_MESSAGE);
+        }
+    }
+
+    private void loadGameFile(final File gameFile){
+        try(final DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(gameFile)))){
+            final GameRecord record = new BinaryGameReader(input).read();
+            if(record != null){
+                loadGame(record.getStartBoard(), record.getMoves(), record.getFinalBoard());
+            }
+        }catch(final IOException | RuntimeException e){
+            JOptionPane.showMessageDialog(this.gameFrame, "Could not load " + gameFile.getName() + ": " + e.getMessage(),
+                    "Load Game", JOptionPane.ERROR_MESSAGE);
+        }
+    }
+
+    private static String calculateOutcome(final ChessBoard board){
+        if(board.currentPlayer().isInCheckMate()){
+            return board.currentPlayer().getAlliance().isWhite() ? "0-1" : "1-0";
+        }
+        if(board.currentPlayer().isInStaleMate() || board.isThreefoldRepetition() || board.isFiftyMoveRule()){
+            return "1/2-1/2";
+        }
+        return "*";
+    }
+
+    private void loadGame(final ChessBoard startBoard, final List<Move> moves, final ChessBoard finalBoard){
+        stopComputerMove();
+        this.moveWorker.cancel();
+        this.moveLog.clear();
+        for(final Move move : moves){
+            this.moveLog.addMove(move);
+        }
+        this.startBoard = startBoard;
+        this.chessBoard = finalBoard;
+        this.viewedPly = this.moveLog.size();
+        clearSelection();
+        this.gameHistoryPanel.redo(this.chessBoard, this.moveLog);
+        this.gameHistoryPanel.selectPly(this.viewedPly);
+        this.takenPiecesPanel.redo(this.moveLog, this.boardDirection);
+        drawBoard();
+        startComputerMove();
+    }
+
+    private JMenu createNavigationMenu(){
+        final JMenu navigationMenu = new JMenu("Navigate");
+        navigationMenu.add(createNavigationMenuItem("First Move", KeyEvent.VK_HOME, () -> 0));
+        navigationMenu.add(createNavigationMenuItem("Previous Move", KeyEvent.VK_LEFT, () -> this.viewedPly - 1));
+        navigationMenu.add(createNavigationMenuItem("Next Move", KeyEvent.VK_RIGHT, () -> this.viewedPly + 1));
+        navigationMenu.add(createNavigationMenuItem("Last Move", KeyEvent.VK_END, () -> this.moveLog.size()));
+        return navigationMenu;
+    }
+
+    private JMenuItem createNavigationMenuItem(final String name, final int keyCode, final IntSupplier targetPly){
+        final JMenuItem menuItem = new JMenuItem(name);
+        menuItem.setAccelerator(KeyStroke.getKeyStroke(keyCode, 0));
+        menuItem.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(final ActionEvent e) {
+                showPly(targetPly.getAsInt());
+            }
+        });
+        return menuItem;
+    }
+
+    private void showPly(final int ply){
+        final int clampedPly = Math.max(0, Math.min(ply, this.moveLog.size()));
+        if(clampedPly == this.viewedPly){
+            return;
+        }
+        this.viewedPly = clampedPly;
+        clearSelection();
+        this.gameHistoryPanel.selectPly(clampedPly);
+        drawBoard();
+    }
+/*
+Die Stellung vor jedem Zug hängt als unveränderliches Board schon am Zug selbst, Move.getBoard() liefert sie ohne
+Nachspielen. Jeder Sprung kostet deshalb gleich viel, egal wie lang die Partie ist, und das Brett zeichnet nur die
+Felder neu, die sich zwischen den beiden Stellungen unterscheiden.
+*/
+
+    private ChessBoard displayedBoard(){
+        return isViewingLastPly() ? this.chessBoard : this.moveLog.getMoves().get(this.viewedPly).getBoard();
+    }
+
+    private boolean isViewingLastPly(){
+        return this.viewedPly == this.moveLog.size();
+    }
+
     private JMenu createPreferencesMenu(){
         final JMenu preferencesMenu = new JMenu("Preferences");
         final JMenuItem flipBoardMenuItem = new JMenuItem("Flip Board");
@@ -108,7 +302,7 @@ public class Table {
             @Override
             public void actionPerformed(final ActionEvent e) {
                 boardDirection = boardDirection.opposite();
-                boardPanel.drawBoard(chessBoard);
+                boardPanel.setBoardDirection(boardDirection);
                 takenPiecesPanel.redo(moveLog, boardDirection);
             }
         });
@@ -120,17 +314,211 @@ public class Table {
             @Override
             public void actionPerformed(ActionEvent e) {
                 highlightLegalMoves = legalMoveHighlighterCheckBox.isSelected();
+                drawBoard();
             }
         });
         preferencesMenu.add(legalMoveHighlighterCheckBox);
+
+        final JCheckBoxMenuItem liveAnalysisCheckBox = new JCheckBoxMenuItem("Live Analysis", false);
+        liveAnalysisCheckBox.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(final ActionEvent e) {
+                setLiveAnalysis(liveAnalysisCheckBox.isSelected());
+            }
+        });
+        preferencesMenu.add(liveAnalysisCheckBox);
+        preferencesMenu.addSeparator();
+
+        final JMenu pieceArtMenu = new JMenu("Piece Art");
+        final ButtonGroup pieceArtGroup = new ButtonGroup();
+        for(final String artSet : ART_SETS){
+            final JRadioButtonMenuItem artSetMenuItem = new JRadioButtonMenuItem(new File(artSet).getName(),
+                    artSet.equals(this.pieceIcons.getArtSet()));
+            artSetMenuItem.addActionListener(new ActionListener() {
+                @Override
+                public void actionPerformed(final ActionEvent e) {
+                    setPieceArt(artSet);
+                }
+            });
+            pieceArtGroup.add(artSetMenuItem);
+            pieceArtMenu.add(artSetMenuItem);
+        }
+        preferencesMenu.add(pieceArtMenu);
+        preferencesMenu.addSeparator();
+
+        final JCheckBoxMenuItem whiteComputerCheckBox = new JCheckBoxMenuItem("Computer Plays White", false);
+        whiteComputerCheckBox.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(final ActionEvent e) {
+                whiteComputerPlayer = whiteComputerCheckBox.isSelected();
+                restartComputerMove();
+            }
+        });
+        preferencesMenu.add(whiteComputerCheckBox);
+
+        final JCheckBoxMenuItem blackComputerCheckBox = new JCheckBoxMenuItem("Computer Plays Black", false);
+        blackComputerCheckBox.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(final ActionEvent e) {
+                blackComputerPlayer = blackComputerCheckBox.isSelected();
+                restartComputerMove();
+            }
+        });
+        preferencesMenu.add(blackComputerCheckBox);
         return preferencesMenu;
     }
 
+    private void setLiveAnalysis(final boolean liveAnalysis){
+        this.liveAnalysis = liveAnalysis;
+        this.analysisPanel.setVisible(liveAnalysis);
+        if(liveAnalysis){
+            this.analysisPanel.analyze(this.chessBoard);
+        }else{
+            this.analysisPanel.stopAnalysis();
+        }
+        this.gameFrame.validate();
+    }
+
+    private void restartComputerMove(){
+        stopComputerMove();
+        clearSelection();
+        drawBoard();
+        startComputerMove();
+    }
+
+    private void setPieceArt(final String artSet){
+        try {
+            this.pieceIcons = PieceIconCache.get(artSet);
+        }catch(final UncheckedIOException e){
+            JOptionPane.showMessageDialog(this.gameFrame, "Could not load " + artSet + ": " + e.getMessage(),
+                    "Piece Art", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+        this.takenPiecesPanel.setPieceIcons(this.pieceIcons);
+        this.takenPiecesPanel.redo(this.moveLog, this.boardDirection);
+        this.boardPanel.setPieceIcons(this.pieceIcons);
+    }
+/*
+Jedes Set wird beim ersten Auswählen einmal geladen und bleibt danach im PieceIconCache, ein späteres Umschalten liest
+nichts mehr von der Festplatte.
+*/
+
+    private void handleTileClick(final int tileCoordinate, final MouseEvent e){
+        if(isRightMouseButton(e)){
+            clearSelection();
+            drawBoard();
+        }else if(isLeftMouseButton(e) && isViewingLastPly() && !isComputerToMove(this.chessBoard)){
+            if(this.sourceTile == null){
+                this.sourceTile = this.chessBoard.getTile(tileCoordinate);
+                this.humanMovedPiece = this.sourceTile.getPiece();
+                if(this.humanMovedPiece == null){
+                    this.sourceTile = null;
+                }
+                drawBoard();
+            }else{
+                this.destinationTile = this.chessBoard.getTile(tileCoordinate);
+                final ChessBoard board = this.chessBoard;
+                final int sourceCoordinate = this.sourceTile.getTileCoordinate();
+                final int destinationCoordinate = this.destinationTile.getTileCoordinate();
+                clearSelection();
+                this.moveWorker.submit(() -> board.currentPlayer().makeMove(
+                        createMove(board, sourceCoordinate, destinationCoordinate)), transition -> {
+                    if(board == this.chessBoard && transition.getMoveStatus().isDone()){
+                        applyMove(transition);
+                    }else{
+                        drawBoard();
+                    }
+                });
+            }
+        }
+    }
+/*
+Der Zug wird auf dem Thread des moveWorker erzeugt und geprüft, auf dem Event Dispatch Thread wird nur das fertige
+Board übernommen. Hat sich das Board inzwischen geändert, wird das Ergebnis verworfen. Während der Computer am Zug ist,
+oder eine frühere Stellung angesehen wird, werden Klicks auf das Brett ignoriert, Menüs und Panels bleiben aber bedienbar.
+*/
+
+    private void clearSelection(){
+        this.sourceTile = null;
+        this.destinationTile = null;
+        this.humanMovedPiece = null;
+    }
+
+    private void applyMove(final MoveTransition transition){
+        this.chessBoard = transition.getTransitionBoard();
+        this.moveLog.addMove(transition.getMove());
+        this.viewedPly = this.moveLog.size();
+        this.gameHistoryPanel.redo(this.chessBoard, this.moveLog);
+        this.gameHistoryPanel.selectPly(this.viewedPly);
+        this.takenPiecesPanel.redo(this.moveLog, this.boardDirection);
+        drawBoard();
+        startComputerMove();
+    }
+
+    private boolean isComputerToMove(final ChessBoard board){
+        return board.currentPlayer().getAlliance().isWhite() ? this.whiteComputerPlayer : this.blackComputerPlayer;
+    }
+
+    private void startComputerMove(){
+        final ChessBoard board = this.chessBoard;
+        if(!isComputerToMove(board) || !calculateOutcome(board).equals("*")){
+            return;
+        }
+        this.engineWorker.submit(() -> board.currentPlayer().makeMove(this.engine.execute(board)), transition -> {
+            if(board == this.chessBoard && transition.getMoveStatus().isDone()){
+                applyMove(transition);
+            }
+        });
+    }
+/*
+Die Engine sucht auf ihrem eigenen Thread, das GUI bleibt währenddessen bedienbar. Ist die Suche fertig, wird ihr Zug
+wie ein Zug des Spielers über applyMove übernommen.
+*/
+
+    private void stopComputerMove(){
+        this.engineWorker.cancel();
+        this.engine.stop();
+    }
+
+    private void drawBoard(){
+        final ChessBoard board = displayedBoard();
+        final ChessPiece movedPiece = this.humanMovedPiece;
+        if(this.liveAnalysis){
+            this.analysisPanel.analyze(board);
+        }
+        if(!this.highlightLegalMoves || movedPiece == null){
+            this.boardPanel.drawBoard(board, ImmutableList.<Move>of());
+            return;
+        }
+        this.legalMovesWorker.submit(() -> pieceLegalMoves(board, movedPiece), legalMoves -> {
+            if(board == displayedBoard() && movedPiece == this.humanMovedPiece){
+                this.boardPanel.drawBoard(board, legalMoves);
+            }
+        });
+    }
+/*
+Die legalen Züge der ausgewählten Figur werden einmal pro Neuzeichnen und im Hintergrund berechnet. Ist inzwischen eine
+andere Figur ausgewählt oder ein Zug gespielt worden, wird das Ergebnis nicht mehr gezeichnet.
+*/
+
+    private static List<Move> pieceLegalMoves(final ChessBoard board, final ChessPiece movedPiece){
+        List<Move> realLegalMoves = new ArrayList<>();
+        if(movedPiece.getPieceAlliance() == board.currentPlayer().getAlliance()){
+            for(Move move : movedPiece.calculateLegalMoves(board)) {
+                final MoveTransition transition = board.currentPlayer().makeMove(move);
+                if (transition.getMoveStatus().isDone()) {
+                    realLegalMoves.add(move);
+                }
+            }
+        }
+        return ImmutableList.copyOf(realLegalMoves);
+    }
+
     public enum BoardDirection {
         NORMAL {
             @Override
-            List<TilePanel> traverse(final List<TilePanel> boardTiles){
-                return boardTiles;
+            int traverse(final int tileCoordinate){
+                return tileCoordinate;
             }
 
             @Override
@@ -145,8 +533,8 @@ public class Table {
         },
         FLIPPED {
             @Override
-            List<TilePanel> traverse(final List<TilePanel> boardTiles){
-                return Lists.reverse(boardTiles);
+            int traverse(final int tileCoordinate){
+                return BoardUtils.NUM_TILES - 1 - tileCoordinate;
             }
 
             @Override
@@ -159,43 +547,16 @@ public class Table {
                 return false;
             }
         };
-        abstract List<TilePanel> traverse(final List<TilePanel> boardTiles);
+        abstract int traverse(final int tileCoordinate);
         abstract BoardDirection opposite();
         public abstract boolean isNormal();
     }
 
-    //TODO boardPanel in ChessBoardPanel und TilePanel in ChessBoardPanel umbenennen!
-    private class BoardPanel extends JPanel {
-        final List<TilePanel> boardTiles;
-
-        BoardPanel(){
-            super(new GridLayout(8,8));
-            this.boardTiles = new ArrayList<>();
-            for(int i = 0; i< BoardUtils.NUM_TILES; i++){
-                final TilePanel tilePanel = new TilePanel(this, i);
-                this.boardTiles.add(tilePanel);
-                add(tilePanel);
-            }
-            setPreferredSize(BOARD_PANEL_DIMENSION);
-            validate();
-        }
-
-        public void drawBoard(final ChessBoard board){
-            removeAll();
-            for(final TilePanel tilePanel : boardDirection.traverse(boardTiles)){
-                tilePanel.drawTile(board);
-                add(tilePanel);
-            }
-            validate();
-            repaint();
-        }
-    }
-
     public static class MoveLog{
 
         private final List<Move> moves;
 
-        MoveLog(){
+        public MoveLog(){
             this.moves = new ArrayList<>();
         }
 
@@ -225,137 +586,4 @@ public class Table {
 
 
     }
-
-    private class TilePanel extends JPanel {
-
-        private final int tileId;
-
-        TilePanel(final BoardPanel boardPanel, final int tileId){
-            super(new GridBagLayout());
-            this.tileId = tileId;
-            setPreferredSize(TILE_PANEL_DIMENSION);
-            assignTileColor();
-            assignTilePieceIcon(chessBoard);
-
-            addMouseListener(new MouseListener() {
-                @Override
-                public void mouseClicked(final MouseEvent e) {
-                    if(isRightMouseButton(e)){
-                        sourceTile = null;
-                        destinationTile = null;
-                        humanMovedPiece = null;
-                    }else if( isLeftMouseButton(e)){
-                        if(sourceTile == null){
-                            sourceTile = chessBoard.getTile(tileId);
-                            humanMovedPiece = sourceTile.getPiece();
-                            if(humanMovedPiece == null){
-                                sourceTile = null;
-                            }
-                        }else{
-                            destinationTile = chessBoard.getTile(tileId);
-                            final Move move = createMove(chessBoard,
-                                    sourceTile.getTileCoordinate(), destinationTile.getTileCoordinate());
-                            final MoveTransition transition = chessBoard.currentPlayer().makeMove(move);
-                            if(transition.getMoveStatus().isDone()){
-                                chessBoard = transition.getTransitionBoard();
-                                moveLog.addMove(move);
-                            }
-                            sourceTile = null;
-                            destinationTile = null;
-                            humanMovedPiece = null;
-                        }
-                        SwingUtilities.invokeLater(new Runnable() {
-                            @Override
-                            public void run() {
-                                gameHistoryPanel.redo(chessBoard, moveLog);
-                                takenPiecesPanel.redo(moveLog, boardDirection);
-                                boardPanel.drawBoard(chessBoard);
-                            }
-                        });
-                    }
-                }
-
-                @Override
-                public void mousePressed(final MouseEvent e) {
-                }
-
-                @Override
-                public void mouseReleased(final MouseEvent e) {
-                }
-
-                @Override
-                public void mouseEntered(final MouseEvent e) {
-                }
-
-                @Override
-                public void mouseExited(final MouseEvent e) {
-                }
-            });
-
-            validate();
-        }
-
-        public void drawTile(final ChessBoard board){
-            assignTileColor();
-            assignTilePieceIcon(board);
-            highlightLegals(board);
-            validate();
-            repaint();
-        }
-
-        private void assignTilePieceIcon(final ChessBoard board){
-            this.removeAll();
-            if(board.getTile(this.tileId).isTileOccupied()){
-                try {
-                    final BufferedImage image = ImageIO.read(new File(defaultPieceImagePath +
-                            board.getTile(this.tileId).getPiece().getPieceAlliance().toString().charAt(0) +
-                            board.getTile(this.tileId).getPiece() + ".gif"));
-                    add(new JLabel(new ImageIcon(image)));
-                } catch (IOException e) {
-                    e.printStackTrace();
-                }
-            }
-        }
-
-        private void highlightLegals(final ChessBoard board){
-            if(highlightLegalMoves){
-                for (final Move move: pieceLegalMoves(board)){
-                    if(move.getDestinationCoordinate() == this.tileId) {
-                        try {
-                            add(new JLabel(new ImageIcon(ImageIO.read(new File("art/misc/green_dot.png")))));
-                        } catch (Exception e) {
-                            e.printStackTrace();
-                        }
-                    }
-                }
-            }
-        }
-
-        private List<Move> pieceLegalMoves(final ChessBoard board){
-            List<Move> realLegalMoves = new ArrayList<>();
-            if(humanMovedPiece!= null && humanMovedPiece.getPieceAlliance() == board.currentPlayer().getAlliance()){
-                for(Move move : humanMovedPiece.calculateLegalMoves(board)) {
-                    final MoveTransition transition = board.currentPlayer().makeMove(move);
-                    if (transition.getMoveStatus().isDone()) {
-                        realLegalMoves.add(move);
-                    }
-                }
-            }
-            return ImmutableList.copyOf(realLegalMoves);
-        }
-
-        private void assignTileColor() {
-            if(BoardUtils.EIGHTH_RANK[this.tileId] ||
-               BoardUtils.SIXTH_RANK[this.tileId] ||
-               BoardUtils.FOURTH_RANK[this.tileId] ||
-               BoardUtils.SECOND_RANK[this.tileId]){
-                setBackground(this.tileId % 2 == 0 ? lightTileColor : darkTileColor);
-            }else if(BoardUtils.SEVENTH_RANK[this.tileId] ||
-                     BoardUtils.FIFTH_RANK[this.tileId] ||
-                     BoardUtils.THIRD_RANK[this.tileId] ||
-                     BoardUtils.FIRST_RANK[this.tileId]){
-                setBackground(this.tileId % 2 != 0 ? lightTileColor : darkTileColor);
-            }
-        }
-    }
 }
\ No newline at end of file
@@ -2,16 +2,11 @@ package com.chess.gui;
 
 import com.chess.engine.board.Move;
 import com.chess.engine.pieces.ChessPiece;
-import com.google.common.primitives.Ints;
 
-import javax.imageio.ImageIO;
 import javax.swing.*;
 import javax.swing.border.EtchedBorder;
 
 import java.awt.*;
-import java.awt.image.BufferedImage;
-import java.io.File;
-import java.io.IOException;
 import java.util.*;
 import java.util.List;
 
@@ -24,8 +19,14 @@ public class TakenPiecesPanel extends JPanel {
     private static final Dimension TAKEN_PIECES_DIMENSION = new Dimension(40,80);
     private static final Color PANEL_COLOR = Color.decode("0xFDF5E6");
     private static final EtchedBorder PANEL_BORDER = new EtchedBorder(EtchedBorder.RAISED);
+    private static final int ICON_SIZE_REDUCTION = 15;
+    private final List<Move> countedMoves;
+    private final List<ChessPiece> whiteTakenPieces;
+    private final List<ChessPiece> blackTakenPieces;
+    private BoardDirection boardDirection;
+    private PieceIconCache pieceIcons;
 
-    public TakenPiecesPanel(){
+    public TakenPiecesPanel(final PieceIconCache pieceIcons){
         super(new BorderLayout());
         setBackground(PANEL_COLOR);
         setBorder(PANEL_BORDER);
@@ -36,73 +37,67 @@ public class TakenPiecesPanel extends JPanel {
             add(this.northPanel, BorderLayout.NORTH);
             add(this.southPanel, BorderLayout.SOUTH);
         setPreferredSize(TAKEN_PIECES_DIMENSION);
+        this.countedMoves = new ArrayList<>();
+        this.whiteTakenPieces = new ArrayList<>();
+        this.blackTakenPieces = new ArrayList<>();
+        this.boardDirection = BoardDirection.NORMAL;
+        setPieceIcons(pieceIcons);
     }
 
-    public void redo(final MoveLog moveLog, BoardDirection boardDirection){
-        southPanel.removeAll();
-        northPanel.removeAll();
-        final List<ChessPiece> whiteTakenPieces = new ArrayList<>();
-        final List<ChessPiece> blackTakenPieces = new ArrayList<>();
+    void setPieceIcons(final PieceIconCache pieceIcons){
+        this.pieceIcons = pieceIcons.scaled(pieceIcons.getIconSize() - ICON_SIZE_REDUCTION);
+        reset();
+    }
 
-        for(final Move move : moveLog.getMoves()){
-            if(move.isAttack()){
-                final ChessPiece takenPiece = move.getAttackedPiece();
-                if(takenPiece.getPieceAlliance().isWhite()){
-                    whiteTakenPieces.add(takenPiece);
-                }else if(takenPiece.getPieceAlliance().isBlack()){
-                    blackTakenPieces.add(takenPiece);
-                }else{
-                    throw new RuntimeException("This should not be possible!");
-                }
-            }
+    public void redo(final MoveLog moveLog, final BoardDirection boardDirection){
+        final List<Move> moves = moveLog.getMoves();
+        int counted = 0;
+        while(counted < this.countedMoves.size() && counted < moves.size() &&
+              this.countedMoves.get(counted) == moves.get(counted)){
+            counted++;
         }
-        Collections.sort(whiteTakenPieces, new Comparator<ChessPiece>() {
-            @Override
-            public int compare(final ChessPiece o1, final ChessPiece o2) {
-                return Ints.compare(o1.getPieceValue(), o2.getPieceValue());
-            }
-        });
-        Collections.sort(blackTakenPieces, new Comparator<ChessPiece>() {
-            @Override
-            public int compare(final ChessPiece o1, final ChessPiece o2) {
-                return Ints.compare(o1.getPieceValue(), o2.getPieceValue());
-            }
-        });
-
-        for(final ChessPiece takenPiece : whiteTakenPieces){
-            try{
-                final BufferedImage image = ImageIO.read(new File("art/stockfish/" +
-                        takenPiece.getPieceAlliance().toString().charAt(0) + "" +
-                        takenPiece + ".gif"));
-                final ImageIcon icon = new ImageIcon(image);
-                final JLabel imageLabel = new JLabel(new ImageIcon(icon.getImage().getScaledInstance(
-                        icon.getIconWidth() - 15, icon.getIconWidth() - 15, Image.SCALE_SMOOTH)));
-                if(boardDirection.isNormal()) {
-                    this.northPanel.add(imageLabel);
-                }else{
-                    this.southPanel.add(imageLabel);
-                }
-            }catch(final IOException e){
-                e.printStackTrace();
-            }
+        if(counted < this.countedMoves.size() || boardDirection != this.boardDirection){
+            this.boardDirection = boardDirection;
+            reset();
+            counted = 0;
         }
-        for(final ChessPiece takenPiece : blackTakenPieces){
-            try{
-                final BufferedImage image = ImageIO.read(new File("art/stockfish/" +
-                        takenPiece.getPieceAlliance().toString().charAt(0) + "" +
-                        takenPiece + ".gif"));
-                final ImageIcon icon = new ImageIcon(image);
-                final JLabel imageLabel = new JLabel(new ImageIcon(icon.getImage().getScaledInstance(
-                        icon.getIconWidth() - 15, icon.getIconWidth() - 15, Image.SCALE_SMOOTH)));
-                if(boardDirection.isNormal()) {
-                    this.southPanel.add(imageLabel);
-                }else{
-                    this.northPanel.add(imageLabel);
-                }
-            }catch(final IOException e){
-                e.printStackTrace();
+        for(int i = counted; i < moves.size(); i++){
+            final Move move = moves.get(i);
+            this.countedMoves.add(move);
+            if(move.isAttack()){
+                addTakenPiece(move.getAttackedPiece());
             }
         }
         validate();
+        repaint();
+    }
+/*
+Es werden nur die Züge betrachtet, die seit dem letzten Aufruf dazugekommen sind. Wurde ein anderes Spiel geladen, ein
+Zug zurückgenommen oder das Brett gedreht, wird das Panel einmal komplett neu aufgebaut.
+*/
+
+    private void addTakenPiece(final ChessPiece takenPiece){
+        final List<ChessPiece> takenPieces = takenPiece.getPieceAlliance().isWhite() ?
+                this.whiteTakenPieces : this.blackTakenPieces;
+        int index = takenPieces.size();
+        while(index > 0 && takenPieces.get(index - 1).getPieceValue() > takenPiece.getPieceValue()){
+            index--;
+        }
+        takenPieces.add(index, takenPiece);
+        final JPanel panel = takenPiece.getPieceAlliance().isWhite() == this.boardDirection.isNormal() ?
+                this.northPanel : this.southPanel;
+        panel.add(new JLabel(this.pieceIcons.getIcon(takenPiece)), index);
+    }
+/*
+Die geschlagene Figur wird direkt an der richtigen Stelle einsortiert, so bleiben die Figuren wie vorher nach ihrem
+Wert geordnet, ohne dass alles neu sortiert werden muss.
+*/
+
+    private void reset(){
+        this.countedMoves.clear();
+        this.whiteTakenPieces.clear();
+        this.blackTakenPieces.clear();
+        this.northPanel.removeAll();
+        this.southPanel.removeAll();
     }
 }
@@ -0,0 +1,102 @@
+package com.chess.server;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.player.MoveTransition;
+
+import java.util.concurrent.TimeUnit;
+
+public class ChessClock {
+
+    public enum Mode {
+        INCREMENT,
+        DELAY
+    }
+
+    private final Mode mode;
+    private final long bonusNanos;
+    private long whiteRemainingNanos;
+    private long blackRemainingNanos;
+    private Alliance running;
+    private long turnStartNanos;
+
+    public ChessClock(final Mode mode, final long baseNanos, final long bonusNanos){
+        this.mode = mode;
+        this.bonusNanos = bonusNanos;
+        this.whiteRemainingNanos = baseNanos;
+        this.blackRemainingNanos = baseNanos;
+    }
+/*
+Bei INCREMENT (Fischer) bekommt ein Spieler nach jedem Zug den Bonus gutgeschrieben. Bei DELAY läuft seine Uhr in jedem
+Zug erst, wenn der Bonus verstrichen ist, unverbrauchte Verzögerung verfällt.
+*/
+
+    public static ChessClock parse(final String control){
+        final int separator = Math.max(control.indexOf('+'), control.indexOf('d'));
+        try {
+            final long base = Long.parseLong(separator < 0 ? control : control.substring(0, separator));
+            final long bonus = separator < 0 ? 0 : Long.parseLong(control.substring(separator + 1));
+            if(base <= 0 || bonus < 0){
+                throw new IllegalArgumentException("Invalid time control " + control);
+            }
+            return new ChessClock(separator >= 0 && control.charAt(separator) == 'd' ? Mode.DELAY : Mode.INCREMENT,
+                    TimeUnit.SECONDS.toNanos(base), TimeUnit.SECONDS.toNanos(bonus));
+        } catch (final NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid time control " + control);
+        }
+    }
+/*
+Die Bedenkzeit wird in Sekunden angegeben: "300+2" sind fünf Minuten mit zwei Sekunden Inkrement, "300d2" fünf Minuten
+mit zwei Sekunden Verzögerung, "300" fünf Minuten ohne Bonus.
+*/
+
+    public void start(final Alliance side, final long nowNanos){
+        this.running = side;
+        this.turnStartNanos = nowNanos;
+    }
+
+    public boolean isRunning(){
+        return this.running != null;
+    }
+
+    public void moveMade(final MoveTransition transition, final long nowNanos){
+        final Alliance mover = transition.getMove().getMovedPiece().getPieceAlliance();
+        if(mover == this.running){
+            final long remaining = remaining(mover, nowNanos) + (this.mode == Mode.INCREMENT ? this.bonusNanos : 0);
+            if(mover.isWhite()){
+                this.whiteRemainingNanos = remaining;
+            }else{
+                this.blackRemainingNanos = remaining;
+            }
+        }
+        start(transition.getTransitionBoard().currentPlayer().getAlliance(), nowNanos);
+    }
+/*
+Der Zug wird dem Spieler angerechnet, dessen Figur gezogen hat, danach läuft die Uhr der Seite, die im neuen Board am
+Zug ist. Ob der Spieler schon vorher durch Zeit verloren hat, muss der Aufrufer mit isFlagged prüfen.
+*/
+
+    public long remaining(final Alliance side, final long nowNanos){
+        final long stored = side.isWhite() ? this.whiteRemainingNanos : this.blackRemainingNanos;
+        if(side != this.running){
+            return stored;
+        }
+        final long elapsed = nowNanos - this.turnStartNanos;
+        return stored - (this.mode == Mode.DELAY ? Math.max(0, elapsed - this.bonusNanos) : elapsed);
+    }
+
+    public long getFlagDeadline(){
+        final long stored = this.running.isWhite() ? this.whiteRemainingNanos : this.blackRemainingNanos;
+        return this.turnStartNanos + stored + (this.mode == Mode.DELAY ? this.bonusNanos : 0);
+    }
+
+    public boolean isFlagged(final long nowNanos){
+        return isRunning() && remaining(this.running, nowNanos) <= 0;
+    }
+
+    public Alliance getRunningSide(){
+        return this.running;
+    }
+}
+/*
+Die Uhr gehört dem Thread ihrer GameSession und ist deshalb nicht threadsicher. Alle Zeiten sind System.nanoTime Werte.
+*/
@@ -0,0 +1,168 @@
+package com.chess.server;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+public class ClientConnection implements Runnable {
+
+    private final Socket socket;
+    private final GameServer server;
+    private final Writer output;
+    private final ReentrantLock outputLock;
+    private final Map<Integer, GameSession> joinedGames;
+    private volatile boolean closed;
+
+    ClientConnection(final Socket socket, final GameServer server) throws IOException {
+        this.socket = socket;
+        this.server = server;
+        this.output = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+        this.outputLock = new ReentrantLock();
+        this.joinedGames = new ConcurrentHashMap<>();
+    }
+
+    @Override
+    public void run(){
+        try(final BufferedReader input = new BufferedReader(
+                new InputStreamReader(this.socket.getInputStream(), StandardCharsets.UTF_8))){
+            String line;
+            while((line = input.readLine()) != null){
+                final String[] tokens = line.trim().split("\\s+");
+                if(tokens[0].equals("quit")){
+                    break;
+                }
+                handleCommand(tokens);
+            }
+        } catch (final IOException e) {
+            // die Verbindung wurde vom Client geschlossen
+        } finally {
+            close();
+        }
+    }
+/*
+Jede Verbindung hat ihren eigenen virtuellen Thread, der nur liest und die Befehle an die Spiele weitergibt. Geprüft
+werden die Züge erst auf dem Thread des Spiels.
+*/
+
+    private void handleCommand(final String[] tokens){
+        switch(tokens[0]){
+            case "new": {
+                final ChessClock clock;
+                try {
+                    clock = tokens.length > 1 ? ChessClock.parse(tokens[1]) : null;
+                } catch (final IllegalArgumentException e) {
+                    send("error " + e.getMessage());
+                    return;
+                }
+                final GameSession game = this.server.createGame(clock);
+                send("created " + game.getGameId());
+                break;
+            }
+            case "join": {
+                if(tokens.length < 3){
+                    send("error usage: join <game> <white|black|watch>");
+                    return;
+                }
+                final GameSession game = findGame(tokens[1]);
+                if(game != null){
+                    this.joinedGames.put(game.getGameId(), game);
+                    game.join(this, tokens[2]);
+                }
+                break;
+            }
+            case "leave": {
+                if(tokens.length < 2){
+                    send("error usage: leave <game>");
+                    return;
+                }
+                final GameSession game = findGame(tokens[1]);
+                if(game != null){
+                    game.leave(this);
+                }
+                break;
+            }
+            case "move": {
+                if(tokens.length < 3){
+                    send("error usage: move <game> <move>");
+                    return;
+                }
+                final GameSession game = findGame(tokens[1]);
+                if(game != null){
+                    game.move(this, tokens[2]);
+                }
+                break;
+            }
+            case "stats":
+                send("stats games " + this.server.getGameCount() + " validation " + this.server.getValidationLatency());
+                break;
+            default:
+                send("error unknown command " + tokens[0]);
+        }
+    }
+
+    void leftGame(final GameSession game){
+        this.joinedGames.remove(game.getGameId(), game);
+    }
+/*
+Wird vom Thread des Spiels aufgerufen, wenn die Verbindung nicht mehr dazugehört: nach leave, nach einem
+fehlgeschlagenen join und am Ende des Spiels. Eingetragen wird das Spiel schon vor dem join auf dem eigenen Thread,
+damit close es sicher sieht, auch wenn der join noch in der Mailbox liegt.
+*/
+
+    private GameSession findGame(final String gameId){
+        final GameSession game;
+        try {
+            game = this.server.getGame(Integer.parseInt(gameId));
+        } catch (final NumberFormatException e) {
+            send("error invalid game " + gameId);
+            return null;
+        }
+        if(game == null){
+            send("error unknown game " + gameId);
+        }
+        return game;
+    }
+
+    void send(final String message){
+        if(this.closed){
+            return;
+        }
+        this.outputLock.lock();
+        try {
+            this.output.write(message);
+            this.output.write('\n');
+            this.output.flush();
+        } catch (final IOException e) {
+            close();
+        } finally {
+            this.outputLock.unlock();
+        }
+    }
+/*
+Mehrere Spiele können gleichzeitig an dieselbe Verbindung senden. Ein ReentrantLock statt synchronized hält dabei den
+virtuellen Thread nicht an seinem Träger-Thread fest, während er auf den Socket wartet.
+*/
+
+    private void close(){
+        if(this.closed){
+            return;
+        }
+        this.closed = true;
+        for(final GameSession game : this.joinedGames.values()){
+            game.leave(this);
+        }
+        try {
+            this.socket.close();
+        } catch (final IOException e) {
+            // beim Schließen ist nichts mehr zu retten
+        }
+    }
+}
@@ -0,0 +1,388 @@
+package com.chess.server;
+
+import com.chess.engine.board.ChessBoard;
+import com.chess.engine.board.Move;
+import com.chess.engine.pgn.FenUtilities;
+import com.chess.engine.player.MoveTransition;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+public class GameJournal implements Closeable {
+
+    static final String JOURNAL_FILE = "journal.bin";
+    static final String SNAPSHOT_FILE = "snapshot.bin";
+    private static final int SNAPSHOT_MAGIC = 0x4A435331;
+    private static final byte CREATE_RECORD = 1;
+    private static final byte MOVE_RECORD = 2;
+    private static final byte END_RECORD = 3;
+    private static final int GAME_RECORD_SIZE = 5;
+    private static final int MOVE_RECORD_SIZE = 9;
+    private static final int INITIAL_BUFFER_SIZE = 1 << 16;
+
+    private final Path directory;
+    private final FileChannel channel;
+    private final Thread writerThread;
+    private final ReentrantLock lock;
+    private final Condition recordsAppended;
+    private final Condition recordsDurable;
+    private ByteBuffer pendingBuffer;
+    private ByteBuffer writeBuffer;
+    private long appendedSequence;
+    private long durableSequence;
+    private long appendedOffset;
+    private long batches;
+    private IOException writeFailure;
+    private boolean closed;
+
+    public GameJournal(final Path directory) throws IOException {
+        this.directory = directory;
+        Files.createDirectories(directory);
+        this.channel = FileChannel.open(directory.resolve(JOURNAL_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.appendedOffset = validLength(this.channel);
+        this.channel.truncate(this.appendedOffset);
+        this.channel.position(this.appendedOffset);
+        this.lock = new ReentrantLock();
+        this.recordsAppended = this.lock.newCondition();
+        this.recordsDurable = this.lock.newCondition();
+        this.pendingBuffer = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+        this.writeBuffer = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+        this.writerThread = new Thread(this::writeBatches, "game-journal");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+/*
+Ein halb geschriebener Datensatz am Ende der Datei stammt von einem Absturz. Er wird beim Öffnen abgeschnitten, damit
+neue Datensätze wieder an einer gültigen Grenze beginnen.
+*/
+
+    public long appendCreate(final int gameId){
+        return append(CREATE_RECORD, gameId, 0, 0, 0);
+    }
+
+    public long appendMove(final int gameId, final int ply, final Move move){
+        return append(MOVE_RECORD, gameId, ply, move.getCurrentCoordinate(), move.getDestinationCoordinate());
+    }
+
+    public long appendEnd(final int gameId){
+        return append(END_RECORD, gameId, 0, 0, 0);
+    }
+
+    private long append(final byte type, final int gameId, final int ply, final int from, final int to){
+        this.lock.lock();
+        try {
+            if(this.pendingBuffer.remaining() < MOVE_RECORD_SIZE){
+                final ByteBuffer larger = ByteBuffer.allocate(this.pendingBuffer.capacity() * 2);
+                this.pendingBuffer.flip();
+                larger.put(this.pendingBuffer);
+                this.pendingBuffer = larger;
+            }
+            this.pendingBuffer.put(type).putInt(gameId);
+            this.appendedOffset += GAME_RECORD_SIZE;
+            if(type == MOVE_RECORD){
+                this.pendingBuffer.putShort((short) ply).put((byte) from).put((byte) to);
+                this.appendedOffset += MOVE_RECORD_SIZE - GAME_RECORD_SIZE;
+            }
+            this.recordsAppended.signal();
+            return ++this.appendedSequence;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+/*
+Ein Datensatz wird nur in den Puffer kopiert, das Schreiben übernimmt der Journal-Thread. Ein Zug braucht 9 Bytes: Typ,
+Spiel, Halbzug und die beiden Felder. Umwandlungen gehen in der Engine immer in eine Dame und brauchen kein eigenes Feld.
+*/
+
+    public void awaitDurable(final long sequence) throws IOException, InterruptedException {
+        this.lock.lock();
+        try {
+            while(this.durableSequence < sequence){
+                if(this.writeFailure != null){
+                    throw this.writeFailure;
+                }
+                this.recordsDurable.await();
+            }
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    private void writeBatches(){
+        while(true){
+            final long batchEnd;
+            this.lock.lock();
+            try {
+                while(this.pendingBuffer.position() == 0 && !this.closed){
+                    this.recordsAppended.awaitUninterruptibly();
+                }
+                if(this.pendingBuffer.position() == 0){
+                    return;
+                }
+                final ByteBuffer batch = this.pendingBuffer;
+                this.pendingBuffer = this.writeBuffer;
+                this.writeBuffer = batch;
+                batchEnd = this.appendedSequence;
+            } finally {
+                this.lock.unlock();
+            }
+            IOException failure = null;
+            try {
+                this.writeBuffer.flip();
+                while(this.writeBuffer.hasRemaining()){
+                    this.channel.write(this.writeBuffer);
+                }
+                this.channel.force(false);
+            } catch (final IOException e) {
+                failure = e;
+            }
+            this.writeBuffer.clear();
+            this.lock.lock();
+            try {
+                if(failure != null){
+                    this.writeFailure = failure;
+                }else{
+                    this.durableSequence = batchEnd;
+                    this.batches++;
+                }
+                this.recordsDurable.signalAll();
+            } finally {
+                this.lock.unlock();
+            }
+        }
+    }
+/*
+Group Commit: Während ein Block geschrieben und mit force auf die Platte gebracht wird, sammeln sich die nächsten
+Datensätze im zweiten Puffer. Ein fsync macht also alle Züge dauerhaft, die währenddessen angekommen sind, und die
+wartenden Spiele werden gemeinsam geweckt. Je mehr Spiele gleichzeitig ziehen, desto größer werden die Blöcke.
+*/
+
+    public void snapshot(final Map<Integer, ChessBoard> boards, final long journalOffset) throws IOException {
+        final Path temporary = this.directory.resolve(SNAPSHOT_FILE + ".tmp");
+        try(final FileChannel snapshotChannel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+            final DataOutputStream output = new DataOutputStream(
+                    new BufferedOutputStream(Channels.newOutputStream(snapshotChannel)))){
+            output.writeInt(SNAPSHOT_MAGIC);
+            output.writeLong(journalOffset);
+            output.writeInt(boards.size());
+            for(final Map.Entry<Integer, ChessBoard> entry : boards.entrySet()){
+                output.writeInt(entry.getKey());
+                output.writeUTF(FenUtilities.createFENFromGame(entry.getValue()));
+            }
+            output.flush();
+            snapshotChannel.force(true);
+        }
+        Files.move(temporary, this.directory.resolve(SNAPSHOT_FILE),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+/*
+Der Snapshot wird erst vollständig in eine temporäre Datei geschrieben und dann atomar umbenannt. Nach einem Absturz gibt
+es also immer entweder den alten oder den neuen Snapshot. Er merkt sich, bis zu welcher Stelle das Journal schon
+enthalten ist.
+*/
+
+    public long awaitDurableOffset() throws IOException, InterruptedException {
+        final long offset;
+        final long sequence;
+        this.lock.lock();
+        try {
+            offset = this.appendedOffset;
+            sequence = this.appendedSequence;
+        } finally {
+            this.lock.unlock();
+        }
+        awaitDurable(sequence);
+        return offset;
+    }
+/*
+Position und Nummer des letzten Datensatzes werden unter demselben Lock gelesen, sie gehören also zum selben Datensatz.
+Zurückgegeben wird die Position erst, wenn alles davor auf der Platte ist. Ein Snapshot mit dieser Position zeigt damit
+nie hinter das gültige Ende des Journals, auch wenn der Prozess direkt danach abstürzt.
+*/
+
+    public long getBatches(){
+        this.lock.lock();
+        try {
+            return this.batches;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.lock.lock();
+        try {
+            this.closed = true;
+            this.recordsAppended.signal();
+        } finally {
+            this.lock.unlock();
+        }
+        try {
+            this.writerThread.join();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        this.channel.close();
+    }
+
+    public static Map<Integer, ChessBoard> recover(final Path directory) throws IOException {
+        final Map<Integer, ChessBoard> games = new HashMap<>();
+        long journalOffset = 0;
+        final Path snapshot = directory.resolve(SNAPSHOT_FILE);
+        if(Files.exists(snapshot)){
+            try(final DataInputStream input = new DataInputStream(Files.newInputStream(snapshot))){
+                if(input.readInt() != SNAPSHOT_MAGIC){
+                    throw new IOException("Not a game snapshot: " + snapshot);
+                }
+                journalOffset = input.readLong();
+                for(int count = input.readInt(); count > 0; count--){
+                    final int gameId = input.readInt();
+                    games.put(gameId, FenUtilities.createGameFromFEN(input.readUTF()));
+                }
+            }
+        }
+        final Path journal = directory.resolve(JOURNAL_FILE);
+        if(!Files.exists(journal)){
+            return games;
+        }
+        try(final InputStream stream = Files.newInputStream(journal)){
+            final DataInputStream input = new DataInputStream(stream);
+            input.skipNBytes(Math.min(journalOffset, Files.size(journal)));
+            final long end = validLength(journal);
+            for(long offset = journalOffset; offset < end; ){
+                final byte type = input.readByte();
+                final int gameId = input.readInt();
+                offset += GAME_RECORD_SIZE;
+                switch(type){
+                    case CREATE_RECORD:
+                        games.putIfAbsent(gameId, ChessBoard.createStandardBoard());
+                        break;
+                    case END_RECORD:
+                        games.remove(gameId);
+                        break;
+                    default:
+                        final int ply = input.readUnsignedShort();
+                        final int from = input.readUnsignedByte();
+                        final int to = input.readUnsignedByte();
+                        offset += MOVE_RECORD_SIZE - GAME_RECORD_SIZE;
+                        final ChessBoard board = games.get(gameId);
+                        if(board != null && plyOf(board) == ply){
+                            final MoveTransition transition = board.currentPlayer().makeMove(
+                                    Move.MoveFactory.createMove(board, from, to));
+                            if(!transition.getMoveStatus().isDone()){
+                                throw new IOException("Illegal move in journal for game " + gameId + " at ply " + ply);
+                            }
+                            games.put(gameId, transition.getTransitionBoard());
+                        }
+                }
+            }
+        }
+        return games;
+    }
+/*
+Wiederhergestellt wird aus dem letzten Snapshot und dem Rest des Journals dahinter. Weil jeder Zug seinen Halbzug
+mitschreibt, wird ein Zug, der schon im Snapshot steckt, einfach übersprungen. Der Snapshot muss deshalb nicht exakt an
+einer Datensatzgrenze eines Spiels liegen. Nach der Wiederherstellung beginnt ein Spiel ohne positionHistory, dreifache
+Wiederholungen vor dem Absturz werden also nicht mehr erkannt.
+*/
+
+    static int plyOf(final ChessBoard board){
+        return (board.getFullMoveNumber() - 1) * 2 + (board.currentPlayer().getAlliance().isWhite() ? 0 : 1);
+    }
+
+    private static long validLength(final FileChannel channel) throws IOException {
+        final long size = channel.size();
+        channel.position(0);
+        return validLength(new BufferedInputStream(Channels.newInputStream(channel)), size);
+    }
+
+    private static long validLength(final Path journal) throws IOException {
+        try(final InputStream input = new BufferedInputStream(Files.newInputStream(journal))){
+            return validLength(input, Files.size(journal));
+        }
+    }
+
+    private static long validLength(final InputStream input, final long size) throws IOException {
+        long offset = 0;
+        while(offset < size){
+            final int type = input.read();
+            final int length = type == MOVE_RECORD ? MOVE_RECORD_SIZE : GAME_RECORD_SIZE;
+            if(type < CREATE_RECORD || type > END_RECORD || offset + length > size){
+                break;
+            }
+            input.skipNBytes(length - 1);
+            offset += length;
+        }
+        return offset;
+    }
+/*
+Die gültige Länge ist das Ende des letzten vollständigen Datensatzes. Die Typen bestimmen die Länge, deshalb muss das
+Journal dafür einmal von vorne gelesen werden.
+*/
+
+    public static void main(final String[] args) throws Exception {
+        if(args.length < 1){
+            System.err.println("usage: GameJournal <directory> [-moves n] [-writers n]");
+            System.exit(1);
+        }
+        int moves = 100_000;
+        int writers = 1000;
+        for(int i = 1; i + 1 < args.length; i += 2){
+            switch(args[i]){
+                case "-moves": moves = Integer.parseInt(args[i + 1]); break;
+                case "-writers": writers = Integer.parseInt(args[i + 1]); break;
+                default: throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+        final Move move = Move.MoveFactory.createMove(ChessBoard.createStandardBoard(), 62, 45);
+        final int movesPerWriter = moves / writers;
+        try(final GameJournal journal = new GameJournal(Paths.get(args[0]))){
+            final long start = System.nanoTime();
+            try(final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()){
+                for(int i = 0; i < writers; i++){
+                    final int gameId = i;
+                    executor.execute(() -> {
+                        try {
+                            for(int ply = 0; ply < movesPerWriter; ply++){
+                                journal.awaitDurable(journal.appendMove(gameId, ply, move));
+                            }
+                        } catch (final IOException | InterruptedException e) {
+                            throw new IllegalStateException(e);
+                        }
+                    });
+                }
+            }
+            final double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+            final long written = (long) movesPerWriter * writers;
+            System.out.printf("%d moves by %d writers in %.2f s: %.0f durable moves/s, %d fsyncs, %.1f moves per fsync%n",
+                    written, writers, seconds, written / seconds, journal.getBatches(),
+                    (double) written / Math.max(1, journal.getBatches()));
+        }
+    }
+/*
+Der Benchmark misst, wie viele Züge pro Sekunde dauerhaft auf einer Platte landen, wenn viele Spiele gleichzeitig ziehen
+und jedes auf seinen fsync wartet. Er schreibt Datensätze mit einem festen Zug und dient nur der Messung.
+*/
+}
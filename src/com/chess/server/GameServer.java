@@ -0,0 +1,206 @@
+package com.chess.server;
+
+import com.chess.engine.board.ChessBoard;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class GameServer implements Closeable {
+
+    public static final int DEFAULT_PORT = 7878;
+    private static final int ACCEPT_BACKLOG = 1024;
+
+    private final ServerSocket serverSocket;
+    private final ExecutorService executor;
+    private final Map<Integer, GameSession> games;
+    private final AtomicInteger nextGameId;
+    private final LatencyHistogram validationLatency;
+    private final GameJournal journal;
+    private final ScheduledExecutorService snapshotScheduler;
+    private final TimerWheel clockWheel;
+
+    public GameServer(final int port) throws IOException {
+        this(port, null);
+    }
+
+    public GameServer(final int port, final GameJournal journal) throws IOException {
+        this.journal = journal;
+        this.snapshotScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "game-snapshots");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.serverSocket = new ServerSocket(port, ACCEPT_BACKLOG, InetAddress.getLoopbackAddress());
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        this.games = new ConcurrentHashMap<>();
+        this.nextGameId = new AtomicInteger(1);
+        this.validationLatency = new LatencyHistogram();
+        this.clockWheel = new TimerWheel();
+    }
+
+    public void start(){
+        this.executor.execute(this::acceptConnections);
+    }
+
+    private void acceptConnections(){
+        while(!this.serverSocket.isClosed()){
+            try {
+                final Socket socket = this.serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                this.executor.execute(new ClientConnection(socket, this));
+            } catch (final IOException e) {
+                if(!this.serverSocket.isClosed()){
+                    System.err.println("accept failed: " + e.getMessage());
+                }
+            }
+        }
+    }
+/*
+Verbindungen und Spiele laufen alle auf virtuellen Threads. Damit kann jede Verbindung und jedes Spiel einfachen
+blockierenden Code benutzen, ohne dass pro Spiel ein Plattform-Thread gebraucht wird.
+*/
+
+    GameSession createGame(final ChessClock clock){
+        final GameSession game = new GameSession(this.nextGameId.getAndIncrement(), this,
+                ChessBoard.createStandardBoard(), clock);
+        this.games.put(game.getGameId(), game);
+        if(this.journal != null){
+            this.journal.appendCreate(game.getGameId());
+        }
+        this.executor.execute(game);
+        return game;
+    }
+/*
+Das Spiel steht schon in der Map, bevor sein CREATE ins Journal geht. Ein Snapshot, dessen Position hinter dem CREATE
+liegt, enthält das Spiel deshalb immer. Auf das Anlegen selbst wird nicht gewartet, jeder spätere Zug wartet ohnehin
+auf seinen fsync und damit auch auf das CREATE davor.
+*/
+
+    public void restoreGames(final Map<Integer, ChessBoard> boards){
+        for(final Map.Entry<Integer, ChessBoard> entry : boards.entrySet()){
+            final GameSession game = new GameSession(entry.getKey(), this, entry.getValue(), null);
+            this.games.put(game.getGameId(), game);
+            this.nextGameId.accumulateAndGet(game.getGameId() + 1, Math::max);
+            this.executor.execute(game);
+        }
+    }
+
+    public void snapshot() throws IOException, InterruptedException {
+        final long journalOffset = this.journal.awaitDurableOffset();
+        final Map<Integer, ChessBoard> boards = new HashMap<>();
+        for(final GameSession game : this.games.values()){
+            boards.put(game.getGameId(), game.getBoard());
+        }
+        this.journal.snapshot(boards, journalOffset);
+    }
+/*
+Die Position im Journal wird vor den Boards gelesen. Jeder Zug davor ist deshalb schon in den Boards enthalten, Züge
+dahinter werden bei der Wiederherstellung anhand ihres Halbzugs erkannt und nur einmal ausgeführt. Die Position ist
+schon dauerhaft, bevor der Snapshot geschrieben wird.
+*/
+
+    public void scheduleSnapshots(final long intervalSeconds){
+        this.snapshotScheduler.scheduleWithFixedDelay(() -> {
+            try {
+                snapshot();
+            } catch (final IOException e) {
+                System.err.println("snapshot failed: " + e.getMessage());
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    void execute(final Runnable task){
+        this.executor.execute(task);
+    }
+
+    GameSession getGame(final int gameId){
+        return this.games.get(gameId);
+    }
+
+    void removeGame(final GameSession game){
+        this.games.remove(game.getGameId());
+    }
+
+    public int getGameCount(){
+        return this.games.size();
+    }
+
+    public int getPort(){
+        return this.serverSocket.getLocalPort();
+    }
+
+    public LatencyHistogram getValidationLatency(){
+        return this.validationLatency;
+    }
+
+    GameJournal getJournal(){
+        return this.journal;
+    }
+
+    TimerWheel getClockWheel(){
+        return this.clockWheel;
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.serverSocket.close();
+        this.snapshotScheduler.shutdownNow();
+        this.clockWheel.close();
+        this.executor.shutdownNow();
+    }
+
+    public static void main(final String[] args) throws IOException, InterruptedException {
+        int port = DEFAULT_PORT;
+        Path journalDirectory = null;
+        long snapshotSeconds = 60;
+        for(int i = 0; i + 1 < args.length; i += 2){
+            switch(args[i]){
+                case "-port": port = Integer.parseInt(args[i + 1]); break;
+                case "-journal": journalDirectory = Paths.get(args[i + 1]); break;
+                case "-snapshot": snapshotSeconds = Long.parseLong(args[i + 1]); break;
+                default: throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+        final GameServer server;
+        if(journalDirectory != null){
+            final Map<Integer, ChessBoard> recovered = GameJournal.recover(journalDirectory);
+            server = new GameServer(port, new GameJournal(journalDirectory));
+            server.restoreGames(recovered);
+            server.scheduleSnapshots(snapshotSeconds);
+            System.out.println("recovered " + recovered.size() + " games from " + journalDirectory);
+        }else{
+            server = new GameServer(port);
+        }
+        server.start();
+        System.out.println("JavaChess game server listening on " + server.getPort());
+        Thread.currentThread().join();
+    }
+}
+/*
+Der Server hört nur auf der Loopback-Adresse. Das Protokoll ist zeilenbasiert:
+new [<sekunden>[+<inkrement>|d<verzögerung>]] -> created <game>
+join <game> <white|black|watch>               -> joined <game> <side> <fen>
+leave <game>                                  -> left <game>, ein Spiel ohne Teilnehmer und Zuschauer endet
+move <game> <e2e4>                            -> moved <game> <move> <fen> an alle, sonst illegal <game> <move> <grund>
+stats                                         -> stats games <n> validation <latenzen>
+quit
+Ist ein Spiel durch Matt oder Patt beendet, bekommen alle Teilnehmer gameover <game> <ergebnis>. In Spielen mit Uhr
+folgt auf jeden Zug clock <game> <weiß ms> <schwarz ms>, fällt ein Blättchen, kommt flag <game> <seite> und gameover.
+Wiederhergestellte Spiele laufen ohne Uhr weiter. Ein Zuschauer, der zu weit zurückliegt, bekommt resync <game> <fen> und
+danach die Nachrichten ab dieser Stellung.
+*/
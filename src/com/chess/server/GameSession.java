@@ -0,0 +1,319 @@
+package com.chess.server;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.board.ChessBoard;
+import com.chess.engine.board.Move;
+import com.chess.engine.pgn.CoordinateUtilities;
+import com.chess.engine.pgn.FenUtilities;
+import com.chess.engine.player.MoveStatus;
+import com.chess.engine.player.MoveTransition;
+import com.chess.engine.player.Player;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+public class GameSession implements Runnable {
+
+    private final int gameId;
+    private final GameServer server;
+    private final BlockingQueue<Runnable> mailbox;
+    private final Set<ClientConnection> participants;
+    private final SpectatorBroadcast spectators;
+    private final Map<ClientConnection, SpectatorBroadcast.Subscriber> watchers;
+    private volatile ChessBoard board;
+    private String fen;
+    private final ChessClock clock;
+    private TimerWheel.Timeout flagTimeout;
+    private ClientConnection white;
+    private ClientConnection black;
+    private boolean finished;
+
+    GameSession(final int gameId, final GameServer server, final ChessBoard board, final ChessClock clock){
+        this.gameId = gameId;
+        this.server = server;
+        this.board = board;
+        this.fen = FenUtilities.createFENFromGame(board);
+        this.clock = clock;
+        this.mailbox = new LinkedBlockingQueue<>();
+        this.participants = new LinkedHashSet<>();
+        this.spectators = new SpectatorBroadcast(gameId);
+        this.watchers = new HashMap<>();
+    }
+
+    public int getGameId(){
+        return this.gameId;
+    }
+
+    ChessBoard getBoard(){
+        return this.board;
+    }
+
+    void join(final ClientConnection connection, final String side){
+        this.mailbox.add(() -> handleJoin(connection, side));
+    }
+
+    void move(final ClientConnection connection, final String moveText){
+        final long receivedNanos = System.nanoTime();
+        this.mailbox.add(() -> handleMove(connection, moveText, receivedNanos));
+    }
+
+    void leave(final ClientConnection connection){
+        this.mailbox.add(() -> handleLeave(connection));
+    }
+
+    private void flagFall(){
+        this.mailbox.add(this::handleFlagFall);
+    }/*
+Alle Befehle für ein Spiel landen in seiner Mailbox und werden nacheinander auf dem virtuellen Thread des Spiels
+ausgeführt. Board, Uhr, Spieler und Zuschauer gehören nur diesem Thread, deshalb braucht die Session keine Locks. Ein
+Zug wird mit der Zeit seiner Ankunft abgerechnet, die Wartezeit in der Mailbox geht nicht von der Bedenkzeit ab.
+*/
+
+    @Override
+    public void run(){
+        try {
+            while(!this.finished){
+                try {
+                    this.mailbox.take().run();
+                } catch (final RuntimeException e) {
+                    System.err.println("game " + this.gameId + ": command failed: " + e);
+                }
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            this.server.removeGame(this);
+        }
+    }
+/*
+Ein wartendes Spiel blockiert nur seinen virtuellen Thread in take(), der dabei keinen Plattform-Thread belegt. So
+kosten zehntausend offene Spiele kaum mehr als ihre Boards.
+*/
+
+    private void handleJoin(final ClientConnection connection, final String side){
+        switch(side){
+            case "white":
+                if(this.white != null && this.white != connection){
+                    connection.send("error " + this.gameId + " white is taken");
+                    detachIfAbsent(connection);
+                    return;
+                }
+                this.white = connection;
+                break;
+            case "black":
+                if(this.black != null && this.black != connection){
+                    connection.send("error " + this.gameId + " black is taken");
+                    detachIfAbsent(connection);
+                    return;
+                }
+                this.black = connection;
+                break;
+            case "watch":
+                if(!this.watchers.containsKey(connection)){
+                    connection.send("joined " + this.gameId + " watch " + this.fen);
+                    final SpectatorBroadcast.Subscriber subscriber = this.spectators.subscribe(connection::send);
+                    this.watchers.put(connection, subscriber);
+                    this.server.execute(subscriber);
+                }
+                return;
+            default:
+                connection.send("error " + this.gameId + " unknown side " + side);
+                detachIfAbsent(connection);
+                return;
+        }
+        this.participants.add(connection);
+        connection.send("joined " + this.gameId + " " + side + " " + this.fen);
+        if(this.clock != null && !this.clock.isRunning() && this.white != null && this.black != null){
+            this.clock.start(this.board.currentPlayer().getAlliance(), System.nanoTime());
+            scheduleFlagFall();
+            broadcastClock(System.nanoTime());
+        }
+    }
+/*
+Zuschauer bekommen die Stellung direkt und lesen danach mit einem eigenen virtuellen Thread aus dem SpectatorBroadcast.
+Sie sind keine Teilnehmer, die Session schickt ihnen nichts selbst. Die Uhr startet, sobald beide Seiten besetzt sind.
+*/
+
+    private void detachIfAbsent(final ClientConnection connection){
+        if(!this.participants.contains(connection) && !this.watchers.containsKey(connection)){
+            connection.leftGame(this);
+        }
+    }
+
+    private void handleMove(final ClientConnection connection, final String moveText, final long receivedNanos){
+        final long start = System.nanoTime();
+        final Player player = this.board.currentPlayer();
+        if(connection != (player.getAlliance().isWhite() ? this.white : this.black)){
+            connection.send("illegal " + this.gameId + " " + moveText + " not your turn");
+            return;
+        }
+        if(this.clock != null && this.clock.isFlagged(receivedNanos)){
+            flag();
+            return;
+        }
+        final Move move = CoordinateUtilities.fromCoordinateNotation(this.board, moveText);
+        if(move == Move.NULL_MOVE){
+            connection.send("illegal " + this.gameId + " " + moveText + " " + MoveStatus.ILLEGAL_MOVE);
+            return;
+        }
+        final MoveTransition transition = player.makeMove(move);
+        this.server.getValidationLatency().record(System.nanoTime() - start);
+        if(!transition.getMoveStatus().isDone()){
+            connection.send("illegal " + this.gameId + " " + moveText + " " + transition.getMoveStatus());
+            return;
+        }
+        final int ply = GameJournal.plyOf(this.board);
+        this.board = transition.getTransitionBoard();
+        final String snapshot = this.fen;
+        this.fen = FenUtilities.createFENFromGame(this.board);
+        if(this.clock != null && this.clock.isRunning()){
+            this.clock.moveMade(transition, receivedNanos);
+            scheduleFlagFall();
+        }
+        if(!persist(ply, move)){
+            return;
+        }
+        broadcast("moved " + this.gameId + " " + CoordinateUtilities.toCoordinateNotation(move) + " " + this.fen, snapshot);
+        if(this.clock != null && this.clock.isRunning()){
+            broadcastClock(receivedNanos);
+        }
+        final String result = result(this.board);
+        if(result != null){
+            broadcast("gameover " + this.gameId + " " + result);
+            end();
+        }
+    }
+/*
+Gemessen wird nur die Prüfung des Zuges, ohne die Wartezeit in der Mailbox und ohne das Senden an die Teilnehmer. Die
+Zeit bis zur Antwort misst der LoadTestClient selbst.
+*/
+
+    private boolean persist(final int ply, final Move move){
+        final GameJournal journal = this.server.getJournal();
+        if(journal == null){
+            return true;
+        }
+        try {
+            journal.awaitDurable(journal.appendMove(this.gameId, ply, move));
+            return true;
+        } catch (final IOException e) {
+            broadcast("error " + this.gameId + " journal failed: " + e.getMessage());
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        this.finished = true;
+        return false;
+    }
+/*
+Das neue Board wird veröffentlicht, bevor der Zug ins Journal geht, und der Zug wird erst gemeldet, wenn er dauerhaft
+gespeichert ist. So enthält ein Snapshot jeden Zug, der im Journal vor seiner Position steht.
+*/
+
+    private void scheduleFlagFall(){
+        if(this.flagTimeout != null){
+            this.flagTimeout.cancel();
+        }
+        this.flagTimeout = this.server.getClockWheel().schedule(this.clock.getFlagDeadline(), this::flagFall);
+    }
+/*
+Pro Spiel liegt immer nur die Frist der Seite am Zug im Rad. Nach jedem Zug wird sie abgebrochen und neu gesetzt.
+*/
+
+    private void handleFlagFall(){
+        if(!this.finished && this.clock.isFlagged(System.nanoTime())){
+            flag();
+        }
+    }
+/*
+Lag das Timeout schon in der Mailbox, als ein Zug die Uhr umgeschaltet hat, ist die Zeit nach dem Zug nicht abgelaufen
+und es passiert nichts. Für die neue Frist liegt dann schon ein eigenes Timeout im Rad.
+*/
+
+    private void flag(){
+        final boolean whiteFlagged = this.clock.getRunningSide().isWhite();
+        broadcast("flag " + this.gameId + " " + (whiteFlagged ? "white" : "black"));
+        broadcast("gameover " + this.gameId + " " + (whiteFlagged ? "0-1" : "1-0"));
+        end();
+    }
+
+    private void broadcastClock(final long nowNanos){
+        broadcast("clock " + this.gameId + " " +
+                TimeUnit.NANOSECONDS.toMillis(Math.max(0, this.clock.remaining(Alliance.WHITE, nowNanos))) + " " +
+                TimeUnit.NANOSECONDS.toMillis(Math.max(0, this.clock.remaining(Alliance.BLACK, nowNanos))));
+    }
+
+    private void end(){
+        if(this.flagTimeout != null){
+            this.flagTimeout.cancel();
+        }
+        this.spectators.close();
+        for(final ClientConnection participant : this.participants){
+            participant.leftGame(this);
+        }
+        for(final ClientConnection watcher : this.watchers.keySet()){
+            watcher.leftGame(this);
+        }
+        this.server.removeGame(this);
+        final GameJournal journal = this.server.getJournal();
+        if(journal != null){
+            journal.appendEnd(this.gameId);
+        }
+        this.finished = true;
+    }
+/*
+Umgekehrt zum Anlegen verschwindet ein Spiel aus der Map, bevor sein END ins Journal geht. Ein Snapshot enthält also
+nie ein Spiel, dessen END schon vor seiner Position liegt. Die Verbindungen vergessen das Spiel, sonst hielte jede
+lange offene Verbindung alle ihre beendeten Spiele samt Boards fest.
+*/
+
+    private void handleLeave(final ClientConnection connection){
+        connection.leftGame(this);
+        connection.send("left " + this.gameId);
+        final SpectatorBroadcast.Subscriber subscriber = this.watchers.remove(connection);
+        if(subscriber != null){
+            subscriber.cancel();
+        }
+        this.participants.remove(connection);
+        if(this.white == connection){
+            this.white = null;
+        }
+        if(this.black == connection){
+            this.black = null;
+        }
+        if(this.participants.isEmpty() && this.watchers.isEmpty()){
+            end();
+        }
+    }
+
+    private void broadcast(final String message){
+        broadcast(message, this.fen);
+    }
+
+    private void broadcast(final String message, final String snapshot){
+        for(final ClientConnection participant : this.participants){
+            participant.send(message);
+        }
+        this.spectators.publish(message, snapshot);
+    }
+/*
+Die Spieler bekommen jede Nachricht direkt, für alle Zuschauer zusammen wird sie genau einmal in den Ring gelegt.
+snapshot ist die Stellung vor der Nachricht, nur ein Zug ändert sie.
+*/
+
+    private static String result(final ChessBoard board){
+        final Player player = board.currentPlayer();
+        if(player.isInCheckMate()){
+            return player.getAlliance().isWhite() ? "0-1" : "1-0";
+        }
+        if(player.isInStaleMate()){
+            return "1/2-1/2";
+        }
+        return null;
+    }
+}
@@ -0,0 +1,206 @@
+package com.chess.server;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+final class Json {
+
+    private final String text;
+    private int index;
+
+    private Json(final String text){
+        this.text = text;
+        this.index = 0;
+    }
+
+    static Object parse(final String text){
+        final Json json = new Json(text);
+        final Object value = json.readValue();
+        json.skipWhitespace();
+        if(json.index != text.length()){
+            throw json.error("unexpected trailing data");
+        }
+        return value;
+    }
+/*
+Ein kleiner Parser nur für die Anfragen der MoveApi. Objekte werden zu Maps, Arrays zu Listen, Zahlen zu Double, der
+Rest zu String, Boolean oder null. Fehler im Text ergeben eine IllegalArgumentException mit der Stelle.
+*/
+
+    private Object readValue(){
+        skipWhitespace();
+        if(this.index >= this.text.length()){
+            throw error("unexpected end");
+        }
+        final char c = this.text.charAt(this.index);
+        switch(c){
+            case '{': return readObject();
+            case '[': return readArray();
+            case '"': return readString();
+            case 't': return readLiteral("true", Boolean.TRUE);
+            case 'f': return readLiteral("false", Boolean.FALSE);
+            case 'n': return readLiteral("null", null);
+            default:
+                if(c == '-' || (c >= '0' && c <= '9')){
+                    return readNumber();
+                }
+                throw error("unexpected character " + c);
+        }
+    }
+
+    private Map<String, Object> readObject(){
+        final Map<String, Object> object = new LinkedHashMap<>();
+        this.index++;
+        skipWhitespace();
+        if(peek() == '}'){
+            this.index++;
+            return object;
+        }
+        while(true){
+            skipWhitespace();
+            if(peek() != '"'){
+                throw error("expected key");
+            }
+            final String key = readString();
+            skipWhitespace();
+            expect(':');
+            object.put(key, readValue());
+            skipWhitespace();
+            if(peek() == ','){
+                this.index++;
+            }else{
+                expect('}');
+                return object;
+            }
+        }
+    }
+
+    private List<Object> readArray(){
+        final List<Object> array = new ArrayList<>();
+        this.index++;
+        skipWhitespace();
+        if(peek() == ']'){
+            this.index++;
+            return array;
+        }
+        while(true){
+            array.add(readValue());
+            skipWhitespace();
+            if(peek() == ','){
+                this.index++;
+            }else{
+                expect(']');
+                return array;
+            }
+        }
+    }
+
+    private String readString(){
+        this.index++;
+        final StringBuilder builder = new StringBuilder();
+        while(true){
+            if(this.index >= this.text.length()){
+                throw error("unterminated string");
+            }
+            final char c = this.text.charAt(this.index++);
+            if(c == '"'){
+                return builder.toString();
+            }
+            if(c != '\\'){
+                builder.append(c);
+                continue;
+            }
+            if(this.index >= this.text.length()){
+                throw error("unterminated string");
+            }
+            final char escaped = this.text.charAt(this.index++);
+            switch(escaped){
+                case '"': case '\\': case '/': builder.append(escaped); break;
+                case 'b': builder.append('\b'); break;
+                case 'f': builder.append('\f'); break;
+                case 'n': builder.append('\n'); break;
+                case 'r': builder.append('\r'); break;
+                case 't': builder.append('\t'); break;
+                case 'u':
+                    if(this.index + 4 > this.text.length()){
+                        throw error("invalid escape");
+                    }
+                    try {
+                        builder.append((char) Integer.parseInt(this.text.substring(this.index, this.index + 4), 16));
+                    } catch (final NumberFormatException e) {
+                        throw error("invalid escape");
+                    }
+                    this.index += 4;
+                    break;
+                default: throw error("invalid escape \\" + escaped);
+            }
+        }
+    }
+
+    private Double readNumber(){
+        final int start = this.index;
+        while(this.index < this.text.length() && "+-0123456789.eE".indexOf(this.text.charAt(this.index)) >= 0){
+            this.index++;
+        }
+        try {
+            return Double.valueOf(this.text.substring(start, this.index));
+        } catch (final NumberFormatException e) {
+            throw error("invalid number");
+        }
+    }
+
+    private Object readLiteral(final String literal, final Object value){
+        if(!this.text.startsWith(literal, this.index)){
+            throw error("unexpected character " + this.text.charAt(this.index));
+        }
+        this.index += literal.length();
+        return value;
+    }
+
+    private void skipWhitespace(){
+        while(this.index < this.text.length() && Character.isWhitespace(this.text.charAt(this.index))){
+            this.index++;
+        }
+    }
+
+    private char peek(){
+        return this.index < this.text.length() ? this.text.charAt(this.index) : 0;
+    }
+
+    private void expect(final char c){
+        if(peek() != c){
+            throw error("expected " + c);
+        }
+        this.index++;
+    }
+
+    private IllegalArgumentException error(final String message){
+        return new IllegalArgumentException("Invalid JSON at " + this.index + ": " + message);
+    }
+
+    static StringBuilder appendString(final StringBuilder builder, final String value){
+        builder.append('"');
+        for(int i = 0; i < value.length(); i++){
+            final char c = value.charAt(i);
+            switch(c){
+                case '"': builder.append("\\\""); break;
+                case '\\': builder.append("\\\\"); break;
+                case '\n': builder.append("\\n"); break;
+                case '\r': builder.append("\\r"); break;
+                case '\t': builder.append("\\t"); break;
+                default:
+                    if(c < 0x20){
+                        builder.append(String.format("\\u%04x", (int) c));
+                    }else{
+                        builder.append(c);
+                    }
+            }
+        }
+        return builder.append('"');
+    }
+/*
+Antworten werden direkt in einen StringBuilder geschrieben, dafür braucht es nur das Escapen von Strings.
+*/
+}
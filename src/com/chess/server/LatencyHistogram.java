@@ -0,0 +1,101 @@
+package com.chess.server;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int HALF_SUB_BUCKETS = SUB_BUCKETS / 2;
+    private static final int BUCKET_COUNT = bucketIndex(Long.MAX_VALUE) + 1;
+
+    private final AtomicLongArray buckets;
+    private final LongAdder count;
+    private final AtomicLong max;
+
+    public LatencyHistogram(){
+        this.buckets = new AtomicLongArray(BUCKET_COUNT);
+        this.count = new LongAdder();
+        this.max = new AtomicLong();
+    }
+
+    public void record(final long nanos){
+        final long micros = Math.max(0, nanos / 1000);
+        this.buckets.incrementAndGet(bucketIndex(micros));
+        this.count.increment();
+        if(micros > this.max.get()){
+            this.max.accumulateAndGet(micros, Math::max);
+        }
+    }
+/*
+Unter 128 Mikrosekunden hat jeder Wert einen eigenen Zähler. Darüber teilt sich jede Zweierpotenz in 64 gleich breite
+Zähler, der Fehler bleibt so überall unter 1,6% bei nur gut 3700 Zählern für den ganzen long-Bereich. Nichts wird
+abgeschnitten, und das Maximum wird zusätzlich genau mitgeführt. Aufzeichnen ist nur ein atomares Inkrement ohne Lock,
+so können alle Spiele gleichzeitig in dasselbe Histogramm schreiben.
+*/
+
+    private static int bucketIndex(final long micros){
+        if(micros < SUB_BUCKETS){
+            return (int) micros;
+        }
+        final int shift = 63 - Long.numberOfLeadingZeros(micros) - (SUB_BUCKET_BITS - 1);
+        return shift * HALF_SUB_BUCKETS + (int) (micros >>> shift);
+    }
+
+    private static long highestValueInBucket(final int index){
+        if(index < SUB_BUCKETS){
+            return index;
+        }
+        final int shift = index / HALF_SUB_BUCKETS - 1;
+        final long mantissa = index - shift * HALF_SUB_BUCKETS;
+        return ((mantissa + 1) << shift) - 1;
+    }
+
+    public long getCount(){
+        return this.count.sum();
+    }
+
+    public long getMaxMicros(){
+        return this.max.get();
+    }
+
+    public long percentileMicros(final double percentile){
+        final long total = getCount();
+        if(total == 0){
+            return 0;
+        }
+        final long rank = (long) Math.ceil(total * percentile / 100.0);
+        long seen = 0;
+        for(int i = 0; i < this.buckets.length(); i++){
+            seen += this.buckets.get(i);
+            if(seen >= rank){
+                return Math.min(highestValueInBucket(i), getMaxMicros());
+            }
+        }
+        return getMaxMicros();
+    }
+/*
+Ein Perzentil wird als oberes Ende seines Zählers angegeben, also eher etwas zu hoch als zu niedrig, aber nie über dem
+gemessenen Maximum.
+*/
+
+    public void merge(final LatencyHistogram other){
+        for(int i = 0; i < this.buckets.length(); i++){
+            final long value = other.buckets.get(i);
+            if(value != 0){
+                this.buckets.addAndGet(i, value);
+                this.count.add(value);
+            }
+        }
+        this.max.accumulateAndGet(other.getMaxMicros(), Math::max);
+    }
+
+    @Override
+    public String toString(){
+        return String.format("count %d p50 %d us p90 %d us p99 %d us p99.9 %d us max %d us", getCount(),
+                percentileMicros(50), percentileMicros(90), percentileMicros(99), percentileMicros(99.9),
+                getMaxMicros());
+    }
+}
@@ -0,0 +1,183 @@
+package com.chess.server;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+public class LoadTestClient {
+
+    private static final String[] MOVE_CYCLE = {"g1f3", "g8f6", "f3g1", "f6g8"};
+
+    private final int port;
+    private final int games;
+    private final int connections;
+    private final int movesPerGame;
+    private final String timeControl;
+    private final LatencyHistogram roundTripLatency;
+    private final LongAdder moves;
+
+    public LoadTestClient(final int port, final int games, final int connections, final int movesPerGame,
+                          final String timeControl){
+        this.port = port;
+        this.games = games;
+        this.connections = connections;
+        this.movesPerGame = movesPerGame;
+        this.timeControl = timeControl;
+        this.roundTripLatency = new LatencyHistogram();
+        this.moves = new LongAdder();
+    }
+
+    public void run() throws Exception {
+        final long start;
+        try(final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()){
+            final List<Future<?>> clients = new ArrayList<>();
+            start = System.nanoTime();
+            for(int i = 0; i < this.connections; i++){
+                final int gamesForClient = this.games / this.connections + (i < this.games % this.connections ? 1 : 0);
+                clients.add(executor.submit(() -> {
+                    playGames(gamesForClient);
+                    return null;
+                }));
+            }
+            for(final Future<?> client : clients){
+                client.get();
+            }
+        }
+        final double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        System.out.printf("games %d, connections %d, moves %d, %.1f s, %.0f moves/s%n", this.games, this.connections,
+                this.moves.sum(), seconds, this.moves.sum() / seconds);
+        System.out.println("round trip: " + this.roundTripLatency);
+        try(final Socket socket = new Socket(InetAddress.getLoopbackAddress(), this.port)){
+            final BufferedReader input = reader(socket);
+            final Writer output = writer(socket);
+            output.write("stats\n");
+            output.flush();
+            System.out.println("server: " + input.readLine());
+        }
+    }
+/*
+Alle Spiele laufen gleichzeitig. Jede Verbindung spielt ihre Spiele reihum und schickt pro Runde einen Zug für jedes
+Spiel ab, bevor sie die Antworten liest. So liegen beim Server immer Züge aus vielen Spielen gleichzeitig an.
+*/
+
+    private void playGames(final int gameCount){
+        try(final Socket socket = new Socket(InetAddress.getLoopbackAddress(), this.port)){
+            socket.setTcpNoDelay(true);
+            final BufferedReader input = reader(socket);
+            final Writer output = writer(socket);
+            final List<String> gameIds = new ArrayList<>(gameCount);
+            for(int i = 0; i < gameCount; i++){
+                output.write(this.timeControl == null ? "new\n" : "new " + this.timeControl + "\n");
+            }
+            output.flush();
+            for(int i = 0; i < gameCount; i++){
+                gameIds.add(expect(input, "created").split(" ")[1]);
+            }
+            for(final String gameId : gameIds){
+                output.write("join " + gameId + " white\njoin " + gameId + " black\n");
+            }
+            output.flush();
+            for(int i = 0; i < 2 * gameCount; i++){
+                expect(input, "joined");
+            }
+            final Map<String, Long> sent = new HashMap<>();
+            for(int ply = 0; ply < this.movesPerGame; ply++){
+                final String move = MOVE_CYCLE[ply % MOVE_CYCLE.length];
+                for(final String gameId : gameIds){
+                    sent.put(gameId, System.nanoTime());
+                    output.write("move " + gameId + " " + move + "\n");
+                }
+                output.flush();
+                for(int i = 0; i < gameCount; i++){
+                    final String gameId = expect(input, "moved").split(" ")[1];
+                    this.roundTripLatency.record(System.nanoTime() - sent.get(gameId));
+                    this.moves.increment();
+                }
+            }
+            output.write("quit\n");
+            output.flush();
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+/*
+Die Spieler ziehen die Springer hin und her. So ist jeder Zug legal, und die Spiele enden nie von selbst.
+*/
+
+    private static String expect(final BufferedReader input, final String reply) throws IOException {
+        String line = input.readLine();
+        while(line != null && line.startsWith("clock ")){
+            line = input.readLine();
+        }
+        if(line == null || !line.startsWith(reply + " ")){
+            throw new IOException("Expected " + reply + " but got " + line);
+        }
+        return line;
+    }
+
+    private static BufferedReader reader(final Socket socket) throws IOException {
+        return new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+    }
+
+    private static Writer writer(final Socket socket) throws IOException {
+        return new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+    }
+
+    public static void main(final String[] args) throws Exception {
+        int port = GameServer.DEFAULT_PORT;
+        int games = 10_000;
+        int connections = 100;
+        int moves = 20;
+        boolean embedded = false;
+        Path journalDirectory = null;
+        String timeControl = null;
+        for(int i = 0; i < args.length; i++){
+            switch(args[i]){
+                case "-port": port = Integer.parseInt(args[++i]); break;
+                case "-games": games = Integer.parseInt(args[++i]); break;
+                case "-connections": connections = Integer.parseInt(args[++i]); break;
+                case "-moves": moves = Integer.parseInt(args[++i]); break;
+                case "-embedded": embedded = true; break;
+                case "-journal": journalDirectory = Paths.get(args[++i]); break;
+                case "-clock": timeControl = args[++i]; break;
+                default: throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+        if(embedded){
+            final GameJournal journal = journalDirectory == null ? null : new GameJournal(journalDirectory);
+            try(final GameServer server = new GameServer(0, journal)){
+                server.start();
+                new LoadTestClient(server.getPort(), games, connections, moves, timeControl).run();
+            } finally {
+                if(journal != null){
+                    journal.close();
+                    System.out.println("journal: " + journal.getBatches() + " fsyncs");
+                }
+            }
+        }else{
+            new LoadTestClient(port, games, connections, moves, timeControl).run();
+        }
+    }
+}
+/*
+Mit -embedded startet der Client einen eigenen Server im selben Prozess auf einem freien Port, so lässt sich der Test
+ohne zweiten Prozess ausführen. Mit -journal schreibt dieser Server alle Züge in ein Journal. Mit -clock 300+2 laufen
+alle Spiele mit Uhr, die clock Zeilen des Servers werden dabei überlesen.
+*/
@@ -0,0 +1,228 @@
+package com.chess.server;
+
+import com.chess.engine.board.Move;
+import com.chess.engine.pgn.CoordinateUtilities;
+import com.chess.engine.pgn.FenUtilities;
+import com.google.common.cache.CacheStats;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class MoveApiServer implements Closeable {
+
+    public static final int DEFAULT_PORT = 7879;
+    public static final int DEFAULT_CACHE_SIZE = 100_000;
+    private static final int MAX_BATCH = 10_000;
+    private static final int ACCEPT_BACKLOG = 1024;
+
+    private final HttpServer httpServer;
+    private final ExecutorService executor;
+    private final PositionCache positions;
+    private final LatencyHistogram batchLatency;
+
+    public MoveApiServer(final int port, final long cacheSize) throws IOException {
+        this.positions = new PositionCache(cacheSize);
+        this.batchLatency = new LatencyHistogram();
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        this.httpServer = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), ACCEPT_BACKLOG);
+        this.httpServer.setExecutor(this.executor);
+        this.httpServer.createContext("/validate", exchange -> handle(exchange, "POST", this::validate));
+        this.httpServer.createContext("/moves", exchange -> handle(exchange, "POST", this::legalMoves));
+        this.httpServer.createContext("/stats", exchange -> handle(exchange, "GET", body -> stats()));
+    }
+/*
+Jede Anfrage läuft auf einem eigenen virtuellen Thread. Alle Threads teilen sich denselben Cache, eine Stellung wird
+also für alle Clients nur einmal geparst.
+*/
+
+    public void start(){
+        this.httpServer.start();
+    }
+
+    public int getPort(){
+        return this.httpServer.getAddress().getPort();
+    }
+
+    public PositionCache getPositions(){
+        return this.positions;
+    }
+
+    private void handle(final HttpExchange exchange, final String method, final Endpoint endpoint) throws IOException {
+        try(exchange){
+            if(!exchange.getRequestMethod().equals(method)){
+                exchange.getResponseHeaders().set("Allow", method);
+                respond(exchange, 405, error("use " + method));
+                return;
+            }
+            final long start = System.nanoTime();
+            final String body;
+            try(final InputStream input = exchange.getRequestBody()){
+                body = new String(input.readAllBytes(), StandardCharsets.UTF_8);
+            }
+            String response;
+            int status = 200;
+            try {
+                response = endpoint.answer(body);
+            } catch (final IllegalArgumentException e) {
+                response = error(e.getMessage());
+                status = 400;
+            }
+            this.batchLatency.record(System.nanoTime() - start);
+            respond(exchange, status, response);
+        }
+    }
+
+    private String validate(final String body){
+        final List<?> requests = batch(Json.parse(body));
+        final StringBuilder response = new StringBuilder(requests.size() * 96).append('[');
+        for(int i = 0; i < requests.size(); i++){
+            if(i > 0){
+                response.append(',');
+            }
+            if(!(requests.get(i) instanceof Map)){
+                response.append(error("expected {\"fen\": ..., \"move\": ...}"));
+                continue;
+            }
+            final Map<?, ?> request = (Map<?, ?>) requests.get(i);
+            if(!(request.get("fen") instanceof String) || !(request.get("move") instanceof String)){
+                response.append(error("expected {\"fen\": ..., \"move\": ...}"));
+                continue;
+            }
+            final PositionCache.Position position;
+            try {
+                position = this.positions.get((String) request.get("fen"));
+            } catch (final IllegalArgumentException e) {
+                response.append(error(e.getMessage()));
+                continue;
+            }
+            final Move move = position.findLegalMove((String) request.get("move"));
+            if(move == null){
+                response.append("{\"legal\":false}");
+            }else{
+                response.append("{\"legal\":true,\"fen\":");
+                Json.appendString(response, FenUtilities.createFENFromGame(
+                        position.getBoard().currentPlayer().makeMove(move).getTransitionBoard()));
+                response.append('}');
+            }
+        }
+        return response.append(']').toString();
+    }
+/*
+Die Anfrage ist ein Array von {"fen": ..., "move": "e2e4"}, die Antwort ein Array gleicher Länge und Reihenfolge mit
+{"legal": true, "fen": <Stellung danach>}, {"legal": false} oder {"error": ...}. Ein Fehler in einem Eintrag betrifft
+nur diesen Eintrag, nicht den ganzen Batch.
+*/
+
+    private String legalMoves(final String body){
+        final List<?> fens = batch(Json.parse(body));
+        final StringBuilder response = new StringBuilder(fens.size() * 256).append('[');
+        for(int i = 0; i < fens.size(); i++){
+            if(i > 0){
+                response.append(',');
+            }
+            if(!(fens.get(i) instanceof String)){
+                response.append(error("expected a FEN string"));
+                continue;
+            }
+            final PositionCache.Position position;
+            try {
+                position = this.positions.get((String) fens.get(i));
+            } catch (final IllegalArgumentException e) {
+                response.append(error(e.getMessage()));
+                continue;
+            }
+            response.append("{\"moves\":[");
+            boolean first = true;
+            for(final Move move : position.getLegalMoves().values()){
+                if(!first){
+                    response.append(',');
+                }
+                Json.appendString(response, CoordinateUtilities.toCoordinateNotation(move));
+                first = false;
+            }
+            response.append("]}");
+        }
+        return response.append(']').toString();
+    }
+/*
+Die Anfrage ist ein Array von FENs, die Antwort enthält für jede Stellung {"moves": [...]} mit allen legalen Zügen in
+Koordinatennotation, Umwandlungen mit angehängtem q.
+*/
+
+    private String stats(){
+        final CacheStats stats = this.positions.getStats();
+        return String.format(Locale.ROOT, "{\"cachedPositions\":%d,\"hits\":%d,\"misses\":%d,\"evictions\":%d,\"hitRate\":%.4f," +
+                        "\"requests\":%d,\"p50Micros\":%d,\"p99Micros\":%d}",
+                this.positions.size(), stats.hitCount(), stats.missCount(), stats.evictionCount(), stats.hitRate(),
+                this.batchLatency.getCount(), this.batchLatency.percentileMicros(50),
+                this.batchLatency.percentileMicros(99));
+    }
+
+    private static List<?> batch(final Object request){
+        if(!(request instanceof List)){
+            throw new IllegalArgumentException("expected a JSON array");
+        }
+        final List<?> batch = (List<?>) request;
+        if(batch.size() > MAX_BATCH){
+            throw new IllegalArgumentException("at most " + MAX_BATCH + " entries per request");
+        }
+        return batch;
+    }
+
+    private static String error(final String message){
+        return Json.appendString(new StringBuilder("{\"error\":"), message).append('}').toString();
+    }
+
+    private static void respond(final HttpExchange exchange, final int status, final String body) throws IOException {
+        final byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try(final OutputStream output = exchange.getResponseBody()){
+            output.write(bytes);
+        }
+    }
+
+    @Override
+    public void close(){
+        this.httpServer.stop(0);
+        this.executor.shutdownNow();
+    }
+
+    private interface Endpoint {
+        String answer(String body);
+    }
+
+    public static void main(final String[] args) throws IOException, InterruptedException {
+        int port = DEFAULT_PORT;
+        long cacheSize = DEFAULT_CACHE_SIZE;
+        for(int i = 0; i + 1 < args.length; i += 2){
+            switch(args[i]){
+                case "-port": port = Integer.parseInt(args[i + 1]); break;
+                case "-cache": cacheSize = Long.parseLong(args[i + 1]); break;
+                default: throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+        final MoveApiServer server = new MoveApiServer(port, cacheSize);
+        server.start();
+        System.out.println("JavaChess move API listening on http://localhost:" + server.getPort());
+        Thread.currentThread().join();
+    }
+}
+/*
+POST /validate   [{"fen": "...", "move": "e2e4"}, ...]   -> [{"legal": true, "fen": "..."}, {"legal": false}, ...]
+POST /moves      ["<fen>", ...]                          -> [{"moves": ["e2e4", ...]}, ...]
+GET  /stats                                              -> Größe und Trefferquote des Caches, Latenz pro Anfrage
+Der Server hört wie der GameServer nur auf der Loopback-Adresse.
+*/
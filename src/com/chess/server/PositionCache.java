@@ -0,0 +1,84 @@
+package com.chess.server;
+
+import com.chess.engine.board.ChessBoard;
+import com.chess.engine.board.Move;
+import com.chess.engine.pgn.CoordinateUtilities;
+import com.chess.engine.pgn.FenUtilities;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+public class PositionCache {
+
+    private final LoadingCache<String, Position> positions;
+
+    public PositionCache(final long maximumSize){
+        this.positions = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build(new CacheLoader<String, Position>() {
+                    @Override
+                    public Position load(final String fen){
+                        return new Position(FenUtilities.createGameFromFEN(fen));
+                    }
+                });
+    }
+
+    public Position get(final String fen){
+        try {
+            return this.positions.getUnchecked(fen.trim());
+        } catch (final UncheckedExecutionException e) {
+            throw new IllegalArgumentException("Invalid FEN: " + fen, e.getCause());
+        }
+    }
+/*
+Der Cache ist nach FEN geschlüsselt und verdrängt die am längsten nicht benutzten Stellungen. Fragen viele Threads
+gleichzeitig nach derselben neuen Stellung, wird sie trotzdem nur einmal geladen. Eine ungültige FEN wird nicht
+gespeichert und ergibt eine IllegalArgumentException.
+*/
+
+    public CacheStats getStats(){
+        return this.positions.stats();
+    }
+
+    public long size(){
+        return this.positions.size();
+    }
+
+    public static final class Position {
+
+        private final ChessBoard board;
+        private final ImmutableMap<String, Move> legalMoves;
+
+        private Position(final ChessBoard board){
+            this.board = board;
+            final ImmutableMap.Builder<String, Move> builder = ImmutableMap.builder();
+            for(final Move move : board.currentPlayer().getLegalMoves()){
+                if(board.currentPlayer().makeMove(move).getMoveStatus().isDone()){
+                    builder.put(CoordinateUtilities.toCoordinateNotation(move).substring(0, 4), move);
+                }
+            }
+            this.legalMoves = builder.buildKeepingLast();
+        }
+/*
+getLegalMoves enthält auch Züge, die den eigenen König im Schach lassen. Sie werden hier einmal pro Stellung
+aussortiert, danach ist jede Prüfung nur noch ein Nachschlagen. Der Schlüssel ist der Zug ohne Umwandlungsbuchstaben,
+weil immer in eine Dame umgewandelt wird.
+*/
+
+        public ChessBoard getBoard(){
+            return this.board;
+        }
+
+        public ImmutableMap<String, Move> getLegalMoves(){
+            return this.legalMoves;
+        }
+
+        public Move findLegalMove(final String moveText){
+            return moveText.length() < 4 ? null : this.legalMoves.get(moveText.substring(0, 4));
+        }
+    }
+}
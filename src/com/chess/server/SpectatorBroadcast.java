@@ -0,0 +1,204 @@
+package com.chess.server;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+public class SpectatorBroadcast {
+
+    public static final int DEFAULT_CAPACITY = 256;
+
+    private final int gameId;
+    private final AtomicReferenceArray<Event> ring;
+    private final int mask;
+    private final AtomicLong published;
+    private final LongAdder resyncs;
+    private volatile CountDownLatch signal;
+    private volatile boolean closed;
+    private long nextSequence;
+
+    public SpectatorBroadcast(final int gameId){
+        this(gameId, DEFAULT_CAPACITY);
+    }
+
+    public SpectatorBroadcast(final int gameId, final int capacity){
+        if(capacity <= 0 || Integer.bitCount(capacity) != 1){
+            throw new IllegalArgumentException("capacity must be a power of two");
+        }
+        this.gameId = gameId;
+        this.ring = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+        this.published = new AtomicLong(-1);
+        this.resyncs = new LongAdder();
+        this.signal = new CountDownLatch(1);
+    }
+/*
+Ein Ringpuffer mit genau einem Schreiber, dem Thread der GameSession. Jedes Ereignis wird einmal abgelegt, egal wie
+viele Zuschauer zusehen. Jeder Zuschauer liest mit seinem eigenen Zeiger in seinem eigenen Tempo, es gibt keine
+Warteschlange pro Zuschauer.
+*/
+
+    public void publish(final String message, final String snapshot){
+        final long sequence = this.nextSequence++;
+        this.ring.lazySet((int) (sequence & this.mask), new Event(sequence, message, snapshot));
+        this.published.lazySet(sequence);
+        final CountDownLatch previous = this.signal;
+        this.signal = new CountDownLatch(1);
+        previous.countDown();
+    }
+/*
+snapshot ist die Stellung vor dem Ereignis. Wer mit dieser FEN neu aufsetzt, bekommt danach genau die Ereignisse ab
+diesem. Das Veröffentlichen ist ohne Lock: ein Eintrag im Ring, der Zähler und ein neues Signal. Das alte Signal weckt
+nur den ersten wartenden Leser, die AQS Freigabe im Shared-Modus reicht das Wecken dann von Leser zu Leser weiter.
+*/
+
+    public void close(){
+        this.closed = true;
+        this.signal.countDown();
+    }
+
+    public Subscriber subscribe(final Consumer<String> output){
+        return new Subscriber(output, this.published.get() + 1);
+    }
+
+    public long getResyncs(){
+        return this.resyncs.sum();
+    }
+
+    private static final class Event {
+
+        private final long sequence;
+        private final String message;
+        private final String snapshot;
+
+        private Event(final long sequence, final String message, final String snapshot){
+            this.sequence = sequence;
+            this.message = message;
+            this.snapshot = snapshot;
+        }
+    }
+
+    public final class Subscriber implements Runnable {
+
+        private final Consumer<String> output;
+        private long next;
+        private volatile boolean cancelled;
+        private volatile Thread thread;
+
+        private Subscriber(final Consumer<String> output, final long next){
+            this.output = output;
+            this.next = next;
+        }
+
+        @Override
+        public void run(){
+            this.thread = Thread.currentThread();
+            try {
+                while(!this.cancelled){
+                    final CountDownLatch waitFor = SpectatorBroadcast.this.signal;
+                    final long available = SpectatorBroadcast.this.published.get();
+                    if(this.next > available){
+                        if(SpectatorBroadcast.this.closed){
+                            return;
+                        }
+                        waitFor.await();
+                        continue;
+                    }
+                    final Event event = SpectatorBroadcast.this.ring.get((int) (this.next & SpectatorBroadcast.this.mask));
+                    if(event.sequence != this.next){
+                        resync();
+                        continue;
+                    }
+                    this.output.accept(event.message);
+                    this.next++;
+                }
+            } catch (final InterruptedException e) {
+                // abgemeldet
+            }
+        }
+/*
+Das Signal wird vor dem Zähler gelesen. Kommt dazwischen ein neues Ereignis, ist das gelesene Signal schon ausgelöst
+und await kehrt sofort zurück, so geht kein Wecken verloren.
+*/
+
+        private void resync(){
+            final long latest = SpectatorBroadcast.this.published.get();
+            final Event event = SpectatorBroadcast.this.ring.get((int) (latest & SpectatorBroadcast.this.mask));
+            if(event.sequence != latest){
+                return;
+            }
+            SpectatorBroadcast.this.resyncs.increment();
+            this.output.accept("resync " + SpectatorBroadcast.this.gameId + " " + event.snapshot);
+            this.next = latest;
+        }
+/*
+Ist der Zuschauer so weit zurück, dass sein nächstes Ereignis schon überschrieben ist, springt er zum neuesten Ereignis
+und bekommt vorher dessen Stellung als resync. Die Ereignisse dazwischen sieht er nie, der Schreiber wartet nie auf ihn.
+*/
+
+        public void cancel(){
+            this.cancelled = true;
+            final Thread reader = this.thread;
+            if(reader != null){
+                reader.interrupt();
+            }
+        }
+    }
+
+    public static void main(final String[] args) throws InterruptedException {
+        int spectators = 10_000;
+        int slowSpectators = 100;
+        int events = 500;
+        long intervalMillis = 10;
+        for(int i = 0; i + 1 < args.length; i += 2){
+            switch(args[i]){
+                case "-spectators": spectators = Integer.parseInt(args[i + 1]); break;
+                case "-slow": slowSpectators = Integer.parseInt(args[i + 1]); break;
+                case "-events": events = Integer.parseInt(args[i + 1]); break;
+                case "-interval": intervalMillis = Long.parseLong(args[i + 1]); break;
+                default: throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+        final SpectatorBroadcast broadcast = new SpectatorBroadcast(1);
+        final LongAdder delivered = new LongAdder();
+        final LatencyHistogram publishLatency = new LatencyHistogram();
+        final long start;
+        try(final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()){
+            for(int i = 0; i < spectators; i++){
+                final boolean slow = i < slowSpectators;
+                final Subscriber subscriber = broadcast.subscribe(message -> {
+                    delivered.increment();
+                    if(slow){
+                        try {
+                            Thread.sleep(1);
+                        } catch (final InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }
+                });
+                executor.execute(subscriber);
+            }
+            start = System.nanoTime();
+            for(int i = 0; i < events; i++){
+                final long publishStart = System.nanoTime();
+                broadcast.publish("moved 1 e2e4 " + i, "fen " + i);
+                publishLatency.record(System.nanoTime() - publishStart);
+                Thread.sleep(intervalMillis);
+            }
+            broadcast.close();
+        }
+        final double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        System.out.printf("%d events to %d spectators (%d slow) in %.2f s, %d messages delivered, %d resyncs%n",
+                events, spectators, slowSpectators, seconds, delivered.sum(), broadcast.getResyncs());
+        System.out.println("publish: " + publishLatency);
+    }
+/*
+Der Benchmark veröffentlicht alle -interval Millisekunden ein Ereignis an viele Zuschauer, von denen einige für jede
+Nachricht eine Millisekunde brauchen. Gemessen wird die Zeit, die das Veröffentlichen den Schreiber kostet, und wie oft langsame Zuschauer neu
+aufsetzen mussten.
+*/
+}
@@ -0,0 +1,208 @@
+package com.chess.server;
+
+import java.io.Closeable;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+public final class TimerWheel implements Closeable {
+
+    public static final long DEFAULT_TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    public static final int DEFAULT_WHEEL_SIZE = 1024;
+
+    private final long tickNanos;
+    private final int mask;
+    private final Timeout[] buckets;
+    private final Queue<Timeout> scheduled;
+    private final long startNanos;
+    private final Thread wheelThread;
+    private long currentTick;
+    private volatile boolean closed;
+
+    public TimerWheel(){
+        this(DEFAULT_TICK_NANOS, DEFAULT_WHEEL_SIZE);
+    }
+
+    public TimerWheel(final long tickNanos, final int wheelSize){
+        if(tickNanos <= 0 || wheelSize <= 0 || Integer.bitCount(wheelSize) != 1){
+            throw new IllegalArgumentException("tick must be positive and wheel size a power of two");
+        }
+        this.tickNanos = tickNanos;
+        this.mask = wheelSize - 1;
+        this.buckets = new Timeout[wheelSize];
+        this.scheduled = new ConcurrentLinkedQueue<>();
+        this.startNanos = System.nanoTime();
+        this.wheelThread = new Thread(this::turn, "clock-wheel");
+        this.wheelThread.setDaemon(true);
+        this.wheelThread.start();
+    }
+/*
+Ein Hashed Timer Wheel: Jeder Tick hat einen Eimer, ein Timeout liegt im Eimer des Ticks, in dem seine Frist abläuft.
+Fristen, die weiter als eine Umdrehung entfernt sind, zählen ihre restlichen Runden herunter. Ein einziger Thread
+dreht das Rad, egal wie viele Uhren laufen, und pro Tick wird nur ein Eimer angesehen.
+*/
+
+    public Timeout schedule(final long deadlineNanos, final Runnable task){
+        final Timeout timeout = new Timeout(deadlineNanos, task);
+        this.scheduled.add(timeout);
+        return timeout;
+    }
+/*
+Neue Timeouts gehen nur in eine lock-freie Queue. Einsortiert werden sie vom Rad-Thread selbst, damit die Eimer nur
+einem Thread gehören.
+*/
+
+    private void turn(){
+        while(!this.closed){
+            final long tickEnd = this.startNanos + (this.currentTick + 1) * this.tickNanos;
+            final long wait = tickEnd - System.nanoTime();
+            if(wait > 0){
+                LockSupport.parkNanos(this, wait);
+                continue;
+            }
+            transferScheduled();
+            expireBucket((int) (this.currentTick & this.mask));
+            this.currentTick++;
+        }
+    }
+/*
+Ist der Thread einmal zu spät aufgewacht, holt die Schleife die verpassten Ticks ohne zu schlafen nach.
+*/
+
+    private void transferScheduled(){
+        Timeout timeout;
+        while((timeout = this.scheduled.poll()) != null){
+            if(timeout.state.get() != Timeout.PENDING){
+                continue;
+            }
+            final long tick = Math.max(this.currentTick,
+                    Math.floorDiv(timeout.deadlineNanos - this.startNanos, this.tickNanos));
+            timeout.remainingRounds = (tick - this.currentTick) / this.buckets.length;
+            final int bucket = (int) (tick & this.mask);
+            timeout.next = this.buckets[bucket];
+            if(timeout.next != null){
+                timeout.next.previous = timeout;
+            }
+            this.buckets[bucket] = timeout;
+        }
+    }
+
+    private void expireBucket(final int bucket){
+        Timeout timeout = this.buckets[bucket];
+        while(timeout != null){
+            final Timeout next = timeout.next;
+            if(timeout.state.get() != Timeout.PENDING){
+                remove(bucket, timeout);
+            }else if(timeout.remainingRounds > 0){
+                timeout.remainingRounds--;
+            }else{
+                remove(bucket, timeout);
+                if(timeout.state.compareAndSet(Timeout.PENDING, Timeout.EXPIRED)){
+                    try {
+                        timeout.task.run();
+                    } catch (final RuntimeException e) {
+                        System.err.println("timer task failed: " + e);
+                    }
+                }
+            }
+            timeout = next;
+        }
+    }
+/*
+Abgebrochene Timeouts werden nicht sofort aus ihrem Eimer entfernt, sondern erst, wenn das Rad das nächste Mal dort
+vorbeikommt. Die Aufgaben laufen auf dem Rad-Thread und sollen deshalb nur etwas weiterreichen, nicht selbst arbeiten.
+*/
+
+    private void remove(final int bucket, final Timeout timeout){
+        if(timeout.previous != null){
+            timeout.previous.next = timeout.next;
+        }else{
+            this.buckets[bucket] = timeout.next;
+        }
+        if(timeout.next != null){
+            timeout.next.previous = timeout.previous;
+        }
+        timeout.next = null;
+        timeout.previous = null;
+    }
+
+    @Override
+    public void close(){
+        this.closed = true;
+        LockSupport.unpark(this.wheelThread);
+    }
+
+    public static final class Timeout {
+
+        private static final int PENDING = 0;
+        private static final int CANCELLED = 1;
+        private static final int EXPIRED = 2;
+
+        private final long deadlineNanos;
+        private final Runnable task;
+        private final AtomicInteger state;
+        private long remainingRounds;
+        private Timeout next;
+        private Timeout previous;
+
+        private Timeout(final long deadlineNanos, final Runnable task){
+            this.deadlineNanos = deadlineNanos;
+            this.task = task;
+            this.state = new AtomicInteger(PENDING);
+        }
+
+        public long getDeadlineNanos(){
+            return this.deadlineNanos;
+        }
+
+        public boolean cancel(){
+            return this.state.compareAndSet(PENDING, CANCELLED);
+        }
+
+        public boolean isExpired(){
+            return this.state.get() == EXPIRED;
+        }
+    }
+/*
+Abbrechen und Ablaufen entscheiden sich über dasselbe compareAndSet. Liefert cancel true, läuft die Aufgabe garantiert
+nicht mehr, sonst ist sie schon gelaufen oder läuft gerade.
+*/
+
+    public static void main(final String[] args) throws InterruptedException {
+        int timeouts = 100_000;
+        long spreadMillis = 5_000;
+        for(int i = 0; i + 1 < args.length; i += 2){
+            switch(args[i]){
+                case "-timeouts": timeouts = Integer.parseInt(args[i + 1]); break;
+                case "-spread": spreadMillis = Long.parseLong(args[i + 1]); break;
+                default: throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+        final LatencyHistogram lateness = new LatencyHistogram();
+        final CountDownLatch expired = new CountDownLatch(timeouts - timeouts / 2);
+        final Random random = new Random(1);
+        try(final TimerWheel wheel = new TimerWheel()){
+            final long start = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+            for(int i = 0; i < timeouts; i++){
+                final long deadline = start + (long) (random.nextDouble() * TimeUnit.MILLISECONDS.toNanos(spreadMillis));
+                final Timeout timeout = wheel.schedule(deadline, () -> {
+                    lateness.record(System.nanoTime() - deadline);
+                    expired.countDown();
+                });
+                if(i % 2 == 1){
+                    timeout.cancel();
+                }
+            }
+            expired.await();
+        }
+        System.out.println(timeouts + " timeouts over " + spreadMillis + " ms, half cancelled, lateness: " + lateness);
+    }
+/*
+Der Benchmark verteilt viele Fristen über einige Sekunden, bricht jede zweite wieder ab und misst, wie spät die übrigen
+nach ihrer Frist ausgelöst werden. Die erste Frist liegt eine Sekunde in der Zukunft, damit das Anlegen nicht mitzählt.
+*/
+}
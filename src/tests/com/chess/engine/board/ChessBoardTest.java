@@ -1,6 +1,9 @@
 package tests.com.chess.engine.board;
 
+import com.chess.engine.board.BoardUtils;
 import com.chess.engine.board.ChessBoard;
+import com.chess.engine.board.Move;
+import com.chess.engine.player.MoveTransition;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -14,17 +17,59 @@ class ChessBoardTest {
         assertFalse(board.currentPlayer().isInCheck());
         assertFalse(board.currentPlayer().isInCheckMate());
         assertFalse(board.currentPlayer().isCastled());
-//       assertTrue(board.currentPlayer().isKingSideCastleCapable());
-//       assertTrue(board.currentPlayer().isQueenSideCastleCapable());
+        assertTrue(board.currentPlayer().isKingSideCastleCapable());
+        assertTrue(board.currentPlayer().isQueenSideCastleCapable());
         assertEquals(board.currentPlayer(), board.whitePlayer());
         assertEquals(board.currentPlayer().getOpponent(), board.blackPlayer());
         assertFalse(board.currentPlayer().getOpponent().isInCheck());
         assertFalse(board.currentPlayer().getOpponent().isInCheckMate());
         assertFalse(board.currentPlayer().getOpponent().isCastled());
-//       assertTrue(board.currentPlayer().getOpponent().isKingSideCastleCapable());
-//       assertTrue(board.currentPlayer().getOpponent().isQueenSideCastleCapable());
+        assertTrue(board.currentPlayer().getOpponent().isKingSideCastleCapable());
+        assertTrue(board.currentPlayer().getOpponent().isQueenSideCastleCapable());
 //       assertEquals(new StandardBoardEvaluator().evaluate(board,0,0));
         assertTrue(board.whitePlayer().toString().equals("White"));
         assertTrue(board.blackPlayer().toString().equals("Black"));
+        assertEquals(board.getHalfMoveClock(), 0);
+        assertFalse(board.isRepetition());
+    }
+
+    @Test
+    public void threefoldRepetition(){
+        final ChessBoard start = ChessBoard.createStandardBoard();
+        ChessBoard board = start;
+        for(int i = 0; i < 2; i++){
+            board = makeMove(board, "g1", "f3");
+            board = makeMove(board, "g8", "f6");
+            board = makeMove(board, "f3", "g1");
+            board = makeMove(board, "f6", "g8");
+            assertEquals(board.getZobristKey(), start.getZobristKey());
+            assertEquals(board.getRepetitionCount(), i + 1);
+        }
+        assertTrue(board.isThreefoldRepetition());
+        assertEquals(board.getHalfMoveClock(), 8);
+
+        board = makeMove(board, "e2", "e4");
+        assertEquals(board.getHalfMoveClock(), 0);
+        assertFalse(board.isRepetition());
+    }
+
+    @Test
+    public void kingMoveLosesCastlingRights(){
+        ChessBoard board = ChessBoard.createStandardBoard();
+        board = makeMove(board, "e2", "e4");
+        board = makeMove(board, "e7", "e5");
+        board = makeMove(board, "e1", "e2");
+        assertFalse(board.whitePlayer().isKingSideCastleCapable());
+        assertFalse(board.whitePlayer().isQueenSideCastleCapable());
+        assertTrue(board.blackPlayer().isKingSideCastleCapable());
+        assertEquals(board.getHalfMoveClock(), 1);
+    }
+
+    private static ChessBoard makeMove(final ChessBoard board, final String from, final String to){
+        final Move move = Move.MoveFactory.createMove(board, BoardUtils.getCoordinateAtPosition(from),
+                BoardUtils.getCoordinateAtPosition(to));
+        final MoveTransition transition = board.currentPlayer().makeMove(move);
+        assertTrue(transition.getMoveStatus().isDone());
+        return transition.getTransitionBoard();
     }
 }
\ No newline at end of file
@@ -0,0 +1,77 @@
+package tests.com.chess.engine.pgn;
+
+import com.chess.engine.board.ChessBoard;
+import com.chess.engine.board.Move;
+import com.chess.engine.pgn.BinaryGameReader;
+import com.chess.engine.pgn.BinaryGameWriter;
+import com.chess.engine.pgn.FenUtilities;
+import com.chess.engine.pgn.GameRecord;
+import com.chess.engine.pgn.SanUtilities;
+import com.chess.gui.Table.MoveLog;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinaryGameTest {
+
+    private static final String MATE_IN_ONE = "6k1/5ppp/8/8/8/8/8/R5K1 w - - 0 1";
+    private static final String KIWIPETE = "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1";
+
+    @Test
+    public void roundTrip() throws IOException {
+        final ChessBoard standard = ChessBoard.createStandardBoard();
+        final MoveLog standardGame = play(standard, "e4", "e5", "Nf3", "Nc6", "Bb5", "a6", "O-O");
+        final ChessBoard mateInOne = FenUtilities.createGameFromFEN(MATE_IN_ONE);
+        final MoveLog fenGame = play(mateInOne, "Ra8#");
+        final ChessBoard kiwipete = FenUtilities.createGameFromFEN(KIWIPETE);
+        final MoveLog emptyFenGame = new MoveLog();
+        final MoveLog emptyGame = new MoveLog();
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final BinaryGameWriter writer = new BinaryGameWriter(new DataOutputStream(bytes));
+        writer.write(standard, standardGame.getMoves(), "*");
+        writer.write(mateInOne, fenGame.getMoves(), "1-0");
+        writer.write(kiwipete, emptyFenGame.getMoves(), "1/2-1/2");
+        writer.write(standard, emptyGame.getMoves(), "*");
+
+        final BinaryGameReader reader = new BinaryGameReader(
+                new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+        assertRecord(reader.read(), standard, standardGame, "*");
+        assertRecord(reader.read(), mateInOne, fenGame, "1-0");
+        assertRecord(reader.read(), kiwipete, emptyFenGame, "1/2-1/2");
+        assertRecord(reader.read(), standard, emptyGame, "*");
+        assertNull(reader.read());
+    }
+/*
+Eine Partie aus der Grundstellung, eine aus einer FEN und zwei ohne Züge. Gerade ohne Züge lässt sich die Startstellung
+nicht aus dem ersten Zug ablesen, sie muss trotzdem wieder herauskommen.
+*/
+
+    private static MoveLog play(final ChessBoard startBoard, final String... sanMoves){
+        final MoveLog moveLog = new MoveLog();
+        ChessBoard board = startBoard;
+        for(final String san : sanMoves){
+            final Move move = SanUtilities.fromSan(board, san);
+            moveLog.addMove(move);
+            board = board.currentPlayer().makeMove(move).getTransitionBoard();
+        }
+        return moveLog;
+    }
+
+    private static void assertRecord(final GameRecord record, final ChessBoard startBoard, final MoveLog moveLog,
+                                     final String outcome){
+        assertNotNull(record);
+        assertEquals(FenUtilities.createFENFromGame(record.getStartBoard()), FenUtilities.createFENFromGame(startBoard));
+        assertEquals(record.getMoves(), moveLog.getMoves());
+        final ChessBoard finalBoard = moveLog.size() == 0 ? startBoard :
+                moveLog.getMoves().get(moveLog.size() - 1).execute();
+        assertEquals(record.getFinalBoard().getZobristKey(), finalBoard.getZobristKey());
+        assertEquals(record.getOutcome(), outcome);
+    }
+}
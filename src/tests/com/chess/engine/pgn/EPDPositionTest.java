@@ -0,0 +1,38 @@
+package tests.com.chess.engine.pgn;
+
+import com.chess.engine.board.Move;
+import com.chess.engine.pgn.EPDPosition;
+import com.chess.engine.pgn.SanUtilities;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EPDPositionTest {
+
+    @Test
+    public void supportedPositionIsScored(){
+        final EPDPosition position = EPDPosition.parse("6k1/5ppp/8/8/8/8/8/R5K1 w - - bm Ra8#; am Kf1; id \"mate\";");
+        assertTrue(position.isSupported());
+        assertTrue(position.hasSolution());
+        assertEquals(position.getId(), "mate");
+        assertTrue(position.isSolvedBy(SanUtilities.fromSan(position.getBoard(), "Ra8#")));
+        assertFalse(position.isSolvedBy(SanUtilities.fromSan(position.getBoard(), "Kf1")));
+        assertFalse(position.isSolvedBy(SanUtilities.fromSan(position.getBoard(), "Kg2")));
+    }
+
+    @Test
+    public void unparsableBestMoveMarksPositionUnsupported(){
+        final EPDPosition position = EPDPosition.parse("8/4P1k1/8/8/8/8/8/4K3 w - - bm e8=N+; am Kd1; id \"under\";");
+        assertFalse(position.isSupported());
+        assertEquals(position.getUnsupportedMoves(), Arrays.asList("e8=N+"));
+        assertFalse(position.hasSolution());
+        for(final Move move : position.getBoard().currentPlayer().getLegalMoves()){
+            assertFalse(position.isSolvedBy(move));
+        }
+    }
+/*
+Früher fiel e8=N einfach weg, übrig blieb nur am Kd1, und jeder andere Zug hätte die Stellung gelöst.
+*/
+}
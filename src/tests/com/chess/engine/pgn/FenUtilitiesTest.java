@@ -0,0 +1,50 @@
+package tests.com.chess.engine.pgn;
+
+import com.chess.engine.board.BoardUtils;
+import com.chess.engine.board.ChessBoard;
+import com.chess.engine.pgn.FenUtilities;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FenUtilitiesTest {
+    @Test
+    public void standardBoard(){
+        final ChessBoard board = FenUtilities.createGameFromFEN(FenUtilities.STANDARD_BOARD_FEN);
+        assertEquals(board.getZobristKey(), ChessBoard.createStandardBoard().getZobristKey());
+        assertEquals(FenUtilities.createFENFromGame(ChessBoard.createStandardBoard()), FenUtilities.STANDARD_BOARD_FEN);
+        assertEquals(board.currentPlayer().getLegalMoves().size(), 20);
+    }
+
+    @Test
+    public void roundTrip(){
+        final String[] fens = {
+                "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+                "rnbqkbnr/ppp1pppp/8/3pP3/8/8/PPPP1PPP/RNBQKBNR w KQkq d6 0 3",
+                "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1",
+                "r3k2r/8/8/8/8/8/8/R3K2R b Kq - 5 40"
+        };
+        for(final String fen : fens){
+            assertEquals(FenUtilities.createFENFromGame(FenUtilities.createGameFromFEN(fen)), fen);
+        }
+    }
+
+    @Test
+    public void positionDetails(){
+        final ChessBoard board = FenUtilities.createGameFromFEN("rnbqkbnr/ppp1pppp/8/3pP3/8/8/PPPP1PPP/RNBQKBNR w Kq d6 4 3");
+        assertTrue(board.currentPlayer().getAlliance().isWhite());
+        assertTrue(board.whitePlayer().isKingSideCastleCapable());
+        assertFalse(board.whitePlayer().isQueenSideCastleCapable());
+        assertFalse(board.blackPlayer().isKingSideCastleCapable());
+        assertTrue(board.blackPlayer().isQueenSideCastleCapable());
+        assertEquals(board.getEnPassantPawn().getPiecePosition(), BoardUtils.getCoordinateAtPosition("d5"));
+        assertEquals(board.getHalfMoveClock(), 4);
+        assertEquals(board.getFullMoveNumber(), 3);
+    }
+
+    @Test
+    public void invalidFEN(){
+        assertThrows(RuntimeException.class, () -> FenUtilities.createGameFromFEN("rnbqkbnr/pppppppp/9/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1"));
+        assertThrows(RuntimeException.class, () -> FenUtilities.createGameFromFEN("rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR x KQkq - 0 1"));
+    }
+}
@@ -0,0 +1,160 @@
+package tests.com.chess.engine.pgn;
+
+import com.chess.engine.board.ChessBoard;
+import com.chess.engine.board.Move;
+import com.chess.engine.pgn.OpeningIndex;
+import com.chess.engine.pgn.OpeningIndexBuilder;
+import com.chess.engine.player.MoveTransition;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OpeningIndexTest {
+
+    private static final String[] OUTCOMES = {"1-0", "1/2-1/2", "0-1", "*"};
+    private static final int GAMES = 400;
+    private static final int PLIES = 14;
+    private static final int MAX_PLIES = 10;
+    private static final int RUN_SIZE = 37;
+
+    @Test
+    public void buildAndQueryMatchesInMemoryCount() throws Exception {
+        final Random random = new Random(42);
+        final List<List<Move>> games = new ArrayList<>();
+        final List<String> outcomes = new ArrayList<>();
+        for(int i = 0; i < GAMES; i++){
+            games.add(playout(random));
+            outcomes.add(OUTCOMES[random.nextInt(OUTCOMES.length)]);
+        }
+        final Map<Long, Map<String, int[]>> expected = count(games, outcomes);
+
+        final Path directory = Files.createTempDirectory("opening-index-test");
+        try {
+            final Path indexFile = directory.resolve("openings.idx");
+            final OpeningIndexBuilder builder = new OpeningIndexBuilder(indexFile, directory, MAX_PLIES, RUN_SIZE);
+            final ExecutorService executor = Executors.newFixedThreadPool(4);
+            try {
+                final List<Future<?>> futures = new ArrayList<>();
+                for(int i = 0; i < GAMES; i++){
+                    final int game = i;
+                    futures.add(executor.submit(() -> {
+                        builder.addGame(games.get(game), outcomes.get(game));
+                        return null;
+                    }));
+                }
+                for(final Future<?> future : futures){
+                    future.get();
+                }
+            } finally {
+                executor.shutdown();
+            }
+            long pairs = 0;
+            for(final Map<String, int[]> moves : expected.values()){
+                pairs += moves.size();
+            }
+            assertEquals(builder.build(), pairs);
+            try(final Stream<Path> files = Files.list(directory)){
+                assertEquals(files.count(), 1L);
+            }
+
+            try(final OpeningIndex index = OpeningIndex.open(indexFile)){
+                assertEquals(index.getEntryCount(), pairs);
+                for(final Map.Entry<Long, Map<String, int[]>> position : expected.entrySet()){
+                    final List<OpeningIndex.Entry> entries = index.lookup(position.getKey());
+                    assertEquals(entries.size(), position.getValue().size());
+                    for(final OpeningIndex.Entry entry : entries){
+                        final int[] results = position.getValue().get(moveKey(entry.getCurrentCoordinate(),
+                                entry.getDestinationCoordinate()));
+                        assertNotNull(results);
+                        assertEquals(entry.getWhiteWins(), results[0]);
+                        assertEquals(entry.getDraws(), results[1]);
+                        assertEquals(entry.getBlackWins(), results[2]);
+                    }
+                    for(int i = 1; i < entries.size(); i++){
+                        assertTrue(entries.get(i - 1).getGames() >= entries.get(i).getGames());
+                    }
+                }
+                assertFalse(expected.containsKey(Long.MIN_VALUE) || expected.containsKey(Long.MAX_VALUE));
+                assertEquals(index.lookup(Long.MIN_VALUE).size(), 0);
+                assertEquals(index.lookup(Long.MAX_VALUE).size(), 0);
+            }
+        } finally {
+            delete(directory);
+        }
+    }
+/*
+Die Partien werden zufällig, aber nur aus den ersten drei legalen Zügen gespielt, so dass sich viele Stellungen
+wiederholen und dieselben Paare aus Stellung und Zug in verschiedenen Runs landen. Mit einem Run von 37 Einträgen werden
+weit über hundert Runs geschrieben und zusammengeführt. Danach müssen die Zähler zu jeder Stellung genau mit der Zählung
+im Speicher übereinstimmen und die temporären Runs gelöscht sein. Schlüssel vor dem ersten und hinter dem letzten
+Eintrag prüfen die Ränder der binären Suche.
+*/
+
+    private static List<Move> playout(final Random random){
+        final List<Move> moves = new ArrayList<>();
+        ChessBoard board = ChessBoard.createStandardBoard();
+        while(moves.size() < PLIES){
+            final List<MoveTransition> legal = new ArrayList<>();
+            final List<Move> legalMoves = new ArrayList<>();
+            for(final Move move : board.currentPlayer().getLegalMoves()){
+                final MoveTransition transition = board.currentPlayer().makeMove(move);
+                if(transition.getMoveStatus().isDone()){
+                    legal.add(transition);
+                    legalMoves.add(move);
+                }
+            }
+            if(legal.isEmpty()){
+                break;
+            }
+            final int choice = random.nextInt(Math.min(3, legal.size()));
+            moves.add(legalMoves.get(choice));
+            board = legal.get(choice).getTransitionBoard();
+        }
+        return moves;
+    }
+
+    private static Map<Long, Map<String, int[]>> count(final List<List<Move>> games, final List<String> outcomes){
+        final Map<Long, Map<String, int[]>> counts = new HashMap<>();
+        for(int i = 0; i < games.size(); i++){
+            final int result = outcomes.get(i).equals("1-0") ? 0 : outcomes.get(i).equals("1/2-1/2") ? 1 :
+                    outcomes.get(i).equals("0-1") ? 2 : -1;
+            if(result == -1){
+                continue;
+            }
+            final List<Move> moves = games.get(i);
+            for(int ply = 0; ply < Math.min(moves.size(), MAX_PLIES); ply++){
+                final Move move = moves.get(ply);
+                counts.computeIfAbsent(move.getBoard().getZobristKey(), key -> new HashMap<>())
+                      .computeIfAbsent(moveKey(move.getCurrentCoordinate(), move.getDestinationCoordinate()),
+                              key -> new int[3])[result]++;
+            }
+        }
+        return counts;
+    }
+
+    private static String moveKey(final int currentCoordinate, final int destinationCoordinate){
+        return currentCoordinate + "-" + destinationCoordinate;
+    }
+
+    private static void delete(final Path directory) throws IOException {
+        try(final Stream<Path> paths = Files.walk(directory)){
+            for(final Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator){
+                Files.delete(path);
+            }
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package tests.com.chess.engine.pgn;
+
+import com.chess.engine.board.BoardUtils;
+import com.chess.engine.board.ChessBoard;
+import com.chess.engine.board.Move;
+import com.chess.engine.pgn.FenUtilities;
+import com.chess.engine.pgn.Game;
+import com.chess.engine.pgn.GameReplay;
+import com.chess.engine.pgn.PGNUtilities;
+import com.chess.engine.pgn.SanUtilities;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PGNUtilitiesTest {
+
+    private static final String PGN =
+            "[Event \"Paris\"]\n" +
+            "[White \"Paul Morphy\"]\n" +
+            "[Black \"Duke Karl / Count Isouard\"]\n" +
+            "[Result \"1-0\"]\n\n" +
+            "1.e4 e5 2.Nf3 d6 3.d4 Bg4 {This is a weak move} 4.dxe5 Bxf3 5.Qxf3 dxe5 6.Bc4 Nf6 7.Qb3 Qe7\n" +
+            "8.Nc3 c6 9.Bg5 b5 10.Nxb5 cxb5 11.Bxb5+ Nbd7 12.O-O-O Rd8 13.Rxd7 Rxd7 14.Rd1 Qe6\n" +
+            "15.Bxd7+ Nxd7 16.Qb8+ Nxb8 17.Rd8# 1-0\n\n" +
+            "[Event \"Variations\"]\n" +
+            "[Result \"*\"]\n\n" +
+            "1. e4 (1. d4 d5 (1... Nf6)) 1... e5 $1 2. Nf3 Nc6 3. Bb5 a6 4. Ba4 Nf6 5. O-O Be7 6. Ke2 *\n";
+
+    @Test
+    public void readGames(){
+        final List<Game> games = PGNUtilities.readGames(PGN).collect(Collectors.toList());
+        assertEquals(games.size(), 2);
+        assertEquals(games.get(0).getTags().getWhite(), "Paul Morphy");
+        assertEquals(games.get(0).getOutcome(), "1-0");
+        assertEquals(games.get(0).getSanMoves().size(), 33);
+        assertEquals(games.get(1).getSanMoves().get(1), "e5");
+        assertEquals(games.get(1).getOutcome(), "*");
+    }
+
+    @Test
+    public void replay(){
+        final List<Game> games = PGNUtilities.readGames(PGN).collect(Collectors.toList());
+        final GameReplay morphy = games.get(0).replay();
+        assertTrue(morphy.isValid());
+        assertEquals(morphy.getMoves().size(), 33);
+        assertTrue(morphy.getFinalBoard().currentPlayer().isInCheckMate());
+
+        final GameReplay illegal = games.get(1).replay();
+        assertFalse(illegal.isValid());
+        assertEquals(illegal.getIllegalMove(), "Ke2");
+        assertEquals(illegal.getIllegalMovePly(), 10);
+    }
+
+    @Test
+    public void sanRoundTrip(){
+        final Game morphy = PGNUtilities.readGames(PGN).findFirst().get();
+        final List<Move> moves = morphy.replay().getMoves();
+        for(int i = 0; i < moves.size(); i++){
+            final Move move = moves.get(i);
+            assertEquals(SanUtilities.toSan(move), morphy.getSanMoves().get(i));
+            assertEquals(SanUtilities.fromSan(move.getBoard(), morphy.getSanMoves().get(i)), move);
+        }
+    }
+
+    @Test
+    public void sanDisambiguation(){
+        final ChessBoard board = FenUtilities.createGameFromFEN("R7/7k/8/8/8/8/8/R3K1N1 w - - 0 1");
+        assertEquals(SanUtilities.toSan(createMove(board, "a1", "a4")), "R1a4");
+        assertEquals(SanUtilities.toSan(createMove(board, "a8", "a4")), "R8a4");
+        assertEquals(SanUtilities.toSan(createMove(board, "a8", "h8")), "Rh8+");
+        assertEquals(SanUtilities.toSan(createMove(board, "g1", "f3")), "Nf3");
+
+        final ChessBoard pinned = FenUtilities.createGameFromFEN("4r2k/8/8/8/8/2N1N3/8/4K3 w - - 0 1");
+        assertEquals(SanUtilities.toSan(createMove(pinned, "c3", "d5")), "Nd5");
+    }
+
+    private static Move createMove(final ChessBoard board, final String from, final String to){
+        return Move.MoveFactory.createMove(board, BoardUtils.getCoordinateAtPosition(from),
+                BoardUtils.getCoordinateAtPosition(to));
+    }
+}
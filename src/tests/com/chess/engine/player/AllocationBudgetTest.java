@@ -0,0 +1,166 @@
+package tests.com.chess.engine.player;
+
+import com.chess.engine.board.ChessBoard;
+import com.chess.engine.board.Move;
+import com.chess.engine.pgn.FenUtilities;
+import com.chess.engine.pieces.ChessPiece;
+import com.chess.engine.player.ai.AlphaBetaSearch;
+import com.chess.engine.player.ai.SearchInfo;
+import com.chess.engine.player.ai.SearchLimits;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.sun.management.HotSpotDiagnosticMXBean;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class AllocationBudgetTest {
+
+    private static final String START = FenUtilities.STANDARD_BOARD_FEN;
+    private static final String KIWIPETE = "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1";
+    private static final String ENDGAME = "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1";
+
+    private static final int CALLS = 20_000;
+    private static final int SEARCH_DEPTH = 3;
+    private static final int ROUNDS = 5;
+
+    private static com.sun.management.ThreadMXBean threads;
+    private static Object sink;
+
+    @BeforeAll
+    public static void enableAllocationCounting(){
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+        final HotSpotDiagnosticMXBean hotSpot = ManagementFactory.getPlatformMXBean(HotSpotDiagnosticMXBean.class);
+        assumeTrue(hotSpot != null && hotSpot.getVMOption("UseCompressedOops").getValue().equals("true"));
+    }
+/*
+Die Budgets sind in Bytes mit komprimierten Referenzen gemessen. Ab 32 GB Heap schaltet die JVM sie von selbst ab, dann
+ist jedes Objekt größer und die Budgets würden ohne eine Änderung im Code gerissen. In dem Fall werden die Tests
+übersprungen.
+*/
+
+    @Test
+    public void boardBuildStaysWithinBudget(){
+        assertWithinBudget("build start", bytesPerBuild(START), 9_500);
+        assertWithinBudget("build kiwipete", bytesPerBuild(KIWIPETE), 15_200);
+        assertWithinBudget("build endgame", bytesPerBuild(ENDGAME), 6_050);
+    }
+
+    @Test
+    public void moveGenerationStaysWithinBudget(){
+        assertWithinBudget("calculateLegalMoves start", bytesPerGeneration(START), 4_300);
+        assertWithinBudget("calculateLegalMoves kiwipete", bytesPerGeneration(KIWIPETE), 6_600);
+        assertWithinBudget("calculateLegalMoves endgame", bytesPerGeneration(ENDGAME), 2_400);
+    }
+
+    @Test
+    public void makeMoveStaysWithinBudget(){
+        assertWithinBudget("makeMove per move start", bytesPerMove(START), 11_700);
+        assertWithinBudget("makeMove per move kiwipete", bytesPerMove(KIWIPETE), 16_800);
+        assertWithinBudget("makeMove per move endgame", bytesPerMove(ENDGAME), 6_950);
+    }
+
+    @Test
+    public void searchStaysWithinBudgetPerNode(){
+        assertWithinBudget("search per node start", bytesPerNode(START), 13_200);
+        assertWithinBudget("search per node kiwipete", bytesPerNode(KIWIPETE), 34_600);
+        assertWithinBudget("search per node endgame", bytesPerNode(ENDGAME), 14_000);
+    }
+/*
+Gemessen werden die Wege, auf denen tatsächlich Züge erzeugt werden: build berechnet die Zuglisten beider Spieler,
+calculateLegalMoves die Züge jeder einzelnen Figur. Die Budgets liegen nur wenige Prozent über den gemessenen Werten.
+build allein schwankt um gut zehn Prozent, je nachdem welche Tests vorher in derselben JVM liefen und wie der JIT den
+Konstruktor deshalb übersetzt, sein Budget deckt beide Fälle ab. makeMove und die Suche sind stabil. Eine zusätzliche
+Kopie der Zugliste pro Figur beim Bauen des Boards kostet dort gut zehn Prozent und reißt die Budgets. Wird ein Pfad
+sparsamer, sollte sein Budget mit nach unten gehen.
+*/    private static double bytesPerBuild(final String fen){
+        final ChessBoard board = FenUtilities.createGameFromFEN(fen);
+        final ChessBoard.Builder builder = new ChessBoard.Builder();
+        for(final ChessPiece piece : pieces(board)){
+            builder.setPiece(piece);
+        }
+        builder.setMoveMaker(board.currentPlayer().getAlliance());
+        builder.setEnPassantPawn(board.getEnPassantPawn());
+        return bytesPerCall(() -> sink = builder.build(), CALLS);
+    }
+
+    private static double bytesPerGeneration(final String fen){
+        final ChessBoard board = FenUtilities.createGameFromFEN(fen);
+        final List<ChessPiece> pieces = pieces(board);
+        return bytesPerCall(() -> {
+            for(final ChessPiece piece : pieces){
+                sink = piece.calculateLegalMoves(board);
+            }
+        }, CALLS);
+    }
+
+    private static List<ChessPiece> pieces(final ChessBoard board){
+        final List<ChessPiece> pieces = new ArrayList<>(board.getWhitePieces());
+        pieces.addAll(board.getBlackPieces());
+        return pieces;
+    }
+
+    private static double bytesPerMove(final String fen){
+        final ChessBoard board = FenUtilities.createGameFromFEN(fen);
+        final Move[] moves = board.currentPlayer().getLegalMoves().toArray(new Move[0]);
+        return bytesPerCall(() -> {
+            for(final Move move : moves){
+                sink = board.currentPlayer().makeMove(move);
+            }
+        }, CALLS / moves.length) / moves.length;
+    }
+
+    private static double bytesPerNode(final String fen){
+        final ChessBoard board = FenUtilities.createGameFromFEN(fen);
+        final AlphaBetaSearch search = new AlphaBetaSearch(SearchLimits.depth(SEARCH_DEPTH));
+        for(int i = 0; i < 3; i++){
+            search.clear();
+            search.search(board, SearchLimits.depth(SEARCH_DEPTH), null);
+        }
+        search.clear();
+        final long before = allocatedBytes();
+        final SearchInfo info = search.search(board, SearchLimits.depth(SEARCH_DEPTH), null);
+        return (allocatedBytes() - before) / (double) info.getNodes();
+    }
+/*
+Die Suche läuft mit leerer Transpositionstabelle, damit jeder Lauf dieselben Knoten besucht. Die Tabelle selbst wird
+im Konstruktor angelegt und zählt nicht mit.
+*/
+
+    private static double bytesPerCall(final Runnable call, final int calls){
+        for(int i = 0; i < calls; i++){
+            call.run();
+        }
+        double least = Double.MAX_VALUE;
+        for(int round = 0; round < ROUNDS; round++){
+            final long before = allocatedBytes();
+            for(int i = 0; i < calls; i++){
+                call.run();
+            }
+            least = Math.min(least, (allocatedBytes() - before) / (double) calls);
+        }
+        return least;
+    }
+/*
+Der erste Durchlauf wärmt den JIT auf, gemessen werden erst die folgenden. Zählt nur der sparsamste Durchlauf, stören
+Runden nicht, in denen der JIT gerade neu übersetzt und die Escape-Analyse noch nicht greift. So bleiben die Werte stabil
+genug für knappe Budgets.
+*/
+
+    private static long allocatedBytes(){
+        return threads.getThreadAllocatedBytes(Thread.currentThread().threadId());
+    }
+
+    private static void assertWithinBudget(final String path, final double bytes, final long budget){
+        assertTrue(bytes <= budget, String.format("%s allocates %.1f bytes, budget is %d",
+                path, bytes, budget));
+    }
+}
@@ -0,0 +1,28 @@
+package tests.com.chess.engine.tools;
+
+import com.chess.engine.board.ChessBoard;
+import com.chess.engine.board.Move;
+import com.chess.engine.tools.Perft;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PerftTest {
+    @Test
+    public void initialPosition(){
+        final ChessBoard board = ChessBoard.createStandardBoard();
+        assertEquals(Perft.perft(board, 1), 20);
+        assertEquals(Perft.perft(board, 2), 400);
+        assertEquals(Perft.perft(board, 3), 8902);
+    }
+
+    @Test
+    public void divideMatchesPerft(){
+        final ChessBoard board = ChessBoard.createStandardBoard();
+        final Map<Move, Long> divide = Perft.divide(board, 2);
+        assertEquals(divide.size(), 20);
+        assertEquals(divide.values().stream().mapToLong(Long::longValue).sum(), Perft.perft(board, 2));
+    }
+}
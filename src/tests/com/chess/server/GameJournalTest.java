@@ -0,0 +1,144 @@
+package tests.com.chess.server;
+
+import com.chess.engine.board.BoardUtils;
+import com.chess.engine.board.ChessBoard;
+import com.chess.engine.board.Move;
+import com.chess.engine.pgn.FenUtilities;
+import com.chess.server.GameJournal;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameJournalTest {
+
+    @Test
+    public void snapshotPlusJournalTail() throws Exception {
+        final Path directory = Files.createTempDirectory("journal-test");
+        try {
+            ChessBoard board = ChessBoard.createStandardBoard();
+            try(final GameJournal journal = new GameJournal(directory)){
+                journal.appendCreate(1);
+                board = append(journal, 1, board, "e2e4");
+                board = append(journal, 1, board, "e7e5");
+                final long offset = journal.awaitDurableOffset();
+                board = append(journal, 1, board, "g1f3");
+                journal.snapshot(Collections.singletonMap(1, board), offset);
+                board = append(journal, 1, board, "b8c6");
+                journal.appendCreate(2);
+                append(journal, 2, ChessBoard.createStandardBoard(), "d2d4");
+                journal.appendCreate(3);
+                journal.appendEnd(3);
+            }
+            final Map<Integer, ChessBoard> recovered = GameJournal.recover(directory);
+            assertEquals(recovered.keySet(), new HashSet<>(Arrays.asList(1, 2)));
+            assertEquals(fen(recovered.get(1)), fen(board));
+            assertEquals(fen(recovered.get(2)), "rnbqkbnr/pppppppp/8/8/3P4/8/PPP1PPPP/RNBQKBNR b KQkq d3 0 1");
+        } finally {
+            delete(directory);
+        }
+    }
+/*
+Der Snapshot enthält schon Nf3, obwohl seine Position davor liegt. Beim Wiederherstellen muss Nf3 anhand des Halbzugs
+übersprungen und nur der Rest des Journals dahinter ausgeführt werden.
+*/
+
+    @Test
+    public void tornLastRecordIsIgnored() throws Exception {
+        final Path directory = Files.createTempDirectory("journal-test");
+        try {
+            ChessBoard board = ChessBoard.createStandardBoard();
+            try(final GameJournal journal = new GameJournal(directory)){
+                journal.appendCreate(1);
+                board = append(journal, 1, board, "e2e4");
+            }
+            final Path journalFile = directory.resolve("journal.bin");
+            final long validLength = Files.size(journalFile);
+            Files.write(journalFile, new byte[]{2, 0, 0, 0}, StandardOpenOption.APPEND);
+            assertEquals(fen(GameJournal.recover(directory).get(1)), fen(board));
+
+            try(final GameJournal journal = new GameJournal(directory)){
+                assertEquals(Files.size(journalFile), validLength);
+                board = append(journal, 1, board, "e7e5");
+            }
+            assertEquals(fen(GameJournal.recover(directory).get(1)), fen(board));
+        } finally {
+            delete(directory);
+        }
+    }
+/*
+Ein halb geschriebener Zug am Ende wird beim Wiederherstellen ignoriert und beim nächsten Öffnen abgeschnitten, so dass
+der nächste Zug wieder an einer gültigen Grenze beginnt.
+*/
+
+    @Test
+    public void crashBetweenSnapshotAndJournalSync() throws Exception {
+        final Path directory = Files.createTempDirectory("journal-test");
+        final Path crashed = Files.createTempDirectory("journal-test");
+        try {
+            ChessBoard board = ChessBoard.createStandardBoard();
+            try(final GameJournal journal = new GameJournal(directory)){
+                journal.appendCreate(1);
+                final Move move = move(board, "e2e4");
+                journal.appendMove(1, 0, move);
+                board = board.currentPlayer().makeMove(move).getTransitionBoard();
+                final long offset = journal.awaitDurableOffset();
+                assertTrue(journal.getBatches() > 0, "offset returned before the journal was synced");
+                Files.copy(directory.resolve("journal.bin"), crashed.resolve("journal.bin"));
+                journal.snapshot(Collections.singletonMap(1, board), offset);
+                Files.copy(directory.resolve("snapshot.bin"), crashed.resolve("snapshot.bin"));
+                assertTrue(Files.size(crashed.resolve("journal.bin")) >= offset,
+                        "snapshot points past the durable journal");
+            }
+            assertEquals(fen(GameJournal.recover(crashed).get(1)), fen(board));
+
+            try(final GameJournal journal = new GameJournal(crashed)){
+                board = append(journal, 1, board, "e7e5");
+            }
+            assertEquals(fen(GameJournal.recover(crashed).get(1)), fen(board));
+        } finally {
+            delete(directory);
+            delete(crashed);
+        }
+    }
+/*
+Der Absturz wird durch eine Kopie der Dateien nachgestellt. Das Journal wird direkt nach awaitDurableOffset kopiert, die
+Datensätze ohne awaitDurable müssen dann schon mit einem fsync geschrieben sein. Zeigte der Snapshot hinter das gültige
+Ende, ginge der nächste Zug nach dem Neustart verloren.
+*/
+
+    private static ChessBoard append(final GameJournal journal, final int gameId, final ChessBoard board,
+                                     final String move) throws IOException, InterruptedException {
+        final Move parsed = move(board, move);
+        final int ply = (board.getFullMoveNumber() - 1) * 2 + (board.currentPlayer().getAlliance().isWhite() ? 0 : 1);
+        journal.awaitDurable(journal.appendMove(gameId, ply, parsed));
+        return board.currentPlayer().makeMove(parsed).getTransitionBoard();
+    }
+
+    private static Move move(final ChessBoard board, final String move){
+        return Move.MoveFactory.createMove(board, BoardUtils.getCoordinateAtPosition(move.substring(0, 2)),
+                BoardUtils.getCoordinateAtPosition(move.substring(2, 4)));
+    }
+
+    private static String fen(final ChessBoard board){
+        return FenUtilities.createFENFromGame(board);
+    }
+
+    private static void delete(final Path directory) throws IOException {
+        try(final Stream<Path> paths = Files.walk(directory)){
+            for(final Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator){
+                Files.delete(path);
+            }
+        }
+    }
+}
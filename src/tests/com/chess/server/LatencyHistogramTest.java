@@ -0,0 +1,48 @@
+package tests.com.chess.server;
+
+import com.chess.server.LatencyHistogram;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    @Test
+    public void percentilesStayWithinBucketPrecision(){
+        final LatencyHistogram histogram = new LatencyHistogram();
+        for(long micros = 1; micros <= 10_000; micros++){
+            histogram.record(micros * 1000);
+        }
+        assertEquals(histogram.getCount(), 10_000L);
+        assertEquals(histogram.percentileMicros(100), 10_000L);
+        for(final double percentile : new double[]{1, 50, 90, 99, 99.9}){
+            final long exact = (long) Math.ceil(percentile * 100);
+            final long reported = histogram.percentileMicros(percentile);
+            assertTrue(reported >= exact && reported <= exact + exact / 64,
+                    percentile + ": " + reported + " for " + exact);
+        }
+    }
+
+    @Test
+    public void longLatenciesAreNotClipped(){
+        final LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(1_000);
+        histogram.record(5_000_000_000L);
+        histogram.record(Long.MAX_VALUE);
+        histogram.record(-1);
+        assertEquals(histogram.getCount(), 4L);
+        assertEquals(histogram.getMaxMicros(), Long.MAX_VALUE / 1000);
+        final long p75 = histogram.percentileMicros(75);
+        assertTrue(p75 >= 5_000_000L && p75 <= 5_000_000L + 5_000_000L / 64, "p75 " + p75);
+
+        final LatencyHistogram merged = new LatencyHistogram();
+        merged.record(2_000);
+        merged.merge(histogram);
+        assertEquals(merged.getCount(), 5L);
+        assertEquals(merged.percentileMicros(100), Long.MAX_VALUE / 1000);
+    }
+/*
+Fünf Sekunden lagen früher im Zähler für eine Sekunde. Jetzt landen sie in einem eigenen Zähler, und auch der größte
+long und negative Werte passen ohne Überlauf.
+*/
+}
@@ -0,0 +1,28 @@
+package tests.com.chess.server;
+
+import com.chess.engine.pgn.FenUtilities;
+import com.chess.server.PositionCache;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PositionCacheTest {
+    @Test
+    public void legalMovesExcludeMovesIntoCheck(){
+        final PositionCache cache = new PositionCache(10);
+        final PositionCache.Position position = cache.get("4k3/8/8/8/8/8/8/r3K3 w - - 0 1");
+        assertEquals(position.getLegalMoves().size(), 3);
+        assertNull(position.findLegalMove("e1d1"));
+        assertNotNull(position.findLegalMove("e1e2"));
+    }
+
+    @Test
+    public void positionsAreParsedOnce(){
+        final PositionCache cache = new PositionCache(10);
+        final PositionCache.Position position = cache.get(FenUtilities.STANDARD_BOARD_FEN);
+        assertSame(cache.get(FenUtilities.STANDARD_BOARD_FEN), position);
+        assertEquals(position.getLegalMoves().size(), 20);
+        assertEquals(cache.getStats().missCount(), 1);
+        assertThrows(IllegalArgumentException.class, () -> cache.get("garbage"));
+    }
+}